@@ -3,6 +3,7 @@ plugins {
     alias(libs.plugins.spring.boot)
     alias(libs.plugins.spring.dependency.management)
     id("jacoco")
+    alias(libs.plugins.jmh)
 }
 
 configurations {
@@ -23,6 +24,9 @@ dependencyManagement {
 
 dependencies {
     implementation(libs.spring.boot.starter.web)
+    implementation(libs.spring.boot.starter.actuator)
+    implementation(libs.reactor.core)
+    runtimeOnly(libs.micrometer.registry.prometheus)
     compileOnly(libs.lombok)
     annotationProcessor(libs.lombok)
     annotationProcessor(libs.spring.boot.configuration.processor)
@@ -31,7 +35,9 @@ dependencies {
 
 // about source and compilation
 java {
-    sourceCompatibility = JavaVersion.VERSION_17
+    toolchain {
+        languageVersion = JavaLanguageVersion.of(21)
+    }
 }
 
 with(extensions.getByType(JacocoPluginExtension::class.java)) {
@@ -48,5 +54,28 @@ tasks.getByName("jar") {
 // test tasks
 tasks.test {
     ignoreFailures = true
-    useJUnitPlatform()
+    useJUnitPlatform {
+        excludeTags("benchmark")
+    }
+}
+
+// benchmark tasks (./gradlew benchmark)
+tasks.register<Test>("benchmark") {
+    description = "Runs benchmark-tagged tests."
+    group = "verification"
+    testClassesDirs = sourceSets.test.get().output.classesDirs
+    classpath = sourceSets.test.get().runtimeClasspath
+    maxHeapSize = "4g"
+    testLogging.showStandardStreams = true
+    useJUnitPlatform {
+        includeTags("benchmark")
+    }
+}
+
+// jmh benchmarks (./gradlew jmh, src/jmh/java)
+jmh {
+    jmhVersion = libs.versions.jmh.asProvider().get()
+    profilers = listOf("gc")
+    resultFormat = "JSON"
+    includes = providers.gradleProperty("jmhIncludes").map { listOf(it) }.orElse(listOf(".*"))
 }
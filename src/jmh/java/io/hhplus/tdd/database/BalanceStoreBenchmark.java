@@ -0,0 +1,101 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.UserPoint;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 잔액 저장소 비교 (./gradlew jmh -PjmhIncludes=BalanceStoreBenchmark)
+ *
+ * - map : 기존 UserPointTable 과 같은 ConcurrentHashMap&lt;Long, UserPoint&gt;
+ * - primitive : LongBalanceMap
+ *
+ * 할당률은 -prof gc 의 gc.alloc.rate.norm (byte/op), 저장소 크기는 setup 에서 출력하는 retained heap 으로 비교한다.
+ * 테이블의 throttle 을 빼고 자료구조만 측정하기 위해 저장소를 직접 사용한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms4g", "-Xmx4g"})
+@Threads(4)
+public class BalanceStoreBenchmark {
+
+    @Param({"100000", "1000000"})
+    int accounts;
+
+    private Map<Long, UserPoint> map;
+    private LongBalanceMap primitive;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        long before = usedHeap();
+        map = new ConcurrentHashMap<>();
+        for (long id = 0; id < accounts; id++) {
+            map.put(id, new UserPoint(id, id % 100_000, id));
+        }
+        long afterMap = usedHeap();
+
+        primitive = new LongBalanceMap(accounts);
+        for (long id = 0; id < accounts; id++) {
+            primitive.put(id, id % 100_000, id);
+        }
+        long afterPrimitive = usedHeap();
+
+        System.out.printf("%n[balance-store] accounts=%,d map=%,d bytes (%.1f/account) primitive=%,d bytes (%.1f/account)%n",
+                accounts,
+                afterMap - before, (afterMap - before) / (double) accounts,
+                afterPrimitive - afterMap, (afterPrimitive - afterMap) / (double) accounts);
+    }
+
+    @Benchmark
+    public UserPoint mapGet() {
+        return map.get(randomId());
+    }
+
+    @Benchmark
+    public UserPoint primitiveGet() {
+        return primitive.get(randomId(), UserPoint::new);
+    }
+
+    @Benchmark
+    public void mapPut() {
+        long id = randomId();
+        map.put(id, new UserPoint(id, id % 100_000, System.currentTimeMillis()));
+    }
+
+    @Benchmark
+    public void primitivePut() {
+        long id = randomId();
+        primitive.put(id, id % 100_000, System.currentTimeMillis());
+    }
+
+    private long randomId() {
+        return ThreadLocalRandom.current().nextLong(accounts);
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,127 @@
+package io.hhplus.tdd.point;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.hhplus.tdd.common.PointConstants;
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.UserPointTable;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * 벤치마크용 테이블
+ *
+ * - ZERO : throttle 을 건너뛰어 락/캐시/자료구조 비용만 측정한다.
+ * - THROTTLED : 실제 테이블과 같은 지연을 둔다.
+ */
+public final class BenchmarkTables {
+
+    /**
+     * 모든 유저가 처음부터 갖고 있는 잔액
+     */
+    static final long INITIAL_POINT = PointConstants.MAX_POINT / 2;
+
+    private static final long REBALANCE_MARGIN = 1_000L;
+
+    private BenchmarkTables() {
+        // 인스턴스화 방지
+    }
+
+    public enum Latency {
+        ZERO, THROTTLED
+    }
+
+    /**
+     * 잔액이 상한/하한 근처에 닿으면 INITIAL_POINT 로 되돌려 기록한다.
+     * 충전/사용만 반복해도 검증 실패(예외) 없이 같은 경로를 측정하기 위함이다.
+     */
+    static UserPointTable userPointTable(Latency latency) {
+        return new UserPointTable() {
+            @Override
+            public UserPoint selectById(Long id) {
+                UserPoint userPoint = super.selectById(id);
+                return userPoint.point() == 0L ? new UserPoint(id, INITIAL_POINT, userPoint.updateMillis()) : userPoint;
+            }
+
+            @Override
+            public UserPoint insertOrUpdate(long id, long amount) {
+                boolean nearLimit = amount > PointConstants.MAX_POINT - REBALANCE_MARGIN || amount < REBALANCE_MARGIN;
+                return super.insertOrUpdate(id, nearLimit ? INITIAL_POINT : amount);
+            }
+
+            @Override
+            protected void throttle(long millis) {
+                if (latency == Latency.THROTTLED) {
+                    super.throttle(millis);
+                }
+            }
+        };
+    }
+
+    static PointHistoryTable pointHistoryTable(Latency latency) {
+        return new PointHistoryTable() {
+            @Override
+            protected void throttle(long millis) {
+                if (latency == Latency.THROTTLED) {
+                    super.throttle(millis);
+                }
+            }
+        };
+    }
+
+    /**
+     * 기본 설정(캐시 사용, 유저별 락, 동기 내역 기록, 그룹 커밋 미사용, 지표 기록, 조회 합치기)의 PointService
+     * mode 가 OPTIMISTIC 이면 유저 락 대신 낙관적 변경을 사용한다.
+     */
+    static PointService pointService(UserPointTable userPointTable, PointHistoryTable pointHistoryTable, int cacheSize,
+                                     BalanceUpdateProperties.Mode mode) {
+        return pointService(userPointTable, pointHistoryTable, new BalanceCacheProperties(true, cacheSize), mode,
+                new ReadCoalescingProperties(true));
+    }
+
+    static PointService pointService(UserPointTable userPointTable, PointHistoryTable pointHistoryTable,
+                                     BalanceCacheProperties cacheProperties, BalanceUpdateProperties.Mode mode,
+                                     ReadCoalescingProperties readCoalescingProperties) {
+        return pointService(userPointTable, pointHistoryTable, cacheProperties, mode, readCoalescingProperties,
+                new HotAccountProperties(Set.of(), 8));
+    }
+
+    /**
+     * hotAccountProperties 의 유저는 잔액을 슬롯으로 나누어 처리한다.
+     */
+    static PointService pointService(UserPointTable userPointTable, PointHistoryTable pointHistoryTable,
+                                     BalanceCacheProperties cacheProperties, BalanceUpdateProperties.Mode mode,
+                                     ReadCoalescingProperties readCoalescingProperties,
+                                     HotAccountProperties hotAccountProperties) {
+        UserPointCache userPointCache = new UserPointCache(userPointTable, cacheProperties);
+        UserLockManager userLockManager = new UserLockManager(
+                new UserLockProperties(UserLockProperties.Mode.PER_USER, 1024, Duration.ofSeconds(30)));
+        PointHistoryPipeline pointHistoryPipeline = new PointHistoryPipeline(
+                pointHistoryTable, new HistoryPipelineProperties(false, 10_000, 500));
+        PointGroupCommitter groupCommitter = new PointGroupCommitter(
+                new GroupCommitProperties(false, Duration.ofMillis(5)));
+        PointMetrics pointMetrics = new PointMetrics(new SimpleMeterRegistry(), userLockManager,
+                new PointMetricsProperties(Duration.ofMillis(1), 10));
+        OptimisticBalanceUpdater optimisticUpdater = new OptimisticBalanceUpdater(
+                userPointTable, pointHistoryPipeline, pointMetrics, new BalanceUpdateProperties(mode, 100_000));
+        PointShardExecutor shardExecutor = new PointShardExecutor(userPointTable, pointHistoryPipeline,
+                new ShardProperties(false, 8, 10_000, 256, 100_000), new SimpleMeterRegistry());
+        PointHistoryAggregator pointHistoryAggregator = new PointHistoryAggregator(pointHistoryTable, pointHistoryPipeline);
+        PointBalanceCheckpoints balanceCheckpoints = new PointBalanceCheckpoints(pointHistoryTable, pointHistoryPipeline,
+                new BalanceCheckpointProperties(64));
+        IdempotencyCache idempotencyCache = new IdempotencyCache(
+                new IdempotencyProperties(false, 1_000, Duration.ofMinutes(10)), new SimpleMeterRegistry());
+        PointReadCoalescer readCoalescer = new PointReadCoalescer(pointHistoryPipeline, readCoalescingProperties,
+                new SimpleMeterRegistry());
+        return new PointService(userPointTable, pointHistoryPipeline, groupCommitter, userPointCache, userLockManager,
+                pointMetrics, optimisticUpdater, shardExecutor, pointHistoryAggregator, balanceCheckpoints,
+                idempotencyCache, readCoalescer,
+                new PointClusterRouter(new ClusterProperties(false, "", List.of(), 128, Duration.ofSeconds(5), ""), new ObjectMapper()),
+                new HotAccountBalances(userPointTable, pointHistoryPipeline, pointMetrics, hotAccountProperties,
+                        new SimpleMeterRegistry()),
+                new PointHistoryExporter(pointHistoryTable), Optional.empty());
+    }
+}
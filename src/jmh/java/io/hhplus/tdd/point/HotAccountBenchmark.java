@@ -0,0 +1,64 @@
+package io.hhplus.tdd.point;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 핫 계정 잔액 분할 벤치마크 (./gradlew jmh -PjmhIncludes=HotAccountBenchmark)
+ *
+ * - 모든 스레드가 한 유저에게 사용 후 충전을 반복한다. (잔액이 상한/하한에 닿지 않도록 쌍으로 실행)
+ * - slots : 0 은 분할 없이 유저 락으로 처리(기준), 1 이상은 잔액을 slots 개로 나누어 처리한다.
+ * - latency : ZERO 는 락/슬롯 비용만, THROTTLED 는 테이블 지연 포함 (분할 모드는 기록을 모아서 한다)
+ *
+ * slots 가 늘수록 한 유저의 처리량이 어떻게 변하는지 본다. 한 슬롯 잔액이 모자라 전체 슬롯을 잠그는 경우(sweep)도 포함된다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms4g", "-Xmx4g"})
+@Threads(16)
+public class HotAccountBenchmark {
+
+    private static final long USER_ID = 1L;
+    private static final long AMOUNT = 101L;
+
+    @Param({"0", "1", "2", "4", "8", "16"})
+    int slots;
+
+    @Param({"ZERO", "THROTTLED"})
+    BenchmarkTables.Latency latency;
+
+    private PointService pointService;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        HotAccountProperties hotAccountProperties = slots == 0
+                ? new HotAccountProperties(Set.of(), 1)
+                : new HotAccountProperties(Set.of(USER_ID), slots);
+        pointService = BenchmarkTables.pointService(BenchmarkTables.userPointTable(latency),
+                BenchmarkTables.pointHistoryTable(latency), new BalanceCacheProperties(true, 1_000),
+                BalanceUpdateProperties.Mode.LOCK, new ReadCoalescingProperties(true), hotAccountProperties);
+    }
+
+    @Benchmark
+    public UserPoint useThenCharge() {
+        pointService.use(USER_ID, AMOUNT);
+        return pointService.charge(USER_ID, AMOUNT);
+    }
+}
@@ -0,0 +1,77 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.PointHistoryTable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 내역 조회 벤치마크 (./gradlew jmh -PjmhIncludes=PointHistoryBenchmark)
+ *
+ * - historySize : 유저당 미리 쌓아 둔 내역 수
+ * - getHistories 는 전체 내역을, getHistoryPage 는 최신 20건을 조회한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms4g", "-Xmx4g"})
+@Threads(8)
+public class PointHistoryBenchmark {
+
+    private static final int USERS = 16;
+    private static final int PAGE_SIZE = 20;
+
+    @Param({"10", "1000", "100000"})
+    int historySize;
+
+    @Param({"ZERO", "THROTTLED"})
+    BenchmarkTables.Latency latency;
+
+    private PointService pointService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        PointHistoryTable pointHistoryTable = BenchmarkTables.pointHistoryTable(latency);
+        for (long userId = 1; userId <= USERS; userId++) {
+            List<PointHistory> histories = new ArrayList<>(historySize);
+            for (int i = 0; i < historySize; i++) {
+                TransactionType type = i % 2 == 0 ? TransactionType.CHARGE : TransactionType.USE;
+                histories.add(new PointHistory(0L, userId, 500L, type, i));
+            }
+            pointHistoryTable.insertAll(histories);
+        }
+        pointService = BenchmarkTables.pointService(
+                BenchmarkTables.userPointTable(latency), pointHistoryTable, USERS, BalanceUpdateProperties.Mode.LOCK);
+    }
+
+    @Benchmark
+    public List<PointHistory> getHistories() {
+        return pointService.getHistories(randomUserId());
+    }
+
+    @Benchmark
+    public PointHistoryPage getHistoryPage() {
+        return pointService.getHistoryPage(randomUserId(), null, PAGE_SIZE, PointHistoryCondition.all());
+    }
+
+    private long randomUserId() {
+        return ThreadLocalRandom.current().nextLong(USERS) + 1;
+    }
+}
@@ -0,0 +1,105 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.UserPointTable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 같은 유저 동시 조회 합치기 벤치마크 (./gradlew jmh -PjmhIncludes=PointReadCoalescingBenchmark)
+ *
+ * - ZIPF 분포로 소수 유저에 조회가 몰리고, 테이블 지연(THROTTLED)을 포함한다.
+ * - 잔액 캐시를 끄고 조회가 매번 테이블로 가도록 하여 coalescing 유무만 비교한다.
+ * - 내역 테이블 조회에는 원래 지연이 없으므로 잔액 조회와 같은 지연(최대 200ms)을 둔다.
+ * - 지연 백분위(p99 등)는 SampleTime 결과로, 조회 1건당 테이블 호출 수는 iteration 마다 출력한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@Threads(64)
+public class PointReadCoalescingBenchmark {
+
+    @Param({"true", "false"})
+    boolean coalescing;
+
+    @Param({"1000"})
+    int users;
+
+    private UserIdDistribution.Sampler sampler;
+    private PointService pointService;
+
+    private final LongAdder reads = new LongAdder();
+    private final LongAdder pointCalls = new LongAdder();
+    private final LongAdder historyCalls = new LongAdder();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        sampler = UserIdDistribution.ZIPF.sampler(users);
+
+        UserPointTable userPointTable = new UserPointTable() {
+            @Override
+            public UserPoint selectById(Long id) {
+                pointCalls.increment();
+                return super.selectById(id);
+            }
+        };
+        PointHistoryTable pointHistoryTable = new PointHistoryTable() {
+            @Override
+            public List<PointHistory> selectAllByUserId(long userId) {
+                historyCalls.increment();
+                throttle(200L);
+                return super.selectAllByUserId(userId);
+            }
+        };
+        pointService = BenchmarkTables.pointService(userPointTable, pointHistoryTable,
+                new BalanceCacheProperties(false, 0), BalanceUpdateProperties.Mode.LOCK,
+                new ReadCoalescingProperties(coalescing));
+    }
+
+    @Setup(Level.Iteration)
+    public void resetCounters() {
+        reads.reset();
+        pointCalls.reset();
+        historyCalls.reset();
+    }
+
+    @TearDown(Level.Iteration)
+    public void printCounters() {
+        long total = Math.max(1, reads.sum());
+        System.out.printf("%n[coalescing=%s] reads=%,d selectById=%,d (%.3f/read) selectAllByUserId=%,d (%.3f/read)%n",
+                coalescing, reads.sum(),
+                pointCalls.sum(), (double) pointCalls.sum() / total,
+                historyCalls.sum(), (double) historyCalls.sum() / total);
+    }
+
+    @Benchmark
+    public UserPoint getPoint() {
+        reads.increment();
+        return pointService.getPoint(sampler.next());
+    }
+
+    @Benchmark
+    public List<PointHistory> getHistories() {
+        reads.increment();
+        return pointService.getHistories(sampler.next());
+    }
+}
@@ -0,0 +1,80 @@
+package io.hhplus.tdd.point;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PointService 충전/사용/조회 벤치마크 (./gradlew jmh -PjmhIncludes=PointServiceBenchmark)
+ *
+ * - distribution : 유저 id 분포 (SINGLE 은 한 유저 경합, UNIFORM/ZIPF 는 users 명에게 분산)
+ * - latency : ZERO 는 테이블 지연 없이 서비스 자체 비용만, THROTTLED 는 실제 테이블 지연 포함
+ * - mode : LOCK(유저 락) / OPTIMISTIC(compare-and-set 재시도), SINGLE 은 유저당 경합이 높은 경우, UNIFORM 은 낮은 경우다.
+ *
+ * 처리량(Throughput), 지연 백분위(SampleTime), 할당률(-prof gc)을 함께 출력한다.
+ * 내역이 계속 쌓이므로 iteration 마다 테이블과 서비스를 새로 만든다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms4g", "-Xmx4g"})
+@Threads(8)
+public class PointServiceBenchmark {
+
+    private static final long AMOUNT = 500L;
+
+    @Param({"SINGLE", "UNIFORM", "ZIPF"})
+    UserIdDistribution distribution;
+
+    @Param({"10000"})
+    int users;
+
+    @Param({"ZERO", "THROTTLED"})
+    BenchmarkTables.Latency latency;
+
+    @Param({"LOCK", "OPTIMISTIC"})
+    BalanceUpdateProperties.Mode mode;
+
+    private UserIdDistribution.Sampler sampler;
+    private PointService pointService;
+
+    @Setup(Level.Trial)
+    public void setUpSampler() {
+        sampler = distribution.sampler(users);
+    }
+
+    @Setup(Level.Iteration)
+    public void setUpService() {
+        pointService = BenchmarkTables.pointService(
+                BenchmarkTables.userPointTable(latency), BenchmarkTables.pointHistoryTable(latency), users, mode);
+    }
+
+    @Benchmark
+    public UserPoint charge() {
+        return pointService.charge(sampler.next(), AMOUNT);
+    }
+
+    @Benchmark
+    public UserPoint use() {
+        return pointService.use(sampler.next(), AMOUNT);
+    }
+
+    @Benchmark
+    public UserPoint getPoint() {
+        return pointService.getPoint(sampler.next());
+    }
+}
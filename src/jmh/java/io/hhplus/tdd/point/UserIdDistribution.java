@@ -0,0 +1,44 @@
+package io.hhplus.tdd.point;
+
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 벤치마크 요청의 유저 id 분포
+ *
+ * - SINGLE : 모든 요청이 한 유저에 몰린다. (최대 경합)
+ * - UNIFORM : 유저 수 안에서 균등하게 고른다.
+ * - ZIPF : 소수 유저에 요청이 몰린다. (지수 0.99, 누적 분포를 미리 계산해 이진 탐색)
+ */
+public enum UserIdDistribution {
+    SINGLE, UNIFORM, ZIPF;
+
+    private static final double ZIPF_EXPONENT = 0.99;
+
+    Sampler sampler(int users) {
+        return switch (this) {
+            case SINGLE -> () -> 1L;
+            case UNIFORM -> () -> ThreadLocalRandom.current().nextLong(users) + 1;
+            case ZIPF -> zipf(users);
+        };
+    }
+
+    private static Sampler zipf(int users) {
+        double[] cumulative = new double[users];
+        double sum = 0;
+        for (int rank = 1; rank <= users; rank++) {
+            sum += 1.0 / Math.pow(rank, ZIPF_EXPONENT);
+            cumulative[rank - 1] = sum;
+        }
+        double total = sum;
+        return () -> {
+            int index = Arrays.binarySearch(cumulative, ThreadLocalRandom.current().nextDouble(total));
+            return (index >= 0 ? index : -index - 1) + 1L;
+        };
+    }
+
+    @FunctionalInterface
+    interface Sampler {
+        long next();
+    }
+}
@@ -1,5 +1,9 @@
 package io.hhplus.tdd;
 
+import io.hhplus.tdd.point.PointAdmissionException;
+import io.hhplus.tdd.point.PointForwardingException;
+import io.hhplus.tdd.point.PointLockTimeoutException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
@@ -17,4 +21,23 @@ class ApiControllerAdvice extends ResponseEntityExceptionHandler {
         return ResponseEntity.status(400)
                 .body(new ErrorResponse("400", e.getMessage()));
     }
+
+    @ExceptionHandler(PointLockTimeoutException.class)
+    public ResponseEntity<ErrorResponse> handleLockTimeout(PointLockTimeoutException e) {
+        return ResponseEntity.status(503)
+                .body(new ErrorResponse("503", e.getMessage()));
+    }
+
+    @ExceptionHandler(PointForwardingException.class)
+    public ResponseEntity<ErrorResponse> handleForwarding(PointForwardingException e) {
+        return ResponseEntity.status(503)
+                .body(new ErrorResponse("503", e.getMessage()));
+    }
+
+    @ExceptionHandler(PointAdmissionException.class)
+    public ResponseEntity<ErrorResponse> handleAdmission(PointAdmissionException e) {
+        return ResponseEntity.status(429)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.retryAfterSeconds()))
+                .body(new ErrorResponse("429", e.getMessage()));
+    }
 }
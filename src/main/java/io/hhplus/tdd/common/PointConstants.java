@@ -12,5 +12,9 @@ public class PointConstants {
     public static final long MAX_POINT = 100_000L;               // 최대 보유 포인트
     public static final long MIN_CHARGE_AMOUNT = 100L;           // 최소 충전 금액
     public static final long MIN_USE_AMOUNT = 100L;              // 최소 사용 금액
+    public static final int MAX_BATCH_SIZE = 10_000;             // 일괄 처리 최대 요청 수
+    public static final int DEFAULT_HISTORY_PAGE_SIZE = 20;      // 내역 페이지 기본 크기
+    public static final int MAX_HISTORY_PAGE_SIZE = 1_000;       // 내역 페이지 최대 크기
+    public static final int MAX_IDEMPOTENCY_KEY_LENGTH = 255;    // Idempotency-Key 최대 길이
 
 }
@@ -4,7 +4,19 @@ public enum PointErrorMessages {
     AMOUNT_MUST_BE_POSITIVE("충전 금액은 %d보다 커야 합니다."),
     MAX_POINT_EXCEEDED("최대 보유 포인트(%d)를 초과할 수 없습니다."),
     INSUFFICIENT_POINT("포인트가 부족합니다. 현재 보유 포인트: %d"),
-    USE_AMOUNT_MUST_BE_POSITIVE("사용 금액은 %d보다 커야 합니다.");
+    USE_AMOUNT_MUST_BE_POSITIVE("사용 금액은 %d보다 커야 합니다."),
+    LOCK_TIMEOUT("요청이 많아 처리하지 못했습니다. 잠시 후 다시 시도해주세요. (userId: %d)"),
+    TRANSACTION_TYPE_REQUIRED("거래 종류(CHARGE/USE)는 필수입니다."),
+    BATCH_SIZE_EXCEEDED("한 번에 처리할 수 있는 요청은 최대 %d건입니다."),
+    HISTORY_PAGE_SIZE_OUT_OF_RANGE("페이지 크기는 1 이상 %d 이하여야 합니다."),
+    IDEMPOTENCY_KEY_INVALID("Idempotency-Key 는 1자 이상 %d자 이하여야 합니다."),
+    IDEMPOTENCY_KEY_REUSED("이미 다른 요청에 사용된 Idempotency-Key 입니다."),
+    OWNER_UNAVAILABLE("담당 노드(%s)에 요청을 전달하지 못했습니다. 잠시 후 다시 시도해주세요."),
+    NOT_OWNER("이 노드(%s)는 유저(%d)의 담당 노드가 아닙니다. 잠시 후 다시 시도해주세요."),
+    FORWARD_UNAUTHORIZED("인증되지 않은 노드 간 전달 요청입니다."),
+    RATE_LIMITED("요청 한도를 초과했습니다. 잠시 후 다시 시도해주세요. (userId: %d)"),
+    USER_QUEUE_FULL("처리를 기다리는 요청이 너무 많습니다. 잠시 후 다시 시도해주세요. (userId: %d)"),
+    SERVER_OVERLOADED("요청이 많아 처리하지 못했습니다. 잠시 후 다시 시도해주세요.");
 
     private final String template;
 
@@ -1,11 +1,17 @@
 package io.hhplus.tdd.common;
 
 import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.PrimitiveUserPointTable;
 import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.point.HotAccountBalances;
+import io.hhplus.tdd.point.IdempotencyCache;
+import io.hhplus.tdd.point.PointBalanceCheckpoints;
+import io.hhplus.tdd.point.PointHistoryAggregator;
+import io.hhplus.tdd.point.UserPointCache;
 import org.springframework.stereotype.Component;
 
 import java.lang.reflect.Field;
-import java.util.List;
+import java.lang.reflect.Method;
 import java.util.Map;
 
 @Component
@@ -13,18 +19,41 @@ public class TestDataInitializer {
 
     private final UserPointTable userPointTable;
     private final PointHistoryTable pointHistoryTable;
+    private final UserPointCache userPointCache;
+    private final PointHistoryAggregator pointHistoryAggregator;
+    private final PointBalanceCheckpoints balanceCheckpoints;
+    private final IdempotencyCache idempotencyCache;
+    private final HotAccountBalances hotAccountBalances;
 
-    public TestDataInitializer(UserPointTable userPointTable, PointHistoryTable pointHistoryTable) {
+    public TestDataInitializer(UserPointTable userPointTable, PointHistoryTable pointHistoryTable,
+                               UserPointCache userPointCache, PointHistoryAggregator pointHistoryAggregator,
+                               PointBalanceCheckpoints balanceCheckpoints, IdempotencyCache idempotencyCache,
+                               HotAccountBalances hotAccountBalances) {
         this.userPointTable = userPointTable;
         this.pointHistoryTable = pointHistoryTable;
+        this.userPointCache = userPointCache;
+        this.pointHistoryAggregator = pointHistoryAggregator;
+        this.balanceCheckpoints = balanceCheckpoints;
+        this.idempotencyCache = idempotencyCache;
+        this.hotAccountBalances = hotAccountBalances;
     }
 
     public void resetAll() {
         resetUserPointTable();
         resetPointHistoryTable();
+        userPointCache.invalidateAll();
+        pointHistoryAggregator.clear();
+        balanceCheckpoints.clear();
+        idempotencyCache.invalidateAll();
+        hotAccountBalances.clear();
     }
 
     private void resetUserPointTable() {
+        if (userPointTable instanceof PrimitiveUserPointTable primitiveUserPointTable) {
+            primitiveUserPointTable.clear();
+            return;
+        }
+
         try {
             Field tableField = UserPointTable.class.getDeclaredField("table");
             tableField.setAccessible(true);
@@ -39,11 +68,14 @@ public class TestDataInitializer {
         try {
             Field tableField = PointHistoryTable.class.getDeclaredField("table");
             tableField.setAccessible(true);
-            Field cursorField = PointHistoryTable.class.getDeclaredField("cursor");
-            cursorField.setAccessible(true);
+            Field idsField = PointHistoryTable.class.getDeclaredField("ids");
+            idsField.setAccessible(true);
+            Object ids = idsField.get(pointHistoryTable);
+            Method reset = ids.getClass().getDeclaredMethod("reset");
+            reset.setAccessible(true);
 
-            ((List<?>) tableField.get(pointHistoryTable)).clear();
-            cursorField.setLong(pointHistoryTable, 1L);
+            ((Map<?, ?>) tableField.get(pointHistoryTable)).clear();
+            reset.invoke(ids);
         } catch (Exception e) {
             throw new RuntimeException("PointHistoryTable 초기화 실패", e);
         }
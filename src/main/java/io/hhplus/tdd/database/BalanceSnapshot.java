@@ -0,0 +1,94 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.UserPoint;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.zip.CRC32C;
+
+/**
+ * 잔액 스냅샷 파일
+ *
+ * [magic(int)][version(int)][walSegment(long)][count(int)][(id, point, updateMillis) x count][CRC32C(int)]
+ * - walSegment : 스냅샷 이후 복구 시 재생을 시작할 로그 세그먼트 번호
+ * - 임시 파일에 쓴 뒤 원자적으로 교체하므로, 쓰는 도중 종료되어도 이전 스냅샷이 유지된다.
+ */
+record BalanceSnapshot(long walSegment, List<UserPoint> userPoints) {
+
+    private static final int MAGIC = 0x50545342; // "PTSB"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = Integer.BYTES * 2 + Long.BYTES + Integer.BYTES;
+    private static final int ENTRY_SIZE = Long.BYTES * 3;
+
+    static BalanceSnapshot empty() {
+        return new BalanceSnapshot(1L, List.of());
+    }
+
+    static BalanceSnapshot read(Path path) {
+        if (!Files.exists(path)) {
+            return empty();
+        }
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocate((int) channel.size());
+            while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+                // 파일 끝까지 읽는다.
+            }
+            buffer.flip();
+
+            CRC32C crc = new CRC32C();
+            crc.update(buffer.duplicate().limit(buffer.limit() - Integer.BYTES));
+            if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION
+                    || buffer.getInt(buffer.limit() - Integer.BYTES) != (int) crc.getValue()) {
+                throw new IllegalStateException("손상된 잔액 스냅샷입니다: " + path);
+            }
+
+            long walSegment = buffer.getLong();
+            int count = buffer.getInt();
+            List<UserPoint> userPoints = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                userPoints.add(new UserPoint(buffer.getLong(), buffer.getLong(), buffer.getLong()));
+            }
+            return new BalanceSnapshot(walSegment, userPoints);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    static void write(Path path, long walSegment, Collection<UserPoint> userPoints) {
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + ENTRY_SIZE * userPoints.size() + Integer.BYTES);
+        buffer.putInt(MAGIC).putInt(VERSION).putLong(walSegment).putInt(userPoints.size());
+        for (UserPoint userPoint : userPoints) {
+            buffer.putLong(userPoint.id()).putLong(userPoint.point()).putLong(userPoint.updateMillis());
+        }
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.duplicate().flip());
+        buffer.putInt((int) crc.getValue()).flip();
+
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        try {
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package io.hhplus.tdd.database;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * 잔액 저장소 설정
+ * - type : MAP (ConcurrentHashMap&lt;Long, UserPoint&gt;) / PRIMITIVE (long 배열 오픈 어드레싱, 영속화 비활성화 시에만 사용)
+ * - expectedSize : PRIMITIVE 저장소의 초기 용량 (예상 유저 수)
+ */
+@ConfigurationProperties(prefix = "point.balance-store")
+public record BalanceStoreProperties(
+        @DefaultValue("MAP") Type type,
+        @DefaultValue("1024") int expectedSize
+) {
+
+    public enum Type {
+        MAP, PRIMITIVE
+    }
+}
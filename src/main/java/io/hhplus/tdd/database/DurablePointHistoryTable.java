@@ -0,0 +1,77 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * 로그 파일에 기록하는 PointHistoryTable (point.persistence.enabled=true, history-engine=LOG)
+ *
+ * - 내역은 고정 길이 레코드로 로그에 남기고 fsync 후 반환한다. insertAll 은 fsync 한 번으로 묶는다.
+ * - 내역 로그는 내역 자체이므로 정리하지 않고, 재시작 시 전체를 재생해 유저별 세그먼트를 다시 만든다.
+ */
+@Component
+@Primary
+@ConditionalOnExpression("${point.persistence.enabled:false} and '${point.persistence.history-engine:LOG}' == 'LOG'")
+public class DurablePointHistoryTable extends PointHistoryTable {
+
+    private static final Logger log = LoggerFactory.getLogger(DurablePointHistoryTable.class);
+    private static final String LOG_NAME = "history";
+
+    private final WriteAheadLog wal;
+
+    public DurablePointHistoryTable(PersistenceProperties properties) {
+        this.wal = new WriteAheadLog(properties.directory(), LOG_NAME);
+        recover();
+    }
+
+    @Override
+    public PointHistory insert(long userId, long amount, TransactionType type, long updateMillis) {
+        PointHistory history = super.insert(userId, amount, type, updateMillis);
+        wal.awaitDurable(append(history));
+        return history;
+    }
+
+    @Override
+    public List<PointHistory> insertAll(List<PointHistory> histories) {
+        List<PointHistory> inserted = super.insertAll(histories);
+        long position = 0;
+        for (PointHistory history : inserted) {
+            position = append(history);
+        }
+        wal.awaitDurable(position);
+        return inserted;
+    }
+
+    @PreDestroy
+    public void close() {
+        wal.close();
+    }
+
+    private long append(PointHistory history) {
+        ByteBuffer record = ByteBuffer.allocate(PointHistoryRecord.SIZE);
+        PointHistoryRecord.write(record, history);
+        return wal.append(record.flip());
+    }
+
+    /**
+     * 동시에 기록된 내역은 로그 순서와 id 순서가 다를 수 있으므로 id 순으로 정렬한 뒤 적재한다.
+     */
+    private void recover() {
+        List<PointHistory> histories = new ArrayList<>();
+        wal.replay(1L, record -> histories.add(PointHistoryRecord.read(record)));
+        histories.sort(Comparator.comparingLong(PointHistory::id));
+        histories.forEach(this::restore);
+        log.info("포인트 내역 복구 완료 ({}건)", histories.size());
+    }
+}
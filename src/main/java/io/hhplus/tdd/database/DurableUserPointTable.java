@@ -0,0 +1,158 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.UserPoint;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 로그 파일에 기록하는 UserPointTable (point.persistence.enabled=true)
+ *
+ * - 잔액 변경은 (id, point, updateMillis) 레코드로 로그에 남기고 fsync 후 반환한다.
+ * - 로그가 snapshotInterval 건 쌓이면 백그라운드에서 로그 세그먼트를 넘기고 잔액 스냅샷을 만든 뒤 이전 세그먼트를 지운다.
+ * - 재시작 시 스냅샷을 읽고, 스냅샷 이후 세그먼트만 재생한다. 레코드는 최종 잔액이므로 여러 번 재생해도 결과가 같다.
+ *
+ * 잔액과 내역은 서로 다른 로그에 따로 기록되므로, 두 기록 사이에 종료되면 한쪽만 남을 수 있다.
+ * 그래서 내역 테이블을 먼저 복구(생성자 주입 순서)한 뒤 잔액을 재생하고, 유저별 잔액이 내역 합계(충전 - 사용)와 다르면
+ * 내역 합계로 바로잡아 로그에 다시 기록한다. 내역이 거래 기록의 기준이다.
+ * (비동기 내역 파이프라인을 함께 쓰면 대기열에 남아 있던 내역은 복구되지 않으므로, 그만큼 잔액도 되돌아간다)
+ */
+@Component
+@Primary
+@ConditionalOnProperty(prefix = "point.persistence", name = "enabled", havingValue = "true")
+public class DurableUserPointTable extends UserPointTable {
+
+    private static final Logger log = LoggerFactory.getLogger(DurableUserPointTable.class);
+    private static final String LOG_NAME = "balance";
+    private static final String SNAPSHOT_FILE = "balance.snapshot";
+    private static final int RECORD_SIZE = Long.BYTES * 3;
+
+    private final PointHistoryTable pointHistoryTable;
+    private final WriteAheadLog wal;
+    private final Path snapshotPath;
+    private final int snapshotInterval;
+
+    private final AtomicInteger appendedSinceSnapshot = new AtomicInteger();
+    private final AtomicBoolean snapshotting = new AtomicBoolean(false);
+    private final ExecutorService snapshotExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "balance-snapshot");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public DurableUserPointTable(PersistenceProperties properties, PointHistoryTable pointHistoryTable) {
+        this.pointHistoryTable = pointHistoryTable;
+        this.wal = new WriteAheadLog(properties.directory(), LOG_NAME);
+        this.snapshotPath = properties.directory().resolve(SNAPSHOT_FILE);
+        this.snapshotInterval = properties.snapshotInterval();
+        recover();
+    }
+
+    @Override
+    public UserPoint insertOrUpdate(long id, long amount) {
+        UserPoint userPoint = super.insertOrUpdate(id, amount);
+        wal.awaitDurable(append(userPoint));
+
+        if (appendedSinceSnapshot.incrementAndGet() >= snapshotInterval && snapshotting.compareAndSet(false, true)) {
+            snapshotExecutor.submit(this::snapshotQuietly);
+        }
+        return userPoint;
+    }
+
+    /**
+     * 새 세그먼트로 넘긴 뒤 잔액을 스냅샷으로 남기고, 스냅샷에 반영된 이전 세그먼트를 지운다.
+     * 넘기기 전에 로그에 쓰인 변경은 이미 메모리에도 반영되어 있으므로 스냅샷에 포함된다.
+     */
+    void snapshot() {
+        appendedSinceSnapshot.set(0);
+        long segment = wal.rotate();
+        BalanceSnapshot.write(snapshotPath, segment, selectAll());
+        wal.deleteSegmentsBefore(segment);
+    }
+
+    @PreDestroy
+    public void close() throws InterruptedException {
+        snapshotExecutor.shutdown();
+        snapshotExecutor.awaitTermination(30, TimeUnit.SECONDS);
+        wal.close();
+    }
+
+    private void recover() {
+        BalanceSnapshot snapshot = BalanceSnapshot.read(snapshotPath);
+        snapshot.userPoints().forEach(this::restore);
+
+        AtomicInteger replayed = new AtomicInteger();
+        wal.replay(snapshot.walSegment(), record -> {
+            restore(new UserPoint(record.getLong(), record.getLong(), record.getLong()));
+            replayed.incrementAndGet();
+        });
+        int corrected = reconcileWithHistories();
+        appendedSinceSnapshot.set(replayed.get() + corrected);
+        log.info("잔액 복구 완료 (스냅샷: {}건, 로그 재생: {}건, 내역 기준 보정: {}건)", snapshot.userPoints().size(), replayed.get(), corrected);
+    }
+
+    /**
+     * 유저별 잔액을 내역 합계와 맞춘다. 다르면 내역 합계로 바로잡아 로그에 남기고 보정 건수를 반환한다.
+     */
+    private int reconcileWithHistories() {
+        Map<Long, Long> ledger = new HashMap<>();
+        pointHistoryTable.scan(0L, Long.MAX_VALUE, history -> ledger.merge(history.userId(),
+                history.type() == TransactionType.CHARGE ? history.amount() : -history.amount(), Long::sum));
+
+        Map<Long, Long> balances = new HashMap<>();
+        selectAll().forEach(userPoint -> balances.put(userPoint.id(), userPoint.point()));
+        Set<Long> userIds = new HashSet<>(ledger.keySet());
+        userIds.addAll(balances.keySet());
+
+        int corrected = 0;
+        long position = 0L;
+        for (long userId : userIds) {
+            long recovered = balances.getOrDefault(userId, 0L);
+            long expected = ledger.getOrDefault(userId, 0L);
+            if (recovered == expected) {
+                continue;
+            }
+            log.warn("잔액이 내역 합계와 달라 보정합니다. (userId: {}, 잔액: {}, 내역 합계: {})", userId, recovered, expected);
+            UserPoint fixed = new UserPoint(userId, expected, System.currentTimeMillis());
+            restore(fixed);
+            position = append(fixed);
+            corrected++;
+        }
+        if (corrected > 0) {
+            wal.awaitDurable(position);
+        }
+        return corrected;
+    }
+
+    private long append(UserPoint userPoint) {
+        ByteBuffer record = ByteBuffer.allocate(RECORD_SIZE);
+        record.putLong(userPoint.id()).putLong(userPoint.point()).putLong(userPoint.updateMillis()).flip();
+        return wal.append(record);
+    }
+
+    private void snapshotQuietly() {
+        try {
+            snapshot();
+        } catch (RuntimeException e) {
+            log.error("잔액 스냅샷 생성 실패", e);
+        } finally {
+            snapshotting.set(false);
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package io.hhplus.tdd.database;
+
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * 유저 id -> (point, updateMillis) 오픈 어드레싱 해시 테이블
+ *
+ * - 한 칸은 long[] 의 연속된 3칸 [id, point, updateMillis] 이다. 키 박싱, 노드, 값 객체를 만들지 않는다.
+ * - 충돌은 선형 탐사로 해결하고, 사용률이 LOAD_FACTOR 를 넘으면 두 배로 늘린다. 잔액은 삭제하지 않으므로 tombstone 이 없다.
+ * - 쓰기는 StampedLock 쓰기 락 안에서, 읽기는 낙관적 읽기로 수행하고 그 사이 쓰기가 있었으면 읽기 락으로 다시 읽는다.
+ */
+final class LongBalanceMap {
+
+    private static final long EMPTY = Long.MIN_VALUE;
+    private static final int STRIDE = 3;
+    private static final float LOAD_FACTOR = 0.75f;
+
+    private final StampedLock lock = new StampedLock();
+
+    private long[] slots;
+    private int mask;
+    private int size;
+
+    // EMPTY 와 같은 id 는 배열에 둘 수 없으므로 따로 보관한다.
+    private boolean hasEmptyKey;
+    private long emptyKeyPoint;
+    private long emptyKeyMillis;
+
+    LongBalanceMap(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(2, (int) (expectedSize / LOAD_FACTOR)) - 1) << 1;
+        allocate(capacity);
+    }
+
+    /**
+     * 잔액 조회 - 있으면 mapper 로 만든 값을, 없으면 null 을 반환한다.
+     * 낙관적 읽기가 실패하면 그때 만든 값은 버리고 읽기 락 안에서 다시 만든다.
+     */
+    <T> T get(long id, Mapper<T> mapper) {
+        long stamp = lock.tryOptimisticRead();
+        T found = read(id, mapper);
+        if (lock.validate(stamp)) {
+            return found;
+        }
+
+        stamp = lock.readLock();
+        try {
+            return read(id, mapper);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    void put(long id, long point, long updateMillis) {
+        long stamp = lock.writeLock();
+        try {
+            if (id == EMPTY) {
+                if (!hasEmptyKey) {
+                    size++;
+                }
+                hasEmptyKey = true;
+                emptyKeyPoint = point;
+                emptyKeyMillis = updateMillis;
+                return;
+            }
+
+            int index = indexOf(slots, mask, id);
+            if (slots[index] == EMPTY) {
+                if (size + 1 > (mask + 1) * LOAD_FACTOR) {
+                    resize();
+                    index = indexOf(slots, mask, id);
+                }
+                slots[index] = id;
+                size++;
+            }
+            slots[index + 1] = point;
+            slots[index + 2] = updateMillis;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    int size() {
+        long stamp = lock.readLock();
+        try {
+            return size;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * 배열 크기 (byte) - 벤치마크/모니터링용
+     */
+    long footprintBytes() {
+        long stamp = lock.readLock();
+        try {
+            return (long) slots.length * Long.BYTES;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * 모든 칸을 순회한다. 순회 중에는 쓰기가 대기한다.
+     */
+    void forEach(Entry consumer) {
+        long stamp = lock.readLock();
+        try {
+            if (hasEmptyKey) {
+                consumer.accept(EMPTY, emptyKeyPoint, emptyKeyMillis);
+            }
+            for (int i = 0; i < slots.length; i += STRIDE) {
+                if (slots[i] != EMPTY) {
+                    consumer.accept(slots[i], slots[i + 1], slots[i + 2]);
+                }
+            }
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    void clear() {
+        long stamp = lock.writeLock();
+        try {
+            allocate(mask + 1);
+            size = 0;
+            hasEmptyKey = false;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * 낙관적 읽기 중에는 배열이 교체되거나 값이 바뀔 수 있으므로, 지역 변수로 잡은 배열 안에서만 읽는다.
+     */
+    private <T> T read(long id, Mapper<T> mapper) {
+        if (id == EMPTY) {
+            return hasEmptyKey ? mapper.map(id, emptyKeyPoint, emptyKeyMillis) : null;
+        }
+
+        long[] current = slots;
+        int index = indexOf(current, (current.length / STRIDE) - 1, id);
+        return index >= 0 && current[index] == id ? mapper.map(id, current[index + 1], current[index + 2]) : null;
+    }
+
+    private void resize() {
+        long[] old = slots;
+        allocate((mask + 1) << 1);
+        for (int i = 0; i < old.length; i += STRIDE) {
+            if (old[i] != EMPTY) {
+                int index = indexOf(slots, mask, old[i]);
+                slots[index] = old[i];
+                slots[index + 1] = old[i + 1];
+                slots[index + 2] = old[i + 2];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        long[] allocated = new long[capacity * STRIDE];
+        for (int i = 0; i < allocated.length; i += STRIDE) {
+            allocated[i] = EMPTY;
+        }
+        this.mask = capacity - 1;
+        this.slots = allocated;
+    }
+
+    /**
+     * id 가 있는 칸, 없으면 처음 만난 빈 칸의 시작 위치. 모든 칸을 다 봐도 없으면 -1
+     * 쓰기 락 안에서는 사용률이 LOAD_FACTOR 이하이므로 항상 찾는다. 낙관적 읽기는 EMPTY 로 채워지기 전의 새 배열을 볼 수 있어
+     * 빈 칸을 못 만날 수 있으므로 탐사를 칸 수만큼으로 제한한다. (-1 은 없음으로 처리하고 validate 에서 다시 읽는다)
+     */
+    private static int indexOf(long[] slots, int mask, long id) {
+        int slot = spread(id) & mask;
+        for (int probe = 0; probe <= mask; probe++) {
+            int index = slot * STRIDE;
+            long key = slots[index];
+            if (key == id || key == EMPTY) {
+                return index;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    private static int spread(long id) {
+        long h = id * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    @FunctionalInterface
+    interface Mapper<T> {
+        T map(long id, long point, long updateMillis);
+    }
+
+    @FunctionalInterface
+    interface Entry {
+        void accept(long id, long point, long updateMillis);
+    }
+}
@@ -0,0 +1,340 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointHistoryCondition;
+import io.hhplus.tdd.point.TransactionType;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * 메모리 매핑 세그먼트 파일에 내역을 저장하는 PointHistoryTable (point.persistence.enabled=true, history-engine=MAPPED)
+ *
+ * - 내역은 33 byte 고정 길이 레코드로 세그먼트 파일(history-000000.seg ...)에 기록한다. 힙에는 유저별 행 번호(long[])만 둔다.
+ * - 조회는 PointHistoryView 로 매핑 영역을 직접 읽고, 반환할 행만 PointHistory 로 만든다.
+ * - 재시작 시 역직렬화 없이 세그먼트의 userId 칸만 훑어 유저별 행 번호를 다시 만든다.
+ * - 기록은 OS 페이지 캐시에 남으므로 프로세스가 비정상 종료되어도 유지된다. 디스크 동기화(force)는 종료 시에만 수행하므로
+ *   OS 장애 시에는 마지막 내역 일부가 유실될 수 있다. (건별 fsync 가 필요하면 LOG 엔진을 사용한다)
+ */
+@Component
+@Primary
+@ConditionalOnExpression("${point.persistence.enabled:false} and '${point.persistence.history-engine:LOG}' == 'MAPPED'")
+public class MappedPointHistoryTable extends PointHistoryTable {
+
+    private static final Logger log = LoggerFactory.getLogger(MappedPointHistoryTable.class);
+    private static final String PREFIX = "history-";
+    private static final String SUFFIX = ".seg";
+    /**
+     * 복구 시 마지막으로 기록된 행 뒤에서 이만큼 연속으로 빈 행을 만나면 멈춘다.
+     * 행 번호는 빈틈없이 발급되므로, 종료 시점에 동시에 기록 중이던 행 수보다 크기만 하면 된다.
+     */
+    private static final int MAX_EMPTY_ROWS = 65_536;
+
+    private final Path directory;
+    private final int segmentRecords;
+
+    private final ReentrantLock mappingLock = new ReentrantLock();
+    private volatile MappedByteBuffer[] segments = new MappedByteBuffer[0];
+
+    private final Map<Long, UserRows> index = new ConcurrentHashMap<>();
+    private final AtomicLong nextRow = new AtomicLong(0);
+    private final PointHistoryIds ids = new PointHistoryIds();
+
+    public MappedPointHistoryTable(PersistenceProperties properties) {
+        if ((long) properties.segmentRecords() * PointHistoryRecord.SIZE > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("segmentRecords 가 너무 큽니다: " + properties.segmentRecords());
+        }
+        this.directory = properties.directory();
+        this.segmentRecords = properties.segmentRecords();
+        recover();
+    }
+
+    @Override
+    public PointHistory insert(long userId, long amount, TransactionType type, long updateMillis) {
+        throttle(300L);
+        return append(userId, () -> new PointHistory(ids.reserve(), userId, amount, type, updateMillis));
+    }
+
+    @Override
+    public List<PointHistory> insertAll(List<PointHistory> histories) {
+        throttle(300L);
+        List<PointHistory> inserted = new ArrayList<>(histories.size());
+        for (PointHistory history : histories) {
+            inserted.add(append(history.userId(), () -> history.id() > 0
+                    ? history
+                    : new PointHistory(ids.reserve(), history.userId(), history.amount(), history.type(), history.updateMillis())));
+        }
+        return inserted;
+    }
+
+    @Override
+    public long nextId() {
+        return ids.reserve();
+    }
+
+    @Override
+    public List<PointHistory> selectAllByUserId(long userId) {
+        UserRows rows = index.get(userId);
+        if (rows == null) {
+            return List.of();
+        }
+
+        int visible = rows.size;
+        long[] snapshot = rows.rows;
+        PointHistoryView view = new PointHistoryView();
+        List<PointHistory> result = new ArrayList<>(visible);
+        for (int i = 0; i < visible; i++) {
+            result.add(viewOf(view, snapshot[i]).toPointHistory());
+        }
+        return result;
+    }
+
+    @Override
+    public Set<Long> selectUserIds() {
+        return Set.copyOf(index.keySet());
+    }
+
+    @Override
+    public List<PointHistory> selectPageByUserId(long userId, long beforeId, int limit, PointHistoryCondition condition) {
+        UserRows rows = index.get(userId);
+        if (rows == null) {
+            return List.of();
+        }
+
+        int visible = rows.size;
+        long[] snapshot = rows.rows;
+        PointHistoryView view = new PointHistoryView();
+
+        int low = 0;
+        int high = visible;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (viewOf(view, snapshot[mid]).id() < beforeId) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+
+        List<PointHistory> page = new ArrayList<>(Math.min(limit, visible));
+        for (int i = low - 1; i >= 0 && page.size() < limit; i--) {
+            viewOf(view, snapshot[i]);
+            if (condition.matches(view.updateMillis(), view.type())) {
+                page.add(view.toPointHistory());
+            }
+        }
+        return page;
+    }
+
+    /**
+     * 유저별 행 번호를 커서로 두고 id 순으로 병합한다. 커서마다 view 하나만 재사용하고, 넘길 행만 PointHistory 로 만든다.
+     * PointHistoryTable 과 같이 시작 시점의 공개 위치(lowWaterMark)까지만 본다.
+     */
+    @Override
+    public void scan(long afterId, long toId, Consumer<PointHistory> consumer) {
+        long visibleToId = Math.min(toId, ids.lowWaterMark());
+        List<PointHistoryCursor> cursors = new ArrayList<>();
+        for (UserRows rows : index.values()) {
+            PointHistoryCursor cursor = cursorAfter(rows, afterId);
+            if (cursor != null) {
+                cursors.add(cursor);
+            }
+        }
+        PointHistoryCursor.merge(cursors, visibleToId, consumer);
+    }
+
+    @PreDestroy
+    public void close() {
+        for (MappedByteBuffer segment : segments) {
+            segment.force();
+        }
+    }
+
+    /**
+     * 유저 단위로 행 번호 발급과 기록을 직렬화하여, 유저별 행 번호와 id 가 함께 오름차순이 되도록 한다.
+     */
+    private PointHistory append(long userId, Supplier<PointHistory> rowFactory) {
+        UserRows rows = index.computeIfAbsent(userId, id -> new UserRows());
+        synchronized (rows) {
+            PointHistory history = rowFactory.get();
+            long row = nextRow.getAndIncrement();
+            PointHistoryView.write(segmentOf(row), offsetOf(row), history);
+            rows.add(row);
+            ids.publish(history.id());
+            return history;
+        }
+    }
+
+    private PointHistoryCursor cursorAfter(UserRows rows, long afterId) {
+        int visible = rows.size;
+        long[] snapshot = rows.rows;
+        PointHistoryView view = new PointHistoryView();
+
+        int low = 0;
+        int high = visible;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (viewOf(view, snapshot[mid]).id() <= afterId) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        if (low >= visible) {
+            return null;
+        }
+
+        int start = low;
+        viewOf(view, snapshot[start]);
+        return new PointHistoryCursor() {
+            private int index = start;
+
+            @Override
+            long id() {
+                return view.id();
+            }
+
+            @Override
+            PointHistory current() {
+                return view.toPointHistory();
+            }
+
+            @Override
+            boolean next() {
+                if (++index >= visible) {
+                    return false;
+                }
+                viewOf(view, snapshot[index]);
+                return true;
+            }
+        };
+    }
+
+    private PointHistoryView viewOf(PointHistoryView view, long row) {
+        return view.wrap(segmentOf(row), offsetOf(row));
+    }
+
+    private int offsetOf(long row) {
+        return (int) (row % segmentRecords) * PointHistoryRecord.SIZE;
+    }
+
+    private MappedByteBuffer segmentOf(long row) {
+        int segmentIndex = (int) (row / segmentRecords);
+        MappedByteBuffer[] current = segments;
+        if (segmentIndex < current.length) {
+            return current[segmentIndex];
+        }
+
+        mappingLock.lock();
+        try {
+            while (segments.length <= segmentIndex) {
+                MappedByteBuffer[] grown = Arrays.copyOf(segments, segments.length + 1);
+                grown[segments.length] = map(segments.length);
+                segments = grown;
+            }
+            return segments[segmentIndex];
+        } finally {
+            mappingLock.unlock();
+        }
+    }
+
+    private MappedByteBuffer map(int segmentIndex) {
+        Path path = directory.resolve(String.format("%s%06d%s", PREFIX, segmentIndex, SUFFIX));
+        try (FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, (long) segmentRecords * PointHistoryRecord.SIZE);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * 세그먼트를 순서대로 매핑하며 id 가 기록된 행만 유저별 행 번호에 추가한다.
+     * 동시에 기록하다 종료되어 비어 있는 행(id = 0)은 건너뛰고, 마지막으로 기록된 행 뒤로 MAX_EMPTY_ROWS 행이 연속으로 비어 있으면
+     * 나머지는 쓰인 적 없는 영역이므로 읽지 않는다.
+     * 세그먼트 파일 크기가 segmentRecords 와 맞지 않으면 기존 파일을 잘못 읽게 되므로 시작하지 않는다.
+     */
+    private void recover() {
+        try {
+            Files.createDirectories(directory);
+            List<Path> segmentFiles;
+            try (Stream<Path> files = Files.list(directory)) {
+                segmentFiles = files.filter(path -> {
+                    String fileName = path.getFileName().toString();
+                    return fileName.startsWith(PREFIX) && fileName.endsWith(SUFFIX);
+                }).toList();
+            }
+            long segmentBytes = (long) segmentRecords * PointHistoryRecord.SIZE;
+            for (Path segmentFile : segmentFiles) {
+                if (Files.size(segmentFile) != segmentBytes) {
+                    throw new IllegalStateException(String.format(
+                            "세그먼트 파일 크기가 설정(segmentRecords: %d)과 다릅니다: %s (%d byte)",
+                            segmentRecords, segmentFile, Files.size(segmentFile)));
+                }
+            }
+
+            long totalRows = (long) segmentFiles.size() * segmentRecords;
+            long lastRow = -1;
+            long maxId = 0;
+            long recovered = 0;
+            PointHistoryView view = new PointHistoryView();
+            for (long row = 0; row < totalRows && row - lastRow <= MAX_EMPTY_ROWS; row++) {
+                viewOf(view, row);
+                long id = view.id();
+                if (id == 0) {
+                    continue;
+                }
+                index.computeIfAbsent(view.userId(), userId -> new UserRows()).add(row);
+                lastRow = row;
+                maxId = Math.max(maxId, id);
+                recovered++;
+            }
+
+            nextRow.set(lastRow + 1);
+            ids.restore(maxId);
+            log.info("포인트 내역 세그먼트 적재 완료 (세그먼트: {}개, 내역: {}건)", segmentFiles.size(), recovered);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * 유저별 행 번호 목록 - PointHistorySegment 와 같이 size 를 먼저 읽은 만큼만 본다.
+     */
+    private static final class UserRows {
+        private volatile long[] rows = new long[4];
+        private volatile int size = 0;
+
+        synchronized void add(long row) {
+            long[] current = rows;
+            if (size == current.length) {
+                current = Arrays.copyOf(current, current.length << 1);
+                rows = current;
+            }
+            current[size] = row;
+            size = size + 1;
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package io.hhplus.tdd.database;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.nio.file.Path;
+
+/**
+ * 포인트 테이블 영속화 설정
+ * - enabled : 잔액/내역을 로그 파일에 기록하고 재시작 시 복구할지 여부
+ * - directory : 로그와 스냅샷을 저장할 디렉터리
+ * - snapshotInterval : 잔액 로그가 이 건수만큼 쌓이면 스냅샷을 만들고 이전 로그를 정리한다.
+ * - historyEngine : 내역 저장 방식 (LOG : 추가 전용 로그 + 메모리 적재 / MAPPED : 메모리 매핑 고정 길이 세그먼트)
+ * - segmentRecords : MAPPED 방식에서 세그먼트 파일 하나에 담을 내역 수
+ */
+@ConfigurationProperties(prefix = "point.persistence")
+public record PersistenceProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("data") Path directory,
+        @DefaultValue("10000") int snapshotInterval,
+        @DefaultValue("LOG") HistoryEngine historyEngine,
+        @DefaultValue("1048576") int segmentRecords
+) {
+
+    public enum HistoryEngine {
+        LOG, MAPPED
+    }
+}
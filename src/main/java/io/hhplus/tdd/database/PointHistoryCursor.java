@@ -0,0 +1,49 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.PointHistory;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.function.Consumer;
+
+/**
+ * 한 유저 내역을 id 오름차순으로 읽는 커서 (전체 내역 스트리밍용)
+ */
+abstract class PointHistoryCursor {
+
+    /**
+     * 현재 행의 id
+     */
+    abstract long id();
+
+    /**
+     * 현재 행
+     */
+    abstract PointHistory current();
+
+    /**
+     * 다음 행으로 이동한다. 더 이상 행이 없으면 false
+     */
+    abstract boolean next();
+
+    /**
+     * 유저별 커서를 id 순으로 병합해 toId 이하의 행을 하나씩 넘긴다.
+     * 커서마다 현재 행 하나만 들고 있으므로 메모리는 내역 수가 아닌 유저 수에 비례한다.
+     */
+    static void merge(List<PointHistoryCursor> cursors, long toId, Consumer<PointHistory> consumer) {
+        PriorityQueue<PointHistoryCursor> heads = new PriorityQueue<>(Math.max(1, cursors.size()),
+                Comparator.comparingLong(PointHistoryCursor::id));
+        heads.addAll(cursors);
+        while (!heads.isEmpty()) {
+            PointHistoryCursor head = heads.poll();
+            if (head.id() > toId) {
+                return;
+            }
+            consumer.accept(head.current());
+            if (head.next()) {
+                heads.add(head);
+            }
+        }
+    }
+}
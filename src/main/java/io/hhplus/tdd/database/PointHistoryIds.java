@@ -0,0 +1,66 @@
+package io.hhplus.tdd.database;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 내역 id 발급과 공개 위치(low-water mark)
+ *
+ * - id 는 발급(reserve)한 뒤 기록(publish)까지 시간이 걸리고, 그 사이 다른 유저의 더 큰 id 가 먼저 기록될 수 있다.
+ * - lowWaterMark 는 그 이하의 id 가 모두 기록된 가장 큰 id 이다. 전체 내역 scan 은 여기까지만 보므로,
+ *   마지막으로 받은 id 부터 이어 받아도 뒤늦게 기록된 더 작은 id 를 건너뛰지 않는다.
+ * - 발급한 id 는 반드시 기록해야 한다. 기록되지 않은 id 가 있으면 lowWaterMark 가 그 앞에서 멈춘다. (빠뜨리지 않고 멈춘다)
+ */
+final class PointHistoryIds {
+
+    private final AtomicLong next = new AtomicLong(1);
+    // lowWaterMark 보다 큰데 먼저 기록된 id
+    private final Set<Long> publishedAhead = new HashSet<>();
+    private volatile long lowWaterMark = 0L;
+
+    long reserve() {
+        return next.getAndIncrement();
+    }
+
+    /**
+     * 기록이 끝난 id 를 공개한다. (행이 조회 가능해진 뒤에 호출한다)
+     */
+    synchronized void publish(long id) {
+        if (id != lowWaterMark + 1) {
+            if (id > lowWaterMark) {
+                publishedAhead.add(id);
+            }
+            return;
+        }
+        long mark = id;
+        while (publishedAhead.remove(mark + 1)) {
+            mark++;
+        }
+        lowWaterMark = mark;
+    }
+
+    long lowWaterMark() {
+        return lowWaterMark;
+    }
+
+    /**
+     * 복구용 - 이미 기록된 id 로 발급 위치와 공개 위치를 함께 옮긴다. (복구 전에 발급되고 기록되지 않은 id 는 다시 오지 않는다)
+     */
+    synchronized void restore(long id) {
+        next.accumulateAndGet(id + 1, Math::max);
+        if (id > lowWaterMark) {
+            lowWaterMark = id;
+            publishedAhead.removeIf(published -> published <= id);
+        }
+    }
+
+    /**
+     * 테스트 초기화용 - 발급 위치와 공개 위치를 처음으로 되돌린다.
+     */
+    synchronized void reset() {
+        next.set(1);
+        lowWaterMark = 0L;
+        publishedAhead.clear();
+    }
+}
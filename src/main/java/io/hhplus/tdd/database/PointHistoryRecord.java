@@ -0,0 +1,39 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+
+import java.nio.ByteBuffer;
+
+/**
+ * 포인트 내역 한 건의 고정 길이(33 byte) 바이너리 표현
+ * [id(long)][userId(long)][amount(long)][type ordinal(byte)][updateMillis(long)]
+ */
+final class PointHistoryRecord {
+
+    static final int SIZE = Long.BYTES * 4 + Byte.BYTES;
+
+    static final int ID_OFFSET = 0;
+    static final int USER_ID_OFFSET = 8;
+    static final int AMOUNT_OFFSET = 16;
+    static final int TYPE_OFFSET = 24;
+    static final int UPDATE_MILLIS_OFFSET = 25;
+
+    static final TransactionType[] TYPES = TransactionType.values();
+
+    private PointHistoryRecord() {
+        // 인스턴스화 방지
+    }
+
+    static void write(ByteBuffer buffer, PointHistory history) {
+        buffer.putLong(history.id())
+                .putLong(history.userId())
+                .putLong(history.amount())
+                .put((byte) history.type().ordinal())
+                .putLong(history.updateMillis());
+    }
+
+    static PointHistory read(ByteBuffer buffer) {
+        return new PointHistory(buffer.getLong(), buffer.getLong(), buffer.getLong(), TYPES[buffer.get()], buffer.getLong());
+    }
+}
@@ -0,0 +1,116 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.PointHistory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * 한 유저의 포인트 내역을 담는 추가 전용 세그먼트
+ * - 추가는 세그먼트 단위로 직렬화되어, 같은 유저의 내역은 항상 id 오름차순으로 쌓인다.
+ * - 조회는 락 없이 현재까지 공개된 행(size)만큼만 복사한다.
+ */
+class PointHistorySegment {
+
+    private static final int INITIAL_CAPACITY = 8;
+
+    private volatile PointHistory[] rows = new PointHistory[INITIAL_CAPACITY];
+    private volatile int size = 0;
+
+    /**
+     * 행 생성(id 발급)을 세그먼트 락 안에서 수행하여 id 순서와 저장 순서를 일치시킨다.
+     */
+    synchronized PointHistory append(Supplier<PointHistory> rowFactory) {
+        PointHistory[] current = rows;
+        if (size == current.length) {
+            current = Arrays.copyOf(current, current.length << 1);
+            rows = current;
+        }
+        PointHistory row = rowFactory.get();
+        current[size] = row;
+        size = size + 1;
+        return row;
+    }
+
+    /**
+     * size 를 먼저 읽어야 해당 크기까지 채워진 배열을 보게 된다.
+     */
+    List<PointHistory> toList() {
+        int visible = size;
+        PointHistory[] snapshot = rows;
+        return Collections.unmodifiableList(Arrays.asList(Arrays.copyOf(snapshot, visible)));
+    }
+
+    /**
+     * beforeId 보다 작은 id 의 행을 최신순으로 조건에 맞는 것만 limit 건까지 반환한다.
+     * 시작 위치는 이진 탐색으로 찾으므로 전체 행을 복사하지 않는다.
+     */
+    List<PointHistory> pageBefore(long beforeId, int limit, Predicate<PointHistory> filter) {
+        int visible = size;
+        PointHistory[] snapshot = rows;
+
+        List<PointHistory> page = new ArrayList<>(Math.min(limit, visible));
+        for (int i = lowerBound(snapshot, visible, beforeId) - 1; i >= 0 && page.size() < limit; i--) {
+            if (filter.test(snapshot[i])) {
+                page.add(snapshot[i]);
+            }
+        }
+        return page;
+    }
+
+    /**
+     * afterId 보다 큰 id 의 행부터 읽는 커서 (없으면 null) - 만든 시점에 공개된 행까지만 본다.
+     */
+    PointHistoryCursor cursorAfter(long afterId) {
+        int visible = size;
+        PointHistory[] snapshot = rows;
+        int start = afterId == Long.MAX_VALUE ? visible : lowerBound(snapshot, visible, afterId + 1);
+        if (start >= visible) {
+            return null;
+        }
+
+        return new PointHistoryCursor() {
+            private int index = start;
+
+            @Override
+            long id() {
+                return snapshot[index].id();
+            }
+
+            @Override
+            PointHistory current() {
+                return snapshot[index];
+            }
+
+            @Override
+            boolean next() {
+                return ++index < visible;
+            }
+        };
+    }
+
+    /**
+     * id 가 beforeId 이상인 첫 위치
+     */
+    private static int lowerBound(PointHistory[] snapshot, int visible, long beforeId) {
+        int low = 0;
+        int high = visible;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (snapshot[mid].id() < beforeId) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    int size() {
+        return size;
+    }
+}
@@ -2,33 +2,115 @@ package io.hhplus.tdd.database;
 
 
 import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointHistoryCondition;
 import io.hhplus.tdd.point.TransactionType;
 import org.springframework.stereotype.Component;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 /**
  * 해당 Table 클래스는 변경하지 않고 공개된 API 만을 사용해 데이터를 제어합니다.
+ *
+ * 내역은 유저별 세그먼트(userId -> 추가 전용 세그먼트)로 관리하여
+ * 조회 비용이 전체 내역 수가 아닌 해당 유저의 내역 수에 비례하도록 합니다.
  */
 @Component
 public class PointHistoryTable {
-    private final List<PointHistory> table = new ArrayList<>();
-    private long cursor = 1;
+    private final Map<Long, PointHistorySegment> table = new ConcurrentHashMap<>();
+    private final PointHistoryIds ids = new PointHistoryIds();
 
     public PointHistory insert(long userId, long amount, TransactionType type, long updateMillis) {
         throttle(300L);
-        PointHistory pointHistory = new PointHistory(cursor++, userId, amount, type, updateMillis);
-        table.add(pointHistory);
-        return pointHistory;
+        PointHistory inserted = segmentOf(userId).append(
+                () -> new PointHistory(ids.reserve(), userId, amount, type, updateMillis)
+        );
+        ids.publish(inserted.id());
+        return inserted;
+    }
+
+    /**
+     * 여러 내역을 한 번의 쓰기로 기록한다.
+     * id 가 0 인 행은 새로 발급하고, nextId() 로 미리 발급받은 id 가 있으면 그대로 사용한다.
+     */
+    public List<PointHistory> insertAll(List<PointHistory> histories) {
+        throttle(300L);
+        List<PointHistory> inserted = new ArrayList<>(histories.size());
+        for (PointHistory history : histories) {
+            PointHistory row = segmentOf(history.userId()).append(
+                    () -> history.id() > 0
+                            ? history
+                            : new PointHistory(ids.reserve(), history.userId(), history.amount(), history.type(), history.updateMillis())
+            );
+            ids.publish(row.id());
+            inserted.add(row);
+        }
+        return inserted;
+    }
+
+    /**
+     * 기록 전에 id 를 미리 발급한다. 같은 유저의 내역은 발급 순서대로 기록해야 한다.
+     * 발급한 id 는 반드시 기록해야 한다. (기록되지 않으면 scan 이 그 id 앞에서 멈춘다)
+     */
+    public long nextId() {
+        return ids.reserve();
     }
 
     public List<PointHistory> selectAllByUserId(long userId) {
-        return table.stream().filter(pointHistory -> pointHistory.userId() == userId).toList();
+        PointHistorySegment segment = table.get(userId);
+        return segment == null ? List.of() : segment.toList();
+    }
+
+    /**
+     * 내역이 있는 유저 id 목록 (집계 재구성용)
+     */
+    public Set<Long> selectUserIds() {
+        return Set.copyOf(table.keySet());
+    }
+
+    /**
+     * 유저 내역을 최신순으로 cursor(beforeId) 이전부터 조건에 맞는 것만 limit 건 조회한다.
+     */
+    public List<PointHistory> selectPageByUserId(long userId, long beforeId, int limit, PointHistoryCondition condition) {
+        PointHistorySegment segment = table.get(userId);
+        return segment == null ? List.of() : segment.pageBefore(beforeId, limit, condition::matches);
+    }
+
+    /**
+     * 전체 내역을 id 오름차순으로 afterId 초과 toId 이하만 하나씩 넘긴다. (내보내기용)
+     * 유저별 세그먼트를 병합하여 목록을 만들지 않으며, 시작 시점의 공개 위치(lowWaterMark)까지만 본다.
+     * 그보다 큰 id 는 앞선 id 가 아직 기록 중일 수 있으므로, 마지막으로 받은 id 부터 이어 받아도 빠지는 내역이 없다.
+     */
+    public void scan(long afterId, long toId, Consumer<PointHistory> consumer) {
+        long visibleToId = Math.min(toId, ids.lowWaterMark());
+        List<PointHistoryCursor> cursors = new ArrayList<>();
+        for (PointHistorySegment segment : table.values()) {
+            PointHistoryCursor cursor = segment.cursorAfter(afterId);
+            if (cursor != null) {
+                cursors.add(cursor);
+            }
+        }
+        PointHistoryCursor.merge(cursors, visibleToId, consumer);
+    }
+
+    /**
+     * 복구용 - 지연 없이 id 를 그대로 유지하여 적재한다. (유저별로 id 오름차순으로 호출해야 한다)
+     */
+    void restore(PointHistory history) {
+        segmentOf(history.userId()).append(() -> history);
+        ids.restore(history.id());
+    }
+
+    private PointHistorySegment segmentOf(long userId) {
+        return table.computeIfAbsent(userId, id -> new PointHistorySegment());
     }
 
-    private void throttle(long millis) {
+    protected void throttle(long millis) {
         try {
             TimeUnit.MILLISECONDS.sleep((long) (Math.random() * millis));
         } catch (InterruptedException ignored) {
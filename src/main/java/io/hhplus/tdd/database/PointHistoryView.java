@@ -0,0 +1,63 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+
+import static io.hhplus.tdd.database.PointHistoryRecord.*;
+
+/**
+ * 바이너리 내역 레코드를 복사 없이 읽는 flyweight
+ * 한 인스턴스를 wrap 으로 여러 레코드에 재사용하고, API 로 내보낼 때만 toPointHistory 로 객체를 만든다.
+ */
+final class PointHistoryView {
+
+    private ByteBuffer buffer;
+    private int offset;
+
+    PointHistoryView wrap(ByteBuffer buffer, int offset) {
+        this.buffer = buffer;
+        this.offset = offset;
+        return this;
+    }
+
+    long id() {
+        return buffer.getLong(offset + ID_OFFSET);
+    }
+
+    long userId() {
+        return buffer.getLong(offset + USER_ID_OFFSET);
+    }
+
+    long amount() {
+        return buffer.getLong(offset + AMOUNT_OFFSET);
+    }
+
+    TransactionType type() {
+        return TYPES[buffer.get(offset + TYPE_OFFSET)];
+    }
+
+    long updateMillis() {
+        return buffer.getLong(offset + UPDATE_MILLIS_OFFSET);
+    }
+
+    PointHistory toPointHistory() {
+        return new PointHistory(id(), userId(), amount(), type(), updateMillis());
+    }
+
+    /**
+     * id 를 마지막에 쓰므로, id 가 0 이 아니면 나머지 필드는 이미 기록된 상태다.
+     * 레코드가 8 byte 경계에 맞지 않아 VarHandle.setRelease 를 쓸 수 없으므로, id 앞에 release fence 를 두어
+     * 앞선 필드 쓰기가 id 뒤로 재배치되지 않게 한다.
+     */
+    static void write(ByteBuffer buffer, int offset, PointHistory history) {
+        buffer.putLong(offset + USER_ID_OFFSET, history.userId());
+        buffer.putLong(offset + AMOUNT_OFFSET, history.amount());
+        buffer.put(offset + TYPE_OFFSET, (byte) history.type().ordinal());
+        buffer.putLong(offset + UPDATE_MILLIS_OFFSET, history.updateMillis());
+        VarHandle.releaseFence();
+        buffer.putLong(offset + ID_OFFSET, history.id());
+    }
+}
@@ -0,0 +1,62 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.UserPoint;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * long 배열 기반 UserPointTable (point.balance-store.type=PRIMITIVE)
+ *
+ * - 잔액을 LongBalanceMap 에 (id, point, updateMillis) 로 저장한다. 유저당 Long 키, 맵 노드, UserPoint 를 보관하지 않는다.
+ * - 조회/저장 시 반환할 UserPoint 한 개 외에는 객체를 만들지 않는다.
+ * - 영속화(DurableUserPointTable)를 켜면 그쪽이 우선하므로 이 테이블은 등록하지 않는다.
+ */
+@Component
+@Primary
+@ConditionalOnExpression("'${point.balance-store.type:MAP}' == 'PRIMITIVE' and !${point.persistence.enabled:false}")
+public class PrimitiveUserPointTable extends UserPointTable {
+
+    private final LongBalanceMap balances;
+
+    public PrimitiveUserPointTable(BalanceStoreProperties properties) {
+        this.balances = new LongBalanceMap(properties.expectedSize());
+    }
+
+    @Override
+    public UserPoint selectById(Long id) {
+        throttle(200);
+        UserPoint userPoint = balances.get(id, UserPoint::new);
+        return userPoint != null ? userPoint : UserPoint.empty(id);
+    }
+
+    @Override
+    public UserPoint insertOrUpdate(long id, long amount) {
+        throttle(300);
+        long updateMillis = System.currentTimeMillis();
+        balances.put(id, amount, updateMillis);
+        return new UserPoint(id, amount, updateMillis);
+    }
+
+    @Override
+    void restore(UserPoint userPoint) {
+        balances.put(userPoint.id(), userPoint.point(), userPoint.updateMillis());
+    }
+
+    @Override
+    List<UserPoint> selectAll() {
+        List<UserPoint> userPoints = new ArrayList<>(balances.size());
+        balances.forEach((id, point, updateMillis) -> userPoints.add(new UserPoint(id, point, updateMillis)));
+        return userPoints;
+    }
+
+    /**
+     * 테스트 데이터 초기화용
+     */
+    public void clear() {
+        balances.clear();
+    }
+}
@@ -3,8 +3,9 @@ package io.hhplus.tdd.database;
 import io.hhplus.tdd.point.UserPoint;
 import org.springframework.stereotype.Component;
 
-import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -13,7 +14,7 @@ import java.util.concurrent.TimeUnit;
 @Component
 public class UserPointTable {
 
-    private final Map<Long, UserPoint> table = new HashMap<>();
+    private final Map<Long, UserPoint> table = new ConcurrentHashMap<>();
 
     public UserPoint selectById(Long id) {
         throttle(200);
@@ -27,7 +28,21 @@ public class UserPointTable {
         return userPoint;
     }
 
-    private void throttle(long millis) {
+    /**
+     * 복구용 - 지연 없이 값을 그대로 적재한다.
+     */
+    void restore(UserPoint userPoint) {
+        table.put(userPoint.id(), userPoint);
+    }
+
+    /**
+     * 스냅샷용 - 현재 모든 유저의 잔액
+     */
+    List<UserPoint> selectAll() {
+        return List.copyOf(table.values());
+    }
+
+    protected void throttle(long millis) {
         try {
             TimeUnit.MILLISECONDS.sleep((long) (Math.random() * millis));
         } catch (InterruptedException ignored) {
@@ -0,0 +1,273 @@
+package io.hhplus.tdd.database;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * 추가 전용 로그 (write-ahead log)
+ *
+ * - 레코드는 [길이(int)][CRC32C(int)][본문] 형식으로 세그먼트 파일(name-000001.wal ...)에 이어 쓴다.
+ * - append 는 OS 버퍼에 쓰기만 하고, awaitDurable 에서 fsync 한다.
+ *   fsync 는 한 번에 한 스레드만 수행하고, 그동안 쓰인 레코드는 다음 fsync 한 번으로 함께 기록된다. (group fsync)
+ * - replay 중 마지막 세그먼트 끝에서 잘린 레코드를 만나면 그 앞까지만 읽고 파일을 잘라낸다. (쓰기 도중 종료 복구)
+ */
+class WriteAheadLog implements Closeable {
+
+    private static final int HEADER_SIZE = Integer.BYTES * 2;
+    private static final int MAX_RECORD_SIZE = 1 << 20;
+    private static final String SUFFIX = ".wal";
+
+    private final Path directory;
+    private final String name;
+
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final ReentrantLock syncLock = new ReentrantLock();
+
+    private FileChannel channel;
+    private long segment;
+    private long writtenPosition;
+    private volatile long durablePosition;
+
+    private final LongAdder syncCount = new LongAdder();
+
+    WriteAheadLog(Path directory, String name) {
+        this.directory = directory;
+        this.name = name;
+        try {
+            Files.createDirectories(directory);
+            List<Long> segments = segments();
+            this.segment = segments.isEmpty() ? 1L : segments.get(segments.size() - 1);
+            open(segment);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * 레코드를 추가하고, awaitDurable 에 넘길 위치를 반환한다.
+     */
+    long append(ByteBuffer payload) {
+        int length = payload.remaining();
+        CRC32C crc = new CRC32C();
+        crc.update(payload.duplicate());
+
+        ByteBuffer frame = ByteBuffer.allocate(HEADER_SIZE + length);
+        frame.putInt(length).putInt((int) crc.getValue()).put(payload).flip();
+
+        writeLock.lock();
+        try {
+            while (frame.hasRemaining()) {
+                channel.write(frame);
+            }
+            writtenPosition += HEADER_SIZE + length;
+            return writtenPosition;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * position 까지 쓰인 레코드가 디스크에 기록될 때까지 기다린다.
+     */
+    void awaitDurable(long position) {
+        if (durablePosition >= position) {
+            return;
+        }
+
+        syncLock.lock();
+        try {
+            if (durablePosition >= position) {
+                return;
+            }
+
+            FileChannel target;
+            long targetPosition;
+            writeLock.lock();
+            try {
+                target = channel;
+                targetPosition = writtenPosition;
+            } finally {
+                writeLock.unlock();
+            }
+
+            target.force(false);
+            syncCount.increment();
+            durablePosition = targetPosition;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    /**
+     * 새 세그먼트로 전환하고 그 번호를 반환한다. 이전 세그먼트는 fsync 후 닫는다.
+     */
+    long rotate() {
+        syncLock.lock();
+        writeLock.lock();
+        try {
+            channel.force(false);
+            channel.close();
+            durablePosition = writtenPosition;
+            open(segment + 1);
+            return segment;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            writeLock.unlock();
+            syncLock.unlock();
+        }
+    }
+
+    /**
+     * fromSegment 이후의 모든 레코드를 순서대로 읽는다.
+     */
+    void replay(long fromSegment, Consumer<ByteBuffer> consumer) {
+        writeLock.lock();
+        try {
+            List<Long> segments = segments();
+            for (Long each : segments) {
+                if (each < fromSegment) {
+                    continue;
+                }
+                boolean last = each == segment;
+                replaySegment(pathOf(each), last, consumer);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * beforeSegment 이전 세그먼트 파일을 삭제한다. (스냅샷에 반영된 로그 정리)
+     */
+    void deleteSegmentsBefore(long beforeSegment) {
+        try {
+            for (Long each : segments()) {
+                if (each < beforeSegment) {
+                    Files.deleteIfExists(pathOf(each));
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    long syncCount() {
+        return syncCount.sum();
+    }
+
+    @Override
+    public void close() {
+        syncLock.lock();
+        writeLock.lock();
+        try {
+            if (channel.isOpen()) {
+                channel.force(false);
+                channel.close();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            writeLock.unlock();
+            syncLock.unlock();
+        }
+    }
+
+    private void replaySegment(Path path, boolean last, Consumer<ByteBuffer> consumer) throws IOException {
+        try (FileChannel reader = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = reader.size();
+            long position = 0;
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+
+            while (position < size) {
+                header.clear();
+                int headerRead = readFully(reader, header, position);
+                header.flip();
+                if (headerRead < HEADER_SIZE) {
+                    break;
+                }
+
+                int length = header.getInt();
+                int checksum = header.getInt();
+                if (length < 0 || length > MAX_RECORD_SIZE || position + HEADER_SIZE + length > size) {
+                    break;
+                }
+
+                ByteBuffer payload = ByteBuffer.allocate(length);
+                readFully(reader, payload, position + HEADER_SIZE);
+                payload.flip();
+
+                CRC32C crc = new CRC32C();
+                crc.update(payload.duplicate());
+                if ((int) crc.getValue() != checksum) {
+                    break;
+                }
+
+                consumer.accept(payload);
+                position += HEADER_SIZE + length;
+            }
+
+            if (position < size) {
+                if (!last) {
+                    throw new IllegalStateException("손상된 로그 세그먼트입니다: " + path + " (위치: " + position + ")");
+                }
+                // 마지막 세그먼트의 잘린 꼬리는 쓰기 도중 종료된 레코드이므로 잘라낸다.
+                channel.truncate(position);
+                writtenPosition = position;
+                durablePosition = position;
+            }
+        }
+    }
+
+    private int readFully(FileChannel reader, ByteBuffer buffer, long position) throws IOException {
+        int total = 0;
+        while (buffer.hasRemaining()) {
+            int read = reader.read(buffer, position + total);
+            if (read < 0) {
+                break;
+            }
+            total += read;
+        }
+        return total;
+    }
+
+    private void open(long segmentNumber) throws IOException {
+        this.segment = segmentNumber;
+        this.channel = FileChannel.open(pathOf(segmentNumber),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        this.writtenPosition = channel.size();
+        this.durablePosition = writtenPosition;
+    }
+
+    private List<Long> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(path -> path.getFileName().toString())
+                    .filter(fileName -> fileName.startsWith(name + "-") && fileName.endsWith(SUFFIX))
+                    .map(fileName -> Long.parseLong(fileName.substring(name.length() + 1, fileName.length() - SUFFIX.length())))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private Path pathOf(long segmentNumber) {
+        return directory.resolve(String.format("%s-%06d%s", name, segmentNumber, SUFFIX));
+    }
+}
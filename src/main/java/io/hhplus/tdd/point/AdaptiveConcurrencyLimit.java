@@ -0,0 +1,85 @@
+package io.hhplus.tdd.point;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 처리 시간에 맞춰 조절되는 전체 동시 처리 한도 (AIMD)
+ *
+ * - 처리 시간이 targetLatency 이하이고 한도의 절반 이상을 쓰고 있으면 한도를 1/limit 씩 늘린다. (한도만큼 완료되면 약 +1)
+ * - targetLatency 를 넘으면 한도에 backoffRatio 를 곱해 줄인다. 한 번 느려진 구간에서 연달아 줄지 않도록
+ *   줄이는 것은 targetLatency 마다 한 번만 한다.
+ * - 한도는 double 비트로 AtomicLong 에 두고 compare-and-set 으로 갱신한다.
+ */
+final class AdaptiveConcurrencyLimit {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long targetNanos;
+    private final double backoffRatio;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong limitBits;
+    private final AtomicLong lastDecreaseNanos;
+
+    AdaptiveConcurrencyLimit(int minLimit, int initialLimit, int maxLimit, long targetNanos, double backoffRatio) {
+        if (minLimit < 1 || minLimit > maxLimit || backoffRatio <= 0 || backoffRatio >= 1) {
+            throw new IllegalArgumentException("한도 설정이 잘못되었습니다. (1 <= minLimit <= maxLimit, 0 < backoffRatio < 1)");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.targetNanos = targetNanos;
+        this.backoffRatio = backoffRatio;
+        this.limitBits = new AtomicLong(Double.doubleToLongBits(Math.clamp(initialLimit, minLimit, maxLimit)));
+        this.lastDecreaseNanos = new AtomicLong(System.nanoTime() - targetNanos);
+    }
+
+    boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= (int) limit()) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * 처리를 마친 요청의 처리 시간으로 한도를 조절한다.
+     */
+    void release(long latencyNanos) {
+        int inFlightBefore = inFlight.getAndDecrement();
+        if (latencyNanos > targetNanos) {
+            long now = System.nanoTime();
+            long last = lastDecreaseNanos.get();
+            if (now - last >= targetNanos && lastDecreaseNanos.compareAndSet(last, now)) {
+                update(-1);
+            }
+        } else if (inFlightBefore * 2 >= limit()) {
+            update(1);
+        }
+    }
+
+    double limit() {
+        return Double.longBitsToDouble(limitBits.get());
+    }
+
+    int inFlight() {
+        return inFlight.get();
+    }
+
+    private void update(int direction) {
+        while (true) {
+            long bits = limitBits.get();
+            double current = Double.longBitsToDouble(bits);
+            double next = direction > 0
+                    ? Math.min(maxLimit, current + 1.0 / current)
+                    : Math.max(minLimit, current * backoffRatio);
+            if (next == current || limitBits.compareAndSet(bits, Double.doubleToLongBits(next))) {
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package io.hhplus.tdd.point;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * 요청 수락 제어 설정 (/point/**, /reactive/point/** 앞단)
+ * - enabled : 유저별 요청 한도, 유저별 대기 한도, 전체 동시 처리 한도를 적용할지 여부
+ * - permitsPerSecond, burst : 유저별 초당 허용 요청 수와 한 번에 몰아서 허용할 수 있는 요청 수 (token bucket)
+ * - maxQueuedPerUser : 한 유저에 대해 동시에 처리 중이거나 유저 락을 기다리는 최대 요청 수
+ * - slots : 유저 id 해시로 나누는 상태 슬롯 수 (2의 거듭제곱으로 올림, 같은 슬롯의 유저는 한도를 나누어 쓴다)
+ * - minLimit, initialLimit, maxLimit : 전체 동시 처리 한도의 범위와 시작 값
+ * - targetLatency : 처리 시간이 이보다 길면 전체 한도를 줄이고, 짧으면 조금씩 늘린다.
+ * - backoffRatio : 한도를 줄일 때 곱하는 비율
+ */
+@ConfigurationProperties(prefix = "point.admission")
+public record AdmissionProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("100") double permitsPerSecond,
+        @DefaultValue("200") int burst,
+        @DefaultValue("64") int maxQueuedPerUser,
+        @DefaultValue("1048576") int slots,
+        @DefaultValue("16") int minLimit,
+        @DefaultValue("1024") int initialLimit,
+        @DefaultValue("8192") int maxLimit,
+        @DefaultValue("1s") Duration targetLatency,
+        @DefaultValue("0.9") double backoffRatio
+) {
+}
@@ -0,0 +1,16 @@
+package io.hhplus.tdd.point;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * 잔액 캐시 설정
+ * - enabled : 잔액 조회를 메모리 캐시에서 처리할지 여부
+ * - maximumSize : 캐시에 보관할 최대 유저 수 (초과 시 LRU 방출)
+ */
+@ConfigurationProperties(prefix = "point.balance-cache")
+public record BalanceCacheProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("100000") int maximumSize
+) {
+}
@@ -0,0 +1,14 @@
+package io.hhplus.tdd.point;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * 시점 잔액 조회용 체크포인트 설정
+ * - interval : 유저 내역 interval 건마다 그 시점 잔액을 체크포인트로 남긴다. (조회 시 재생하는 내역은 최대 interval 건)
+ */
+@ConfigurationProperties(prefix = "point.balance-checkpoint")
+public record BalanceCheckpointProperties(
+        @DefaultValue("64") int interval
+) {
+}
@@ -0,0 +1,20 @@
+package io.hhplus.tdd.point;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * 잔액 변경 방식 설정
+ * - mode : LOCK(유저 락 안에서 읽기/계산/기록) / OPTIMISTIC(버전 비교 후 교체, 충돌 시 재시도)
+ * - maximumCells : OPTIMISTIC 모드에서 처리가 끝난 뒤에도 메모리에 남겨 둘 유저별 잔액 셀의 최대 수
+ */
+@ConfigurationProperties(prefix = "point.balance-update")
+public record BalanceUpdateProperties(
+        @DefaultValue("LOCK") Mode mode,
+        @DefaultValue("100000") int maximumCells
+) {
+
+    public enum Mode {
+        LOCK, OPTIMISTIC
+    }
+}
@@ -0,0 +1,21 @@
+package io.hhplus.tdd.point;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * 바이너리 프로토콜(TCP) 설정
+ * - enabled : REST 와 별도로 바이너리 프로토콜 서버를 띄울지 여부
+ * - port : 서버 포트 (0 이면 임의의 빈 포트)
+ * - maxInFlight : 연결당 동시에 처리할 수 있는 최대 요청 수 (넘으면 응답이 나갈 때까지 읽기를 멈춘다)
+ *
+ * 수락 제어(point.admission.*)는 REST 와 같이 적용되지만 멱등성 키는 지원하지 않는다.
+ * 응답을 받지 못한 CHARGE/USE 를 다시 보내면 중복 반영될 수 있으므로, 재시도가 필요한 클라이언트는 REST 를 사용한다.
+ */
+@ConfigurationProperties(prefix = "point.binary")
+public record BinaryProtocolProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("9090") int port,
+        @DefaultValue("1024") int maxInFlight
+) {
+}
@@ -0,0 +1,27 @@
+package io.hhplus.tdd.point;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * 클러스터 설정 (여러 인스턴스가 유저를 나누어 담당)
+ * - enabled : 유저별 담당 노드를 정하고, 담당이 아닌 노드는 요청을 담당 노드로 전달할지 여부
+ * - self : 이 노드의 주소 (예: http://10.0.0.1:8080), nodes 중 하나여야 한다.
+ * - nodes : 클러스터 전체 노드 주소 목록 (모든 노드가 같은 목록을 사용해야 한다)
+ * - virtualNodes : 노드당 해시 링에 올리는 가상 노드 수
+ * - forwardTimeout : 담당 노드로 전달한 요청의 응답 대기 시간
+ * - secret : 노드 간 전달 요청에 싣는 공유 비밀값 (클러스터 모드에서 필수, 모든 노드가 같은 값을 사용해야 한다)
+ */
+@ConfigurationProperties(prefix = "point.cluster")
+public record ClusterProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("") String self,
+        @DefaultValue List<String> nodes,
+        @DefaultValue("128") int virtualNodes,
+        @DefaultValue("5s") Duration forwardTimeout,
+        @DefaultValue("") String secret
+) {
+}
@@ -0,0 +1,74 @@
+package io.hhplus.tdd.point;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 유저 id -> 담당 노드 consistent hash 링
+ *
+ * - 노드마다 virtualNodes 개의 점을 링(64bit 해시 공간)에 올리고, 유저는 자신의 해시 이후 첫 점의 노드가 담당한다.
+ * - 노드가 추가/제거되면 그 노드의 점 주변 유저만 담당이 바뀐다. (약 1/N)
+ * - 점은 정렬된 long[] 에 두고 이진 탐색한다. 생성 후 바뀌지 않는다.
+ */
+final class ConsistentHashRing {
+
+    private final long[] points;
+    private final String[] owners;
+
+    ConsistentHashRing(List<String> nodes, int virtualNodes) {
+        if (nodes.isEmpty() || virtualNodes < 1) {
+            throw new IllegalArgumentException("해시 링에는 노드와 가상 노드가 1개 이상 필요합니다.");
+        }
+
+        int size = nodes.size() * virtualNodes;
+        long[][] entries = new long[size][];
+        int index = 0;
+        for (int node = 0; node < nodes.size(); node++) {
+            for (int replica = 0; replica < virtualNodes; replica++) {
+                entries[index++] = new long[]{hash(nodes.get(node) + "#" + replica), node};
+            }
+        }
+        Arrays.sort(entries, (a, b) -> Long.compare(a[0], b[0]));
+
+        this.points = new long[size];
+        this.owners = new String[size];
+        for (int i = 0; i < size; i++) {
+            points[i] = entries[i][0];
+            owners[i] = nodes.get((int) entries[i][1]);
+        }
+    }
+
+    String ownerOf(long userId) {
+        int index = Arrays.binarySearch(points, mix(userId));
+        if (index < 0) {
+            index = -index - 1;
+        }
+        return owners[index == points.length ? 0 : index];
+    }
+
+    /**
+     * FNV-1a 64bit 후 mix - 주소 문자열이 비슷해도 점이 고르게 퍼지도록 한다.
+     */
+    private static long hash(String key) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b;
+            h *= 0x100000001b3L;
+        }
+        return mix(h);
+    }
+
+    /**
+     * MurmurHash3 fmix64
+     */
+    private static long mix(long value) {
+        long h = value;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,13 @@
+package io.hhplus.tdd.point;
+
+/**
+ * 락 경합 유저
+ * - waitMillis : 누적 락 대기 시간
+ * - contendedCount : 경합으로 집계된 요청 수
+ */
+public record ContendedUser(
+        long userId,
+        long waitMillis,
+        long contendedCount
+) {
+}
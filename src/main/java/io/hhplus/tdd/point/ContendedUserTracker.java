@@ -0,0 +1,77 @@
+package io.hhplus.tdd.point;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 락 대기 시간이 긴 유저 상위 N 명 (space-saving)
+ *
+ * - 고정 크기 배열(N * CANDIDATE_FACTOR 칸)에 유저별 누적 대기 시간을 보관한다.
+ * - 자리가 없으면 누적값이 가장 작은 칸을 새 유저로 바꾸고, 기존 누적값을 이어받는다. (과대 추정은 있어도 상위 유저를 놓치지 않는다)
+ * - 경합이 발생한 요청에서만 호출되며 객체를 만들지 않는다.
+ */
+class ContendedUserTracker {
+
+    private static final int CANDIDATE_FACTOR = 4;
+    private static final long EMPTY = Long.MIN_VALUE;
+
+    private final int topUsers;
+    private final long[] userIds;
+    private final long[] waitNanos;
+    private final long[] counts;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    ContendedUserTracker(int topUsers) {
+        this.topUsers = topUsers;
+        int capacity = Math.max(1, topUsers * CANDIDATE_FACTOR);
+        this.userIds = new long[capacity];
+        this.waitNanos = new long[capacity];
+        this.counts = new long[capacity];
+        Arrays.fill(userIds, EMPTY);
+    }
+
+    void record(long userId, long nanos) {
+        lock.lock();
+        try {
+            int min = 0;
+            for (int i = 0; i < userIds.length; i++) {
+                if (userIds[i] == userId || userIds[i] == EMPTY) {
+                    userIds[i] = userId;
+                    waitNanos[i] += nanos;
+                    counts[i]++;
+                    return;
+                }
+                if (waitNanos[i] < waitNanos[min]) {
+                    min = i;
+                }
+            }
+            userIds[min] = userId;
+            waitNanos[min] += nanos;
+            counts[min]++;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 누적 대기 시간 기준 상위 유저 (조회용)
+     */
+    List<ContendedUser> top() {
+        List<ContendedUser> candidates = new ArrayList<>(userIds.length);
+        lock.lock();
+        try {
+            for (int i = 0; i < userIds.length; i++) {
+                if (userIds[i] != EMPTY) {
+                    candidates.add(new ContendedUser(userIds[i], waitNanos[i] / 1_000_000, counts[i]));
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        candidates.sort(Comparator.comparingLong(ContendedUser::waitMillis).reversed());
+        return candidates.subList(0, Math.min(topUsers, candidates.size()));
+    }
+}
@@ -0,0 +1,18 @@
+package io.hhplus.tdd.point;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * 그룹 커밋 설정
+ * - enabled : 같은 유저의 동시 요청을 모아 한 번에 반영할지 여부
+ * - window : 첫 요청 도착 후 다른 요청을 모으는 시간
+ */
+@ConfigurationProperties(prefix = "point.group-commit")
+public record GroupCommitProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("5ms") Duration window
+) {
+}
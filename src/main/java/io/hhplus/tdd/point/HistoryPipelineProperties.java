@@ -0,0 +1,18 @@
+package io.hhplus.tdd.point;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * 포인트 내역 비동기 기록 설정
+ * - enabled : 내역을 대기열에 넣고 백그라운드에서 모아서 기록할지 여부
+ * - capacity : 대기열 최대 크기 (가득 차면 요청 스레드가 빈 자리가 생길 때까지 기다린다)
+ * - batchSize : 한 번에 기록할 최대 내역 수
+ */
+@ConfigurationProperties(prefix = "point.history-pipeline")
+public record HistoryPipelineProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("10000") int capacity,
+        @DefaultValue("500") int batchSize
+) {
+}
@@ -0,0 +1,295 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.common.PointConstants;
+import io.hhplus.tdd.common.PointErrorMessages;
+import io.hhplus.tdd.database.UserPointTable;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 핫 계정 잔액 분할 (point.hot-account.user-ids 에 지정한 유저만)
+ *
+ * - 유저 잔액을 slots 개의 슬롯으로 나누고 슬롯마다 락을 따로 둔다. 유저 락은 사용하지 않는다.
+ * - 충전은 슬롯을 돌아가며 더한다. 최대 포인트는 슬롯 합계(reserved)에 먼저 예약한 뒤 검증하므로 합계 기준으로 지켜진다.
+ * - 사용은 임의의 한 슬롯에서 차감하고, 그 슬롯 잔액이 모자라면 모든 슬롯을 순서대로 잠가 합계로 검증한 뒤
+ *   차감하고 남은 잔액을 슬롯에 고르게 다시 나눈다. (합계가 모자랄 때만 INSUFFICIENT_POINT)
+ * - 합계(total)는 슬롯 잔액을 바꾸는 락 안에서 같이 바꾼다. 조회, 요청 결과, 테이블 기록은 슬롯을 하나씩 더하지 않고 이 값을 읽으므로,
+ *   재분배 중이거나 다른 슬롯이 바뀌는 중에도 어느 한 시점의 합계만 보인다.
+ * - 내역은 슬롯 락 안에서 대기열에 넣고, 테이블 기록은 낙관적 변경 모드와 같이 한 스레드(flusher)가
+ *   그때까지 쌓인 내역과 최신 합계를 한 번에 기록한다. 요청은 자기 변경이 기록될 때까지 기다린다.
+ */
+@Component
+public class HotAccountBalances {
+
+    private final UserPointTable userPointTable;
+    private final PointHistoryPipeline pointHistoryPipeline;
+    private final PointMetrics pointMetrics;
+    private final Set<Long> hotUserIds;
+    private final int slotCount;
+    private final Counter sweepCounter;
+
+    private final Map<Long, SplitAccount> accounts = new ConcurrentHashMap<>();
+
+    public HotAccountBalances(UserPointTable userPointTable, PointHistoryPipeline pointHistoryPipeline,
+                              PointMetrics pointMetrics, HotAccountProperties properties, MeterRegistry meterRegistry) {
+        if (properties.slots() < 1) {
+            throw new IllegalArgumentException("slots 는 1 이상이어야 합니다: " + properties.slots());
+        }
+        this.userPointTable = userPointTable;
+        this.pointHistoryPipeline = pointHistoryPipeline;
+        this.pointMetrics = pointMetrics;
+        this.hotUserIds = Set.copyOf(properties.userIds());
+        this.slotCount = properties.slots();
+        this.sweepCounter = Counter.builder("point.hot-account.sweeps")
+                .description("한 슬롯 잔액이 모자라 모든 슬롯을 잠그고 차감한 횟수")
+                .register(meterRegistry);
+    }
+
+    public boolean isHot(long userId) {
+        return hotUserIds.contains(userId);
+    }
+
+    public UserPoint get(long userId) {
+        SplitAccount account = accountOf(userId);
+        return new UserPoint(userId, account.total.get(), account.updateMillis);
+    }
+
+    /**
+     * 한 유저의 요청을 순서대로 슬롯에 적용하고, 테이블에 기록된 뒤 요청별 결과를 반환한다.
+     * 결과 잔액은 요청을 반영한 직후의 합계이다. 검증에 실패한 요청은 해당 요청만 실패 처리한다.
+     */
+    public List<PointCommandResult> apply(long userId, List<PointCommand> commands) {
+        SplitAccount account = accountOf(userId);
+        List<PointCommandResult> results = new ArrayList<>(commands.size());
+        long updateMillis = System.currentTimeMillis();
+        long lastSequence = 0L;
+
+        for (PointCommand command : commands) {
+            try {
+                PointHistory history = command.toHistory(updateMillis);
+                Applied applied = switch (command.type()) {
+                    case CHARGE -> charge(account, history);
+                    case USE -> use(account, history);
+                };
+                lastSequence = applied.sequence();
+                account.updateMillis = updateMillis;
+                results.add(PointCommandResult.success(new UserPoint(userId, applied.total(), updateMillis)));
+            } catch (IllegalArgumentException e) {
+                results.add(PointCommandResult.failure(e));
+            }
+        }
+
+        if (lastSequence > 0L) {
+            awaitPersisted(userId, account, lastSequence);
+        }
+        return results;
+    }
+
+    /**
+     * 테스트 초기화용 - 분할 상태를 비워 다음 요청에서 테이블 잔액으로 다시 나누게 한다.
+     */
+    public void clear() {
+        accounts.clear();
+    }
+
+    /**
+     * 합계에 먼저 예약해 최대 포인트를 검증하고, 돌아가며 고른 슬롯에 더한다.
+     */
+    private Applied charge(SplitAccount account, PointHistory history) {
+        long amount = history.amount();
+        long reserved;
+        do {
+            reserved = account.reserved.get();
+            if (reserved + amount > PointConstants.MAX_POINT) {
+                throw new PointValidationException(PointErrorMessages.MAX_POINT_EXCEEDED, PointConstants.MAX_POINT);
+            }
+        } while (!account.reserved.compareAndSet(reserved, reserved + amount));
+
+        Slot slot = account.slots[Math.floorMod(account.nextSlot.getAndIncrement(), slotCount)];
+        slot.lock.lock();
+        try {
+            slot.balance += amount;
+            long total = account.total.addAndGet(amount);
+            return new Applied(account.commit(history), total);
+        } finally {
+            slot.lock.unlock();
+        }
+    }
+
+    /**
+     * 임의의 한 슬롯에서 차감하고, 모자라면 모든 슬롯을 잠가 합계로 처리한다.
+     * 예약 합계는 내역을 대기열에 넣은 뒤에 줄여, 그 여유로 들어온 충전이 내역에서도 이 사용보다 뒤에 오도록 한다.
+     */
+    private Applied use(SplitAccount account, PointHistory history) {
+        long amount = history.amount();
+        Slot slot = account.slots[ThreadLocalRandom.current().nextInt(slotCount)];
+        slot.lock.lock();
+        try {
+            if (slot.balance >= amount) {
+                slot.balance -= amount;
+                long total = account.total.addAndGet(-amount);
+                long sequence = account.commit(history);
+                account.reserved.addAndGet(-amount);
+                return new Applied(sequence, total);
+            }
+        } finally {
+            slot.lock.unlock();
+        }
+
+        sweepCounter.increment();
+        return sweep(account, history);
+    }
+
+    /**
+     * 모든 슬롯을 번호 순서대로 잠가(교착 방지) 합계로 잔액을 검증하고, 차감 후 남은 잔액을 고르게 다시 나눈다.
+     */
+    private Applied sweep(SplitAccount account, PointHistory history) {
+        long amount = history.amount();
+        Slot[] slots = account.slots;
+        for (Slot slot : slots) {
+            slot.lock.lock();
+        }
+        try {
+            long total = 0L;
+            for (Slot slot : slots) {
+                total += slot.balance;
+            }
+            if (total < amount) {
+                throw new PointValidationException(PointErrorMessages.INSUFFICIENT_POINT, total);
+            }
+
+            distribute(slots, total - amount);
+            long remaining = account.total.addAndGet(-amount);
+            long sequence = account.commit(history);
+            account.reserved.addAndGet(-amount);
+            return new Applied(sequence, remaining);
+        } finally {
+            for (int i = slots.length - 1; i >= 0; i--) {
+                slots[i].lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * sequence 까지 테이블에 기록될 때까지 기다린다. 먼저 flush 락을 잡은 스레드가 그때까지 쌓인 내역과 최신 합계를 기록한다.
+     */
+    private void awaitPersisted(long userId, SplitAccount account, long sequence) {
+        if (account.persistedSequence >= sequence) {
+            return;
+        }
+
+        account.flushLock.lock();
+        try {
+            if (account.persistedSequence >= sequence) {
+                return;
+            }
+
+            // 번호를 먼저 읽는다. commit 은 대기열에 넣은 뒤 번호를 올리므로 이 번호까지의 내역은 모두 대기열에 있다.
+            long committed = account.committedSequence.get();
+            List<PointHistory> histories = new ArrayList<>();
+            for (PointHistory history = account.unpersisted.poll(); history != null; history = account.unpersisted.poll()) {
+                histories.add(history);
+            }
+
+            if (!histories.isEmpty()) {
+                long appendStartNanos = System.nanoTime();
+                pointHistoryPipeline.appendAll(histories);
+                pointMetrics.record(PointMetrics.Phase.HISTORY_APPEND, System.nanoTime() - appendStartNanos);
+            }
+
+            long writeStartNanos = System.nanoTime();
+            userPointTable.insertOrUpdate(userId, account.total.get());
+            pointMetrics.record(PointMetrics.Phase.WRITE, System.nanoTime() - writeStartNanos);
+
+            account.persistedSequence = committed;
+        } finally {
+            account.flushLock.unlock();
+        }
+    }
+
+    /**
+     * 분할 상태가 없으면 테이블에서 읽어 고르게 나눈다. 동시에 만든 경우 먼저 등록된 상태를 쓴다.
+     */
+    private SplitAccount accountOf(long userId) {
+        SplitAccount account = accounts.get(userId);
+        if (account != null) {
+            return account;
+        }
+
+        long startNanos = System.nanoTime();
+        UserPoint loaded = userPointTable.selectById(userId);
+        pointMetrics.record(PointMetrics.Phase.READ, System.nanoTime() - startNanos);
+
+        SplitAccount created = new SplitAccount(slotCount, loaded);
+        SplitAccount existing = accounts.putIfAbsent(userId, created);
+        return existing != null ? existing : created;
+    }
+
+    /**
+     * 잔액을 슬롯에 고르게 나누고 나머지는 첫 슬롯에 둔다. (호출자가 모든 슬롯을 잠근 상태여야 한다)
+     */
+    private static void distribute(Slot[] slots, long total) {
+        long share = total / slots.length;
+        for (Slot slot : slots) {
+            slot.balance = share;
+        }
+        slots[0].balance += total - share * slots.length;
+    }
+
+    private static final class SplitAccount {
+        private final Slot[] slots;
+        private final AtomicInteger nextSlot = new AtomicInteger();
+        // 슬롯 합계 (슬롯 잔액을 바꾸는 락 안에서 같이 바꾼다)
+        private final AtomicLong total;
+        // 슬롯 합계 + 진행 중인 충전 예약 (최대 포인트 검증 기준)
+        private final AtomicLong reserved;
+        private final Queue<PointHistory> unpersisted = new ConcurrentLinkedQueue<>();
+        private final AtomicLong committedSequence = new AtomicLong();
+        private final ReentrantLock flushLock = new ReentrantLock();
+        private volatile long persistedSequence = 0L;
+        private volatile long updateMillis;
+
+        SplitAccount(int slotCount, UserPoint loaded) {
+            this.slots = new Slot[slotCount];
+            for (int i = 0; i < slotCount; i++) {
+                slots[i] = new Slot();
+            }
+            distribute(slots, loaded.point());
+            this.total = new AtomicLong(loaded.point());
+            this.reserved = new AtomicLong(loaded.point());
+            this.updateMillis = loaded.updateMillis();
+        }
+
+        /**
+         * 변경 내역을 대기열에 넣고 커밋 번호를 발급한다. (변경한 슬롯의 락 안에서 호출한다)
+         */
+        long commit(PointHistory history) {
+            unpersisted.add(history);
+            return committedSequence.incrementAndGet();
+        }
+    }
+
+    /**
+     * 요청 하나를 슬롯에 반영한 결과 - 커밋 번호와 반영 직후의 합계
+     */
+    private record Applied(long sequence, long total) {
+    }
+
+    private static final class Slot {
+        private final ReentrantLock lock = new ReentrantLock();
+        private volatile long balance;
+    }
+}
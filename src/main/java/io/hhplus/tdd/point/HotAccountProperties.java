@@ -0,0 +1,18 @@
+package io.hhplus.tdd.point;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.util.Set;
+
+/**
+ * 핫 계정 잔액 분할 설정 (요청이 한 유저에 몰리는 적립금 풀 등)
+ * - userIds : 잔액을 나누어 관리할 유저 id 목록 (비어 있으면 사용하지 않는다)
+ * - slots : 유저당 나눌 슬롯 수 (슬롯마다 락이 따로 있다)
+ */
+@ConfigurationProperties(prefix = "point.hot-account")
+public record HotAccountProperties(
+        @DefaultValue Set<Long> userIds,
+        @DefaultValue("8") int slots
+) {
+}
@@ -0,0 +1,208 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.common.PointConstants;
+import io.hhplus.tdd.common.PointErrorMessages;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+/**
+ * Idempotency-Key 별 충전/사용 결과 보관
+ *
+ * - 처음 들어온 요청만 실행하고, 같은 키의 재시도는 보관된 결과를 유저 락/테이블 접근 없이 반환한다.
+ * - 원 요청이 처리 중이면 재시도는 새로 실행하지 않고 원 요청의 결과를 기다린다.
+ * - 원 요청이 실패하면 기다리던 재시도에도 같은 예외를 전달하고 키를 지워, 이후 재시도는 다시 실행한다.
+ * - 결과는 처리가 끝난 시점부터 ttl 동안 보관한다. 키 해시로 나눈 세그먼트마다 키 맵과 처리가 끝난 순서의 대기열을 둔다.
+ *   ttl 이 같으므로 끝난 순서가 곧 만료 순서다. 삽입 시 대기열 앞에서 만료된 키를 정리하고, 크기를 넘으면 먼저 끝난 키부터 방출한다.
+ * - 처리 중인 키는 대기열에 없으므로 만료되거나 방출되지 않는다. (방출되면 재시도가 같은 충전을 한 번 더 실행하게 된다)
+ *   그래서 처리 중인 요청이 많으면 잠시 maximumSize 를 넘을 수 있다.
+ */
+@Component
+public class IdempotencyCache {
+
+    private static final int SEGMENT_COUNT = 16;
+
+    private final boolean enabled;
+    private final long ttlNanos;
+    private final Segment[] segments = new Segment[SEGMENT_COUNT];
+
+    private final Counter replayCounter;
+    private final Counter evictionCounter;
+
+    public IdempotencyCache(IdempotencyProperties properties, MeterRegistry meterRegistry) {
+        this.enabled = properties.enabled();
+        this.ttlNanos = properties.ttl().toNanos();
+        int segmentSize = Math.max(1, properties.maximumSize() / SEGMENT_COUNT);
+        for (int i = 0; i < SEGMENT_COUNT; i++) {
+            segments[i] = new Segment(segmentSize);
+        }
+
+        this.replayCounter = Counter.builder("point.idempotency.replayed")
+                .register(meterRegistry);
+        this.evictionCounter = Counter.builder("point.idempotency.evictions")
+                .register(meterRegistry);
+        Gauge.builder("point.idempotency.size", this, IdempotencyCache::size)
+                .register(meterRegistry);
+    }
+
+    /**
+     * key 가 없거나 비활성화 상태면 action 을 그대로 실행한다.
+     * 같은 키로 다른 요청(유저/거래 종류/금액)이 들어오면 PointValidationException 을 던진다.
+     */
+    public UserPoint execute(String key, PointCommand command, Supplier<UserPoint> action) {
+        if (!enabled || key == null) {
+            return action.get();
+        }
+        if (key.isBlank() || key.length() > PointConstants.MAX_IDEMPOTENCY_KEY_LENGTH) {
+            throw new PointValidationException(PointErrorMessages.IDEMPOTENCY_KEY_INVALID, PointConstants.MAX_IDEMPOTENCY_KEY_LENGTH);
+        }
+
+        Segment segment = segmentOf(key);
+        Entry created = new Entry(command);
+        Entry existing = segment.putIfAbsent(key, created, System.nanoTime());
+        if (existing != null) {
+            if (!existing.command.equals(command)) {
+                throw new PointValidationException(PointErrorMessages.IDEMPOTENCY_KEY_REUSED);
+            }
+            replayCounter.increment();
+            return join(existing.result);
+        }
+
+        try {
+            UserPoint result = action.get();
+            segment.completed(key, created, System.nanoTime() + ttlNanos);
+            created.result.complete(result);
+            return result;
+        } catch (RuntimeException e) {
+            segment.remove(key, created);
+            created.result.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    public void invalidateAll() {
+        for (Segment segment : segments) {
+            segment.clear();
+        }
+    }
+
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    private UserPoint join(CompletableFuture<UserPoint> result) {
+        try {
+            return result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private Segment segmentOf(String key) {
+        return segments[(key.hashCode() & 0x7fffffff) % SEGMENT_COUNT];
+    }
+
+    /**
+     * 키 하나의 결과 - 처리 중에는 만료되지 않는다.
+     */
+    private static final class Entry {
+        private final PointCommand command;
+        private final CompletableFuture<UserPoint> result = new CompletableFuture<>();
+        private volatile long expiresAtNanos = Long.MAX_VALUE;
+
+        Entry(PointCommand command) {
+            this.command = command;
+        }
+
+        boolean isExpired(long nowNanos) {
+            return expiresAtNanos - nowNanos <= 0;
+        }
+    }
+
+    private final class Segment {
+        private final int maximumSize;
+        private final Map<String, Entry> entries = new HashMap<>();
+        // 처리가 끝난 키 (끝난 순서 = 만료 순서)
+        private final Deque<CompletedKey> completed = new ArrayDeque<>();
+
+        Segment(int maximumSize) {
+            this.maximumSize = maximumSize;
+        }
+
+        /**
+         * 만료되지 않은 기존 값이 있으면 그것을, 없으면 entry 를 넣고 null 을 반환한다.
+         */
+        synchronized Entry putIfAbsent(String key, Entry entry, long nowNanos) {
+            purgeExpired(nowNanos);
+            Entry existing = entries.get(key);
+            if (existing != null && !existing.isExpired(nowNanos)) {
+                return existing;
+            }
+            entries.put(key, entry);
+            evictOverflow();
+            return null;
+        }
+
+        /**
+         * 처리가 끝난 키를 만료 대상으로 등록한다.
+         */
+        synchronized void completed(String key, Entry entry, long expiresAtNanos) {
+            entry.expiresAtNanos = expiresAtNanos;
+            completed.addLast(new CompletedKey(key, entry));
+        }
+
+        synchronized void remove(String key, Entry entry) {
+            entries.remove(key, entry);
+        }
+
+        synchronized void clear() {
+            entries.clear();
+            completed.clear();
+        }
+
+        synchronized int size() {
+            return entries.size();
+        }
+
+        /**
+         * 먼저 끝난 키부터 만료된 키를 지운다. 처리 중인 키는 대기열에 없으므로 정리를 막지 않는다.
+         */
+        private void purgeExpired(long nowNanos) {
+            while (!completed.isEmpty() && completed.peekFirst().entry.isExpired(nowNanos)) {
+                CompletedKey head = completed.pollFirst();
+                entries.remove(head.key, head.entry);
+            }
+        }
+
+        /**
+         * 크기를 넘으면 먼저 끝난 키부터 방출한다. 처리 중인 키만 남으면 멈춘다.
+         */
+        private void evictOverflow() {
+            while (entries.size() > maximumSize && !completed.isEmpty()) {
+                CompletedKey head = completed.pollFirst();
+                if (entries.remove(head.key, head.entry)) {
+                    evictionCounter.increment();
+                }
+            }
+        }
+    }
+
+    private record CompletedKey(String key, Entry entry) {
+    }
+}
@@ -0,0 +1,20 @@
+package io.hhplus.tdd.point;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Idempotency-Key 중복 요청 처리 설정
+ * - enabled : Idempotency-Key 헤더가 있는 충전/사용 요청의 결과를 보관하여 재시도에 그대로 반환할지 여부
+ * - maximumSize : 보관할 최대 키 수 (초과 시 오래된 키부터 방출)
+ * - ttl : 처리가 끝난 뒤 결과를 보관하는 시간
+ */
+@ConfigurationProperties(prefix = "point.idempotency")
+public record IdempotencyProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("100000") int maximumSize,
+        @DefaultValue("10m") Duration ttl
+) {
+}
@@ -0,0 +1,222 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.UserPointTable;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 낙관적 잔액 변경 (point.balance-update.mode=OPTIMISTIC)
+ *
+ * - 유저별 최신 잔액을 버전이 붙은 불변 객체로 두고, 읽기/계산 후 compare-and-set 으로 교체한다. 충돌하면 다시 읽어 재시도한다.
+ * - 교체에 성공한 시점이 커밋이다. 조회는 최신 버전을 읽기만 하므로 대기하지 않는다.
+ * - 테이블 기록은 유저별로 한 스레드(flusher)만 수행한다. flusher 는 마지막 기록 이후 커밋된 버전의 내역을
+ *   커밋 순서대로 한 번에 기록하고 최신 잔액만 한 번 기록한다. 나머지 요청은 자기 버전이 기록될 때까지 기다린다.
+ *
+ * 유저 락 모드의 잔액 캐시는 사용하지 않는다. (버전 셀이 캐시 역할을 한다)
+ * 셀은 apply 동안 참조 카운트로 잡아 두고, 처리가 끝난 셀은 maximumCells 이하일 때만 남긴다. 참조가 0 이면 모든 버전이 기록된
+ * 상태이므로 지워도 다음 요청이 테이블에서 최신 잔액을 읽는다. 조회는 셀을 만들지 않는다.
+ */
+@Component
+public class OptimisticBalanceUpdater {
+
+    private final UserPointTable userPointTable;
+    private final PointHistoryPipeline pointHistoryPipeline;
+    private final PointMetrics pointMetrics;
+    private final boolean enabled;
+    private final int maximumCells;
+
+    private final Map<Long, BalanceCell> cells = new ConcurrentHashMap<>();
+
+    public OptimisticBalanceUpdater(UserPointTable userPointTable, PointHistoryPipeline pointHistoryPipeline,
+                                    PointMetrics pointMetrics, BalanceUpdateProperties properties) {
+        this.userPointTable = userPointTable;
+        this.pointHistoryPipeline = pointHistoryPipeline;
+        this.pointMetrics = pointMetrics;
+        this.enabled = properties.mode() == BalanceUpdateProperties.Mode.OPTIMISTIC;
+        this.maximumCells = properties.maximumCells();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 잔액 조회 - 셀이 없으면 기록되지 않은 버전도 없으므로 테이블 값을 그대로 반환한다.
+     */
+    public UserPoint get(long userId) {
+        BalanceCell cell = cells.get(userId);
+        if (cell != null) {
+            return cell.current.get().userPoint;
+        }
+
+        long startNanos = System.nanoTime();
+        UserPoint loaded = userPointTable.selectById(userId);
+        pointMetrics.record(PointMetrics.Phase.READ, System.nanoTime() - startNanos);
+        return loaded;
+    }
+
+    /**
+     * 한 유저의 요청을 순서대로 적용해 한 번에 커밋하고, 테이블에 기록된 뒤 요청별 결과를 반환한다.
+     * 검증에 실패한 요청은 해당 요청만 실패 처리한다.
+     */
+    public List<PointCommandResult> apply(long userId, List<PointCommand> commands) {
+        BalanceCell cell = retain(userId);
+        try {
+            return apply(userId, cell, commands);
+        } finally {
+            release(userId);
+        }
+    }
+
+    int size() {
+        return cells.size();
+    }
+
+    private List<PointCommandResult> apply(long userId, BalanceCell cell, List<PointCommand> commands) {
+        while (true) {
+            Version current = cell.current.get();
+            UserPoint running = current.userPoint;
+            long[] balances = new long[commands.size()];
+            RuntimeException[] errors = new RuntimeException[commands.size()];
+            List<PointHistory> histories = new ArrayList<>(commands.size());
+            long updateMillis = System.currentTimeMillis();
+
+            for (int i = 0; i < commands.size(); i++) {
+                PointCommand command = commands.get(i);
+                try {
+                    running = command.applyTo(running);
+                    balances[i] = running.point();
+                    histories.add(command.toHistory(updateMillis));
+                } catch (IllegalArgumentException e) {
+                    errors[i] = e;
+                }
+            }
+
+            if (!histories.isEmpty()) {
+                Version next = new Version(new UserPoint(userId, running.point(), updateMillis),
+                        current.number + 1, histories, current);
+                if (!cell.current.compareAndSet(current, next)) {
+                    pointMetrics.recordConflict();
+                    continue;
+                }
+                awaitPersisted(userId, cell, next.number);
+            }
+
+            List<PointCommandResult> results = new ArrayList<>(commands.size());
+            for (int i = 0; i < commands.size(); i++) {
+                results.add(errors[i] != null
+                        ? PointCommandResult.failure(errors[i])
+                        : PointCommandResult.success(new UserPoint(userId, balances[i], updateMillis)));
+            }
+            return results;
+        }
+    }
+
+    /**
+     * version 까지 테이블에 기록될 때까지 기다린다. 먼저 flush 락을 잡은 스레드가 그때까지의 커밋을 모두 기록한다.
+     */
+    private void awaitPersisted(long userId, BalanceCell cell, long version) {
+        if (cell.persistedVersion >= version) {
+            return;
+        }
+
+        cell.flushLock.lock();
+        try {
+            if (cell.persistedVersion >= version) {
+                return;
+            }
+
+            Version latest = cell.current.get();
+            Deque<List<PointHistory>> unpersisted = new ArrayDeque<>();
+            for (Version each = latest; each != null && each.number > cell.persistedVersion; each = each.previous) {
+                unpersisted.push(each.histories);
+            }
+            List<PointHistory> histories = new ArrayList<>();
+            unpersisted.forEach(histories::addAll);
+
+            long appendStartNanos = System.nanoTime();
+            pointHistoryPipeline.appendAll(histories);
+            pointMetrics.record(PointMetrics.Phase.HISTORY_APPEND, System.nanoTime() - appendStartNanos);
+
+            long writeStartNanos = System.nanoTime();
+            userPointTable.insertOrUpdate(userId, latest.userPoint.point());
+            pointMetrics.record(PointMetrics.Phase.WRITE, System.nanoTime() - writeStartNanos);
+
+            // 기록이 끝난 버전은 더 이상 따라갈 필요가 없다.
+            latest.previous = null;
+            cell.persistedVersion = latest.number;
+        } finally {
+            cell.flushLock.unlock();
+        }
+    }
+
+    /**
+     * 셀을 참조하고 반환한다. 셀이 없으면 테이블에서 읽어 만든다.
+     * 로드는 맵의 compute 밖에서 하고, 그 사이 다른 요청이 먼저 셀을 등록했으면 그 셀을 쓴다.
+     */
+    private BalanceCell retain(long userId) {
+        BalanceCell retained = cells.computeIfPresent(userId, (id, cell) -> cell.retain());
+        if (retained != null) {
+            return retained;
+        }
+
+        long startNanos = System.nanoTime();
+        UserPoint loaded = userPointTable.selectById(userId);
+        pointMetrics.record(PointMetrics.Phase.READ, System.nanoTime() - startNanos);
+
+        return cells.compute(userId, (id, cell) -> cell == null ? new BalanceCell(loaded) : cell.retain());
+    }
+
+    /**
+     * 참조를 놓는다. 아무도 참조하지 않는 셀은 셀 수가 maximumCells 를 넘으면 지운다.
+     */
+    private void release(long userId) {
+        cells.computeIfPresent(userId, (id, cell) -> cell.release() == 0 && cells.size() > maximumCells ? null : cell);
+    }
+
+    private static final class BalanceCell {
+        private final AtomicReference<Version> current;
+        private final ReentrantLock flushLock = new ReentrantLock();
+        private volatile long persistedVersion = 0L;
+        // 맵의 compute 안에서만 바뀐다.
+        private int references = 1;
+
+        BalanceCell(UserPoint loaded) {
+            this.current = new AtomicReference<>(new Version(loaded, 0L, List.of(), null));
+        }
+
+        BalanceCell retain() {
+            references++;
+            return this;
+        }
+
+        int release() {
+            return --references;
+        }
+    }
+
+    /**
+     * 커밋된 잔액 한 버전 - previous 는 아직 테이블에 기록되지 않은 이전 버전을 따라가기 위한 연결이다.
+     */
+    private static final class Version {
+        private final UserPoint userPoint;
+        private final long number;
+        private final List<PointHistory> histories;
+        private volatile Version previous;
+
+        Version(UserPoint userPoint, long number, List<PointHistory> histories, Version previous) {
+            this.userPoint = userPoint;
+            this.number = number;
+            this.histories = histories;
+            this.previous = previous;
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.common.PointErrorMessages;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 요청 수락 제어 (point.admission.enabled=true)
+ *
+ * 요청이 유저 락에 쌓이기 전에 아래 순서로 검사하고, 넘치면 기다리지 않고 바로 PointAdmissionException(429)으로 거절한다.
+ * 1. 유저별 요청 한도 (token bucket)
+ * 2. 유저별 대기 한도 - 한 유저에 대해 처리 중이거나 유저 락을 기다리는 요청 수
+ * 3. 전체 동시 처리 한도 - 처리 시간에 맞춰 늘고 준다.
+ *
+ * 유저별 요청 한도를 통과한 요청이 뒤의 대기/전체 한도에서 거절되면 요청 한도는 되돌린다. (처리되지 않은 요청이 한도를 쓰지 않도록)
+ *
+ * 유저 id 가 없는 요청(일괄 처리 등)은 전체 한도만 적용하고, 일괄 처리는 PointService 에서 유저별 묶음마다 admitUser 로
+ * 유저별 한도를 다시 검사한다.
+ */
+@Component
+@ConditionalOnProperty(prefix = "point.admission", name = "enabled", havingValue = "true")
+public class PointAdmissionControl {
+
+    private final UserRateLimiter userRateLimiter;
+    private final AdaptiveConcurrencyLimit concurrencyLimit;
+
+    private final Counter rateLimitedCounter;
+    private final Counter queueFullCounter;
+    private final Counter overloadedCounter;
+
+    public PointAdmissionControl(AdmissionProperties properties, MeterRegistry meterRegistry) {
+        this.userRateLimiter = new UserRateLimiter(properties.slots(), properties.permitsPerSecond(),
+                properties.burst(), properties.maxQueuedPerUser());
+        this.concurrencyLimit = new AdaptiveConcurrencyLimit(properties.minLimit(), properties.initialLimit(),
+                properties.maxLimit(), properties.targetLatency().toNanos(), properties.backoffRatio());
+
+        this.rateLimitedCounter = rejectedCounter(meterRegistry, "rate");
+        this.queueFullCounter = rejectedCounter(meterRegistry, "queue");
+        this.overloadedCounter = rejectedCounter(meterRegistry, "overload");
+        Gauge.builder("point.admission.limit", concurrencyLimit, AdaptiveConcurrencyLimit::limit)
+                .register(meterRegistry);
+        Gauge.builder("point.admission.in-flight", concurrencyLimit, AdaptiveConcurrencyLimit::inFlight)
+                .register(meterRegistry);
+    }
+
+    /**
+     * 요청을 수락하고 처리 권한을 반환한다. 처리가 끝나면 반드시 Permit.release 를 호출해야 한다.
+     * userId 가 null 이면 전체 한도만 검사한다.
+     */
+    public Permit admit(Long userId) {
+        if (userId != null) {
+            enterUser(userId);
+        }
+
+        if (!concurrencyLimit.tryAcquire()) {
+            if (userId != null) {
+                userRateLimiter.exit(userId);
+                userRateLimiter.refund(userId);
+            }
+            overloadedCounter.increment();
+            throw new PointAdmissionException(PointErrorMessages.SERVER_OVERLOADED, 1L);
+        }
+        return new Permit(userId, System.nanoTime(), true);
+    }
+
+    /**
+     * 일괄 처리의 유저별 묶음 수락 - 일괄 요청 자체가 이미 전체 한도로 수락되었으므로 유저별 요청 한도와 대기 한도만 검사한다.
+     * 반환한 Permit 의 release 는 유저별 대기 수만 되돌린다.
+     */
+    public Permit admitUser(long userId) {
+        enterUser(userId);
+        return new Permit(userId, System.nanoTime(), false);
+    }
+
+    private void enterUser(long userId) {
+        long waitNanos = userRateLimiter.tryAcquire(userId);
+        if (waitNanos > 0) {
+            rateLimitedCounter.increment();
+            throw new PointAdmissionException(PointErrorMessages.RATE_LIMITED, toRetryAfterSeconds(waitNanos), userId);
+        }
+        if (!userRateLimiter.enter(userId)) {
+            userRateLimiter.refund(userId);
+            queueFullCounter.increment();
+            throw new PointAdmissionException(PointErrorMessages.USER_QUEUE_FULL, 1L, userId);
+        }
+    }
+
+    double currentLimit() {
+        return concurrencyLimit.limit();
+    }
+
+    private static Counter rejectedCounter(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("point.admission.rejected")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    private static long toRetryAfterSeconds(long waitNanos) {
+        return Math.max(1L, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+    }
+
+    /**
+     * 수락된 요청 하나 - release 는 한 번만 반영된다.
+     */
+    public final class Permit {
+        private final Long userId;
+        private final long admittedNanos;
+        private final boolean holdsConcurrency;
+        private boolean released;
+
+        private Permit(Long userId, long admittedNanos, boolean holdsConcurrency) {
+            this.userId = userId;
+            this.admittedNanos = admittedNanos;
+            this.holdsConcurrency = holdsConcurrency;
+        }
+
+        public synchronized void release() {
+            if (released) {
+                return;
+            }
+            released = true;
+            if (userId != null) {
+                userRateLimiter.exit(userId);
+            }
+            if (holdsConcurrency) {
+                concurrencyLimit.release(System.nanoTime() - admittedNanos);
+            }
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.common.PointErrorMessages;
+
+/**
+ * 요청 수락 제어에서 거절된 요청 (429)
+ * retryAfterSeconds 는 다시 시도해도 되는 시점까지 남은 시간(초, 올림)이다.
+ */
+public class PointAdmissionException extends RuntimeException {
+
+    private final PointErrorMessages reason;
+    private final long retryAfterSeconds;
+
+    public PointAdmissionException(PointErrorMessages reason, long retryAfterSeconds, Object... args) {
+        super(args.length == 0 ? reason.message() : reason.message(args));
+        this.reason = reason;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public PointErrorMessages reason() {
+        return reason;
+    }
+
+    public long retryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
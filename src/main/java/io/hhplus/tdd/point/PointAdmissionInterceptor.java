@@ -0,0 +1,71 @@
+package io.hhplus.tdd.point;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * /point/**, /reactive/point/** 요청을 컨트롤러에 넘기기 전에 PointAdmissionControl 로 수락 여부를 정한다.
+ * 거절(PointAdmissionException)은 ApiControllerAdvice 에서 429 로 응답한다.
+ *
+ * - 비동기 응답(Mono, StreamingResponseBody)은 결과를 쓰는 재디스패치에서 preHandle 이 다시 불리므로,
+ *   처음 수락한 Permit 을 요청 속성에 두고 재디스패치는 그대로 통과시킨 뒤 afterCompletion 에서 한 번 반환한다.
+ * - 오래 열려 있는 내역 스트림/내보내기는 처리 시간이 한도 조절을 왜곡하므로 제외한다.
+ */
+@Component
+@ConditionalOnProperty(prefix = "point.admission", name = "enabled", havingValue = "true")
+public class PointAdmissionInterceptor implements AsyncHandlerInterceptor, WebMvcConfigurer {
+
+    private static final Pattern USER_PATH = Pattern.compile("^/(?:reactive/)?point/(-?\\d+)(?:/.*)?$");
+    private static final String PERMIT_ATTRIBUTE = PointAdmissionInterceptor.class.getName() + ".permit";
+
+    private final PointAdmissionControl admissionControl;
+
+    public PointAdmissionInterceptor(PointAdmissionControl admissionControl) {
+        this.admissionControl = admissionControl;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(this)
+                .addPathPatterns("/point/**", "/reactive/point/**")
+                .excludePathPatterns("/point/histories/export", "/reactive/point/*/histories");
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (request.getAttribute(PERMIT_ATTRIBUTE) != null) {
+            return true;
+        }
+        PointAdmissionControl.Permit permit = admissionControl.admit(userIdOf(request));
+        request.setAttribute(PERMIT_ATTRIBUTE, permit);
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (request.getAttribute(PERMIT_ATTRIBUTE) instanceof PointAdmissionControl.Permit permit) {
+            request.removeAttribute(PERMIT_ATTRIBUTE);
+            permit.release();
+        }
+    }
+
+    private static Long userIdOf(HttpServletRequest request) {
+        Matcher matcher = USER_PATH.matcher(request.getRequestURI());
+        if (!matcher.matches()) {
+            return null;
+        }
+        try {
+            return Long.parseLong(matcher.group(1));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
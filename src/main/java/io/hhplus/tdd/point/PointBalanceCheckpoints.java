@@ -0,0 +1,180 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.PointHistoryTable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 유저별 잔액 체크포인트 - 특정 시점(updateMillis 기준)의 잔액 조회
+ *
+ * - 유저 내역 interval 건마다 (마지막 내역 id, updateMillis, 잔액)을 남긴다.
+ * - 조회 시 시점 이전의 마지막 체크포인트를 이진 탐색으로 찾고, 그 뒤의 내역(최대 interval 건)만 재생한다.
+ * - 같은 유저의 내역은 유저 단위로 직렬화되어 기록되므로 id 순서대로 updateMillis 가 증가한다고 본다.
+ * - 시작 시 내역 테이블에서 유저별로 병렬로 다시 만든 뒤, PointHistoryPipeline 에 기록되는 내역으로 갱신한다.
+ */
+@Component
+public class PointBalanceCheckpoints {
+
+    private static final Logger log = LoggerFactory.getLogger(PointBalanceCheckpoints.class);
+
+    private final PointHistoryPipeline pointHistoryPipeline;
+    private final int interval;
+    private final Map<Long, UserCheckpoints> checkpoints = new ConcurrentHashMap<>();
+
+    public PointBalanceCheckpoints(PointHistoryTable pointHistoryTable, PointHistoryPipeline pointHistoryPipeline,
+                                   BalanceCheckpointProperties properties) {
+        this.pointHistoryPipeline = pointHistoryPipeline;
+        this.interval = Math.max(1, properties.interval());
+        rebuild(pointHistoryTable);
+        pointHistoryPipeline.addAppendListener(this::record);
+    }
+
+    /**
+     * atMillis 시점(포함)까지의 내역을 반영한 잔액. updateMillis 는 마지막으로 반영한 내역의 시각(없으면 0)이다.
+     */
+    public UserPoint balanceAt(long userId, long atMillis) {
+        UserCheckpoints user = checkpoints.get(userId);
+        if (user == null) {
+            return new UserPoint(userId, 0L, 0L);
+        }
+
+        Checkpoint base;
+        long upperId;
+        synchronized (user) {
+            if (user.lastMillis <= atMillis) {
+                return new UserPoint(userId, user.balance, user.lastMillis);
+            }
+            int index = user.lastAtOrBefore(atMillis);
+            base = index < 0 ? Checkpoint.START : user.checkpointAt(index);
+            upperId = index + 1 < user.size ? user.lastIds[index + 1] + 1 : Long.MAX_VALUE;
+        }
+
+        long balance = base.balance();
+        long lastMillis = base.updateMillis();
+        for (PointHistory history : historiesBetween(userId, base.lastId(), upperId)) {
+            if (history.updateMillis() > atMillis) {
+                continue;
+            }
+            balance += signedAmount(history);
+            lastMillis = Math.max(lastMillis, history.updateMillis());
+        }
+        return new UserPoint(userId, balance, lastMillis);
+    }
+
+    public void clear() {
+        checkpoints.clear();
+    }
+
+    /**
+     * afterId < id < beforeId 인 내역 (최신순)
+     */
+    private List<PointHistory> historiesBetween(long userId, long afterId, long beforeId) {
+        List<PointHistory> histories = new ArrayList<>(interval);
+        long cursor = beforeId;
+        while (true) {
+            List<PointHistory> page = pointHistoryPipeline.selectPageByUserId(userId, cursor, interval, PointHistoryCondition.all());
+            for (PointHistory history : page) {
+                if (history.id() <= afterId) {
+                    return histories;
+                }
+                histories.add(history);
+            }
+            if (page.size() < interval) {
+                return histories;
+            }
+            cursor = page.get(page.size() - 1).id();
+        }
+    }
+
+    private void record(List<PointHistory> histories) {
+        for (PointHistory history : histories) {
+            UserCheckpoints user = checkpoints.computeIfAbsent(history.userId(), id -> new UserCheckpoints());
+            synchronized (user) {
+                user.add(history, interval);
+            }
+        }
+    }
+
+    private void rebuild(PointHistoryTable pointHistoryTable) {
+        Set<Long> userIds = pointHistoryTable.selectUserIds();
+        userIds.parallelStream().forEach(userId -> {
+            UserCheckpoints user = new UserCheckpoints();
+            for (PointHistory history : pointHistoryTable.selectAllByUserId(userId)) {
+                user.add(history, interval);
+            }
+            checkpoints.put(userId, user);
+        });
+        if (!userIds.isEmpty()) {
+            log.info("잔액 체크포인트 재구성 완료 (유저: {}명)", userIds.size());
+        }
+    }
+
+    private static long signedAmount(PointHistory history) {
+        return history.type() == TransactionType.CHARGE ? history.amount() : -history.amount();
+    }
+
+    private record Checkpoint(long lastId, long updateMillis, long balance) {
+        static final Checkpoint START = new Checkpoint(0L, 0L, 0L);
+    }
+
+    /**
+     * 유저 한 명의 체크포인트 - 병렬 배열 [lastId, updateMillis, balance] 과 현재까지의 누적 값
+     */
+    private static final class UserCheckpoints {
+        private long[] lastIds = new long[4];
+        private long[] millis = new long[4];
+        private long[] balances = new long[4];
+        private int size;
+
+        private long count;
+        private long balance;
+        private long lastMillis;
+
+        void add(PointHistory history, int interval) {
+            count++;
+            balance += signedAmount(history);
+            lastMillis = Math.max(lastMillis, history.updateMillis());
+            if (count % interval != 0) {
+                return;
+            }
+            if (size == lastIds.length) {
+                lastIds = Arrays.copyOf(lastIds, size << 1);
+                millis = Arrays.copyOf(millis, size << 1);
+                balances = Arrays.copyOf(balances, size << 1);
+            }
+            lastIds[size] = history.id();
+            millis[size] = lastMillis;
+            balances[size] = balance;
+            size++;
+        }
+
+        /**
+         * updateMillis <= atMillis 인 마지막 체크포인트 위치 (없으면 -1)
+         */
+        int lastAtOrBefore(long atMillis) {
+            int low = 0;
+            int high = size;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (millis[mid] <= atMillis) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low - 1;
+        }
+
+        Checkpoint checkpointAt(int index) {
+            return new Checkpoint(lastIds[index], millis[index], balances[index]);
+        }
+    }
+}
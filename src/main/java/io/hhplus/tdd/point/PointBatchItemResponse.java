@@ -0,0 +1,23 @@
+package io.hhplus.tdd.point;
+
+/**
+ * 일괄 처리 항목별 응답 (성공 시 userPoint, 실패 시 error)
+ */
+public record PointBatchItemResponse(
+        long userId,
+        TransactionType type,
+        long amount,
+        UserPoint userPoint,
+        String error
+) {
+
+    public static PointBatchItemResponse of(PointCommand command, PointCommandResult result) {
+        return new PointBatchItemResponse(
+                command.userId(),
+                command.type(),
+                command.amount(),
+                result.userPoint(),
+                result.isSuccess() ? null : result.error().getMessage()
+        );
+    }
+}
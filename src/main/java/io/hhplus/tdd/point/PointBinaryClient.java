@@ -0,0 +1,130 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.point.PointBinaryProtocol.Operation;
+import io.hhplus.tdd.point.PointBinaryProtocol.Request;
+import io.hhplus.tdd.point.PointBinaryProtocol.ResponseHeader;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.Socket;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 바이너리 프로토콜 클라이언트 (연결 하나를 유지하며 요청을 pipelining 한다)
+ *
+ * - 요청은 응답을 기다리지 않고 바로 보내며, 결과는 CompletableFuture 로 받는다.
+ * - 응답은 읽기 스레드(가상 스레드) 하나가 requestId 로 짝을 맞춰 완료한다. OK 가 아니면 PointBinaryException 으로 완료한다.
+ * - 여러 스레드에서 함께 사용할 수 있다.
+ */
+public class PointBinaryClient implements AutoCloseable {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Socket socket;
+    private final DataOutputStream out;
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final AtomicInteger nextRequestId = new AtomicInteger();
+    private final Map<Integer, Pending> pending = new ConcurrentHashMap<>();
+    private final Thread reader;
+
+    public PointBinaryClient(String host, int port) {
+        try {
+            this.socket = new Socket(host, port);
+            socket.setTcpNoDelay(true);
+            this.out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream(), BUFFER_SIZE));
+            DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream(), BUFFER_SIZE));
+            this.reader = Thread.ofVirtual().name("point-binary-client").start(() -> readLoop(in));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public CompletableFuture<UserPoint> getPoint(long userId) {
+        return send(Operation.GET_POINT, userId, 0L);
+    }
+
+    public CompletableFuture<UserPoint> charge(long userId, long amount) {
+        return send(Operation.CHARGE, userId, amount);
+    }
+
+    public CompletableFuture<UserPoint> use(long userId, long amount) {
+        return send(Operation.USE, userId, amount);
+    }
+
+    public CompletableFuture<List<PointHistory>> histories(long userId) {
+        return send(Operation.HISTORIES, userId, 0L);
+    }
+
+    /**
+     * 연결을 닫는다. 아직 응답을 받지 못한 요청은 예외로 완료된다.
+     */
+    @Override
+    public void close() {
+        try {
+            socket.close();
+        } catch (IOException ignored) {
+
+        }
+        try {
+            reader.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private <T> CompletableFuture<T> send(Operation operation, long userId, long amount) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        int requestId = nextRequestId.incrementAndGet();
+        pending.put(requestId, new Pending(operation, future));
+
+        writeLock.lock();
+        try {
+            PointBinaryProtocol.writeRequest(out, new Request(requestId, operation, userId, amount));
+            out.flush();
+        } catch (IOException e) {
+            pending.remove(requestId);
+            future.completeExceptionally(new UncheckedIOException(e));
+        } finally {
+            writeLock.unlock();
+        }
+        return future;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void readLoop(DataInputStream in) {
+        try {
+            while (true) {
+                ResponseHeader header = PointBinaryProtocol.readResponseHeader(in);
+                Pending request = pending.remove(header.requestId());
+                if (request == null) {
+                    throw new IOException("알 수 없는 requestId: " + header.requestId());
+                }
+
+                CompletableFuture<Object> future = (CompletableFuture<Object>) request.future;
+                if (header.status() != PointBinaryProtocol.Status.OK) {
+                    future.completeExceptionally(new PointBinaryException(header.status(), PointBinaryProtocol.readError(in)));
+                } else if (request.operation == Operation.HISTORIES) {
+                    future.complete(PointBinaryProtocol.readHistories(in));
+                } else {
+                    future.complete(PointBinaryProtocol.readUserPoint(in));
+                }
+            }
+        } catch (IOException e) {
+            UncheckedIOException closed = new UncheckedIOException(e);
+            pending.values().forEach(request -> request.future.completeExceptionally(closed));
+            pending.clear();
+        }
+    }
+
+    private record Pending(Operation operation, CompletableFuture<?> future) {
+    }
+}
@@ -0,0 +1,18 @@
+package io.hhplus.tdd.point;
+
+/**
+ * 바이너리 프로토콜 서버가 OK 가 아닌 상태로 응답한 요청 (서버의 오류 메시지를 그대로 담는다)
+ */
+public class PointBinaryException extends RuntimeException {
+
+    private final PointBinaryProtocol.Status status;
+
+    public PointBinaryException(PointBinaryProtocol.Status status, String message) {
+        super(message);
+        this.status = status;
+    }
+
+    public PointBinaryProtocol.Status status() {
+        return status;
+    }
+}
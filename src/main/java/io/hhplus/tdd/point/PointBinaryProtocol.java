@@ -0,0 +1,155 @@
+package io.hhplus.tdd.point;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 포인트 바이너리 프로토콜 (길이 접두 프레임, big-endian)
+ *
+ * 프레임 : [본문 길이(int)][본문]
+ * 요청 본문 (21 byte) : [requestId(int)][operation(byte)][userId(long)][amount(long)] - 조회는 amount 를 0 으로 보낸다.
+ * 응답 본문 : [requestId(int)][status(byte)][payload]
+ * - OK, UserPoint (24 byte) : [id(long)][point(long)][updateMillis(long)]
+ * - OK, 내역 목록 : [건수(int)] + 건당 33 byte [id(long)][userId(long)][amount(long)][type ordinal(byte)][updateMillis(long)]
+ * - 그 외 status : [메시지(modified UTF-8, DataOutput.writeUTF)]
+ *
+ * 한 연결에서 응답을 기다리지 않고 요청을 이어 보낼 수 있다(pipelining). 응답은 처리 순서대로 나가므로 requestId 로 짝을 맞춘다.
+ */
+public final class PointBinaryProtocol {
+
+    public static final int REQUEST_LENGTH = Integer.BYTES + Byte.BYTES + Long.BYTES * 2;
+    public static final int USER_POINT_LENGTH = Long.BYTES * 3;
+    public static final int HISTORY_LENGTH = Long.BYTES * 4 + Byte.BYTES;
+
+    private static final Operation[] OPERATIONS = Operation.values();
+    private static final Status[] STATUSES = Status.values();
+    private static final TransactionType[] TYPES = TransactionType.values();
+
+    private PointBinaryProtocol() {
+        // 인스턴스화 방지
+    }
+
+    public enum Operation {
+        GET_POINT, CHARGE, USE, HISTORIES
+    }
+
+    /**
+     * 응답 상태 - REST 응답 코드와 같은 기준으로 나눈다.
+     * BAD_REQUEST(400), UNAVAILABLE(503), NOT_OWNER(클러스터 모드에서 담당 노드가 아님, 메시지는 담당 노드 주소), ERROR(500)
+     */
+    public enum Status {
+        OK, BAD_REQUEST, UNAVAILABLE, NOT_OWNER, ERROR
+    }
+
+    public record Request(int requestId, Operation operation, long userId, long amount) {
+    }
+
+    public record ResponseHeader(int requestId, Status status) {
+    }
+
+    public static void writeRequest(DataOutputStream out, Request request) throws IOException {
+        out.writeInt(REQUEST_LENGTH);
+        out.writeInt(request.requestId());
+        out.writeByte(request.operation().ordinal());
+        out.writeLong(request.userId());
+        out.writeLong(request.amount());
+    }
+
+    /**
+     * 요청 프레임 하나를 읽는다. 길이나 operation 이 맞지 않으면 스트림을 더 읽을 수 없으므로 IOException 으로 끊는다.
+     */
+    public static Request readRequest(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length != REQUEST_LENGTH) {
+            throw new IOException("잘못된 요청 길이: " + length);
+        }
+        int requestId = in.readInt();
+        int operation = in.readUnsignedByte();
+        if (operation >= OPERATIONS.length) {
+            throw new IOException("알 수 없는 operation: " + operation);
+        }
+        return new Request(requestId, OPERATIONS[operation], in.readLong(), in.readLong());
+    }
+
+    public static void writeUserPoint(DataOutputStream out, int requestId, UserPoint userPoint) throws IOException {
+        out.writeInt(Integer.BYTES + Byte.BYTES + USER_POINT_LENGTH);
+        out.writeInt(requestId);
+        out.writeByte(Status.OK.ordinal());
+        out.writeLong(userPoint.id());
+        out.writeLong(userPoint.point());
+        out.writeLong(userPoint.updateMillis());
+    }
+
+    public static void writeHistories(DataOutputStream out, int requestId, List<PointHistory> histories) throws IOException {
+        out.writeInt(Integer.BYTES + Byte.BYTES + Integer.BYTES + HISTORY_LENGTH * histories.size());
+        out.writeInt(requestId);
+        out.writeByte(Status.OK.ordinal());
+        out.writeInt(histories.size());
+        for (PointHistory history : histories) {
+            out.writeLong(history.id());
+            out.writeLong(history.userId());
+            out.writeLong(history.amount());
+            out.writeByte(history.type().ordinal());
+            out.writeLong(history.updateMillis());
+        }
+    }
+
+    /**
+     * 오류 응답 - 메시지 길이는 writeUTF 가 붙이는 2 byte 와 인코딩된 바이트 수로 계산한다.
+     */
+    public static void writeError(DataOutputStream out, int requestId, Status status, String message) throws IOException {
+        String text = message == null ? "" : message;
+        out.writeInt(Integer.BYTES + Byte.BYTES + Short.BYTES + utfLength(text));
+        out.writeInt(requestId);
+        out.writeByte(status.ordinal());
+        out.writeUTF(text);
+    }
+
+    /**
+     * 응답 프레임의 머리(길이, requestId, status)를 읽는다. 본문은 operation 에 맞는 read* 로 이어서 읽는다.
+     */
+    public static ResponseHeader readResponseHeader(DataInputStream in) throws IOException {
+        in.readInt();
+        int requestId = in.readInt();
+        int status = in.readUnsignedByte();
+        if (status >= STATUSES.length) {
+            throw new IOException("알 수 없는 status: " + status);
+        }
+        return new ResponseHeader(requestId, STATUSES[status]);
+    }
+
+    public static UserPoint readUserPoint(DataInputStream in) throws IOException {
+        return new UserPoint(in.readLong(), in.readLong(), in.readLong());
+    }
+
+    public static List<PointHistory> readHistories(DataInputStream in) throws IOException {
+        int count = in.readInt();
+        List<PointHistory> histories = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            histories.add(new PointHistory(in.readLong(), in.readLong(), in.readLong(), TYPES[in.readUnsignedByte()], in.readLong()));
+        }
+        return histories;
+    }
+
+    public static String readError(DataInputStream in) throws IOException {
+        return in.readUTF();
+    }
+
+    private static int utfLength(String text) {
+        int length = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c >= 0x0001 && c <= 0x007F) {
+                length += 1;
+            } else if (c <= 0x07FF) {
+                length += 2;
+            } else {
+                length += 3;
+            }
+        }
+        return length;
+    }
+}
@@ -0,0 +1,248 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.point.PointBinaryProtocol.Request;
+import io.hhplus.tdd.point.PointBinaryProtocol.Status;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+
+/**
+ * 바이너리 프로토콜 서버 (point.binary.enabled=true)
+ *
+ * - REST 와 같은 PointService 를 호출하고, 요청/응답은 PointBinaryProtocol 의 고정 길이 레이아웃으로 주고받는다.
+ * - 연결마다 읽기 스레드 하나가 요청을 읽어 요청별 가상 스레드에 넘기고, 쓰기 스레드 하나가 완료된 응답을
+ *   모아 쓴 뒤 한 번만 flush 한다. 연결당 처리 중인 요청이 maxInFlight 에 닿으면 읽기를 멈춘다.
+ * - pipelining 된 요청은 연결 안에서 유저별로 받은 순서대로 처리하고(UserSerialQueue), 다른 유저의 요청은 동시에 처리한다.
+ *   (CHARGE 뒤에 보낸 USE 가 먼저 처리되지 않는다. 응답은 처리가 끝난 순서로 나가며 requestId 로 짝을 맞춘다)
+ * - 수락 제어(point.admission.enabled=true)는 REST 와 같이 요청마다 PointAdmissionControl.admit 으로 적용하며,
+ *   대기 한도에는 같은 연결에서 앞 요청을 기다리는 요청도 포함된다. 거절된 요청은 UNAVAILABLE 로 응답한다.
+ * - 멱등성 키(Idempotency-Key)는 지원하지 않는다. 응답을 받지 못한 CHARGE/USE 를 다시 보내면 두 번 반영될 수 있다.
+ * - 클러스터 모드에서 담당이 아닌 유저의 요청은 전달하지 않고 NOT_OWNER 와 담당 노드 주소를 돌려준다.
+ */
+@Component
+@ConditionalOnProperty(prefix = "point.binary", name = "enabled", havingValue = "true")
+public class PointBinaryServer {
+
+    private static final Logger log = LoggerFactory.getLogger(PointBinaryServer.class);
+    private static final byte[] END_OF_STREAM = new byte[0];
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final PointService pointService;
+    private final PointClusterRouter clusterRouter;
+    private final PointAdmissionControl admissionControl;
+    private final int maxInFlight;
+
+    private final ServerSocket serverSocket;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Set<Socket> connections = ConcurrentHashMap.newKeySet();
+
+    public PointBinaryServer(PointService pointService, PointClusterRouter clusterRouter,
+                             Optional<PointAdmissionControl> admissionControl, BinaryProtocolProperties properties) {
+        this.pointService = pointService;
+        this.clusterRouter = clusterRouter;
+        this.admissionControl = admissionControl.orElse(null);
+        this.maxInFlight = properties.maxInFlight();
+        try {
+            this.serverSocket = new ServerSocket(properties.port());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        executor.submit(this::acceptLoop);
+        log.info("포인트 바이너리 프로토콜 서버 시작 (port: {})", port());
+    }
+
+    /**
+     * 실제로 열린 포트 (설정 포트가 0 이면 임의로 정해진 포트)
+     */
+    public int port() {
+        return serverSocket.getLocalPort();
+    }
+
+    @PreDestroy
+    public void close() {
+        try {
+            serverSocket.close();
+        } catch (IOException ignored) {
+
+        }
+        connections.forEach(this::closeQuietly);
+        executor.shutdownNow();
+    }
+
+    private void acceptLoop() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                socket.setTcpNoDelay(true);
+                connections.add(socket);
+                executor.submit(() -> serve(socket));
+            } catch (IOException e) {
+                if (!serverSocket.isClosed()) {
+                    log.warn("바이너리 프로토콜 연결 수락 실패", e);
+                }
+            }
+        }
+    }
+
+    /**
+     * 연결이 끊기거나(EOF) 잘못된 프레임을 받을 때까지 요청을 읽는다.
+     * 요청은 읽은 순서대로 수락 여부를 정하고, 같은 유저의 앞 요청이 끝난 뒤 처리한다.
+     * 정상 종료(EOF)면 처리 중인 요청의 응답까지 모두 쓴 뒤 연결을 닫는다.
+     */
+    private void serve(Socket socket) {
+        BlockingQueue<byte[]> responses = new LinkedBlockingQueue<>();
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        UserSerialQueue userQueue = new UserSerialQueue();
+        Future<?> writer = executor.submit(() -> writeLoop(socket, responses));
+
+        try {
+            DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream(), BUFFER_SIZE));
+            while (true) {
+                Request request = PointBinaryProtocol.readRequest(in);
+                PointAdmissionControl.Permit permit;
+                try {
+                    permit = admit(request);
+                } catch (PointAdmissionException e) {
+                    responses.add(errorFrame(request, Status.UNAVAILABLE, e.getMessage()));
+                    continue;
+                }
+                inFlight.acquire();
+                userQueue.execute(request.userId(), () -> responses.add(handle(request)), executor)
+                        .whenComplete((result, e) -> {
+                            if (permit != null) {
+                                permit.release();
+                            }
+                            inFlight.release();
+                        });
+            }
+        } catch (EOFException e) {
+            inFlight.acquireUninterruptibly(maxInFlight);
+            responses.add(END_OF_STREAM);
+            awaitQuietly(writer);
+        } catch (IOException | InterruptedException e) {
+            log.debug("바이너리 프로토콜 연결 종료: {}", e.getMessage());
+            writer.cancel(true);
+        } finally {
+            closeQuietly(socket);
+            connections.remove(socket);
+        }
+    }
+
+    /**
+     * 수락 제어가 켜져 있으면 요청을 수락하고 처리 권한을 반환한다. (꺼져 있으면 null)
+     */
+    private PointAdmissionControl.Permit admit(Request request) {
+        return admissionControl == null ? null : admissionControl.admit(request.userId());
+    }
+
+    /**
+     * 완료된 응답을 대기열에서 꺼낼 수 있는 만큼 모두 쓰고 한 번만 flush 한다.
+     */
+    private void writeLoop(Socket socket, BlockingQueue<byte[]> responses) {
+        try {
+            BufferedOutputStream out = new BufferedOutputStream(socket.getOutputStream(), BUFFER_SIZE);
+            while (true) {
+                byte[] response = responses.take();
+                do {
+                    if (response == END_OF_STREAM) {
+                        out.flush();
+                        return;
+                    }
+                    out.write(response);
+                    response = responses.poll();
+                } while (response != null);
+                out.flush();
+            }
+        } catch (IOException e) {
+            log.debug("바이너리 프로토콜 응답 쓰기 실패: {}", e.getMessage());
+            closeQuietly(socket);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * 요청 하나를 처리해 응답 프레임을 만든다. 예외는 REST(ApiControllerAdvice)와 같은 기준으로 status 를 정한다.
+     */
+    private byte[] handle(Request request) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        DataOutputStream out = new DataOutputStream(bytes);
+        long userId = request.userId();
+        try {
+            if (!clusterRouter.isLocal(userId)) {
+                PointBinaryProtocol.writeError(out, request.requestId(), Status.NOT_OWNER, clusterRouter.ownerOf(userId));
+            } else {
+                int requestId = request.requestId();
+                switch (request.operation()) {
+                    case GET_POINT -> PointBinaryProtocol.writeUserPoint(out, requestId, pointService.getPoint(userId));
+                    case CHARGE -> PointBinaryProtocol.writeUserPoint(out, requestId, pointService.charge(userId, request.amount()));
+                    case USE -> PointBinaryProtocol.writeUserPoint(out, requestId, pointService.use(userId, request.amount()));
+                    case HISTORIES -> PointBinaryProtocol.writeHistories(out, requestId, pointService.getHistories(userId));
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            writeError(bytes, out, request, Status.BAD_REQUEST, e.getMessage());
+        } catch (PointLockTimeoutException | PointForwardingException e) {
+            writeError(bytes, out, request, Status.UNAVAILABLE, e.getMessage());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (RuntimeException e) {
+            log.error("바이너리 프로토콜 요청 처리 실패: {}", request, e);
+            writeError(bytes, out, request, Status.ERROR, "에러가 발생했습니다.");
+        }
+        return bytes.toByteArray();
+    }
+
+    private byte[] errorFrame(Request request, Status status, String message) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        writeError(bytes, new DataOutputStream(bytes), request, status, message);
+        return bytes.toByteArray();
+    }
+
+    private void writeError(ByteArrayOutputStream bytes, DataOutputStream out, Request request, Status status, String message) {
+        bytes.reset();
+        try {
+            PointBinaryProtocol.writeError(out, request.requestId(), status, message);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void awaitQuietly(Future<?> future) {
+        try {
+            future.get();
+        } catch (Exception ignored) {
+
+        }
+    }
+
+    private void closeQuietly(Socket socket) {
+        try {
+            socket.close();
+        } catch (IOException ignored) {
+
+        }
+    }
+}
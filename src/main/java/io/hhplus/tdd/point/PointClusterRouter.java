@@ -0,0 +1,136 @@
+package io.hhplus.tdd.point;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 유저별 담당 노드 결정 및 요청 전달
+ *
+ * - 클러스터 모드에서 유저는 ConsistentHashRing 으로 정해진 한 노드만 처리한다. 같은 유저의 요청은 한 JVM 에 모이므로
+ *   노드 간 전역 락 없이 유저 락만으로 순서가 보장된다.
+ * - 담당이 아닌 노드는 HTTP 로 담당 노드에 요청을 전달한다. 전달한 요청에는 보낸 노드(FORWARDED_HEADER)와
+ *   공유 비밀값(FORWARD_TOKEN_HEADER)을 붙인다. 받은 노드는 보낸 노드가 nodes 에 있고 비밀값이 맞을 때만 전달 요청으로 인정하며,
+ *   다시 전달하지 않는다. (노드 목록이 잠시 어긋나도 요청이 노드 사이를 돌지 않는다)
+ * - 전달받은 요청이라도 이 노드가 담당이 아닌 유저는 처리하지 않고 거절한다. (두 노드가 같은 유저를 동시에 처리하지 않도록)
+ */
+@Component
+public class PointClusterRouter {
+
+    public static final String FORWARDED_HEADER = "X-Point-Forwarded-From";
+    public static final String FORWARD_TOKEN_HEADER = "X-Point-Forward-Token";
+
+    private final ClusterProperties properties;
+    private final ObjectMapper objectMapper;
+    private final ConsistentHashRing ring;
+    private final HttpClient httpClient;
+
+    public PointClusterRouter(ClusterProperties properties, ObjectMapper objectMapper) {
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        if (!properties.enabled()) {
+            this.ring = null;
+            this.httpClient = null;
+            return;
+        }
+
+        if (!properties.nodes().contains(properties.self())) {
+            throw new IllegalStateException("point.cluster.self(" + properties.self() + ") 가 point.cluster.nodes 에 없습니다.");
+        }
+        if (properties.secret().isBlank()) {
+            throw new IllegalStateException("클러스터 모드에서는 point.cluster.secret 이 필요합니다.");
+        }
+        this.ring = new ConsistentHashRing(properties.nodes(), properties.virtualNodes());
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(properties.forwardTimeout())
+                .build();
+    }
+
+    public boolean isEnabled() {
+        return properties.enabled();
+    }
+
+    public String self() {
+        return properties.self();
+    }
+
+    public String ownerOf(long userId) {
+        return ring == null ? properties.self() : ring.ownerOf(userId);
+    }
+
+    public boolean isLocal(long userId) {
+        return ring == null || properties.self().equals(ring.ownerOf(userId));
+    }
+
+    /**
+     * 다른 노드가 보낸 전달 요청인지 확인한다. 보낸 노드가 nodes 에 있고 비밀값이 같아야 한다. (비교 시간이 값에 따라 달라지지 않는다)
+     */
+    public boolean isTrustedForward(String forwardedFrom, String token) {
+        if (ring == null || forwardedFrom == null || token == null || !properties.nodes().contains(forwardedFrom)) {
+            return false;
+        }
+        return MessageDigest.isEqual(token.getBytes(StandardCharsets.UTF_8), properties.secret().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 요청을 그대로 담당 노드에 전달한다. 응답 본문은 스트림으로 받아 호출한 쪽이 흘려보낸다.
+     */
+    public HttpResponse<InputStream> forward(String owner, String method, String pathAndQuery,
+                                             Map<String, String> headers, byte[] body) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(owner + pathAndQuery))
+                .timeout(properties.forwardTimeout())
+                .header(FORWARDED_HEADER, properties.self())
+                .header(FORWARD_TOKEN_HEADER, properties.secret())
+                .method(method, body.length == 0 ? HttpRequest.BodyPublishers.noBody() : HttpRequest.BodyPublishers.ofByteArray(body));
+        headers.forEach(request::header);
+        try {
+            return httpClient.send(request.build(), HttpResponse.BodyHandlers.ofInputStream());
+        } catch (IOException e) {
+            throw new PointForwardingException(owner, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PointForwardingException(owner, e);
+        }
+    }
+
+    /**
+     * 한 유저의 일괄 처리 요청을 담당 노드의 /point/batch 로 전달하고, 항목별 결과를 요청 순서대로 돌려받는다.
+     */
+    public List<PointCommandResult> forwardBatch(long userId, List<PointCommand> commands) {
+        String owner = ownerOf(userId);
+        try {
+            byte[] body = objectMapper.writeValueAsBytes(commands);
+            HttpResponse<InputStream> response = forward(owner, "POST", "/point/batch",
+                    Map.of("Content-Type", MediaType.APPLICATION_JSON_VALUE), body);
+            try (InputStream stream = response.body()) {
+                if (response.statusCode() != 200) {
+                    throw new PointForwardingException(owner, new IOException("HTTP " + response.statusCode()));
+                }
+                List<PointBatchItemResponse> items = objectMapper.readValue(stream, new TypeReference<>() {
+                });
+                List<PointCommandResult> results = new ArrayList<>(items.size());
+                for (PointBatchItemResponse item : items) {
+                    results.add(item.error() == null
+                            ? PointCommandResult.success(item.userPoint())
+                            : PointCommandResult.failure(new RemotePointException(item.error())));
+                }
+                return results;
+            }
+        } catch (IOException e) {
+            throw new PointForwardingException(owner, e);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package io.hhplus.tdd.point;
+
+/**
+ * 포인트 충전/사용 요청 한 건
+ */
+public record PointCommand(
+        long userId,
+        TransactionType type,
+        long amount
+) {
+
+    public static PointCommand charge(long userId, long amount) {
+        return new PointCommand(userId, TransactionType.CHARGE, amount);
+    }
+
+    public static PointCommand use(long userId, long amount) {
+        return new PointCommand(userId, TransactionType.USE, amount);
+    }
+
+    /**
+     * 현재 잔액에 요청을 적용한 결과 (잔액 검증 실패 시 PointValidationException)
+     */
+    public UserPoint applyTo(UserPoint current) {
+        return switch (type) {
+            case CHARGE -> current.charge(amount);
+            case USE -> current.use(amount);
+        };
+    }
+
+    /**
+     * 내역 테이블에 기록할 행 (id 는 테이블에서 발급)
+     */
+    public PointHistory toHistory(long updateMillis) {
+        return new PointHistory(0L, userId, amount, type, updateMillis);
+    }
+}
@@ -0,0 +1,32 @@
+package io.hhplus.tdd.point;
+
+/**
+ * 포인트 요청 한 건의 처리 결과 (성공 시 처리 후 포인트, 실패 시 검증 예외)
+ */
+public record PointCommandResult(
+        UserPoint userPoint,
+        RuntimeException error
+) {
+
+    public static PointCommandResult success(UserPoint userPoint) {
+        return new PointCommandResult(userPoint, null);
+    }
+
+    public static PointCommandResult failure(RuntimeException error) {
+        return new PointCommandResult(null, error);
+    }
+
+    public boolean isSuccess() {
+        return error == null;
+    }
+
+    /**
+     * 성공이면 포인트를, 실패면 원래 예외를 그대로 던진다.
+     */
+    public UserPoint getOrThrow() {
+        if (error != null) {
+            throw error;
+        }
+        return userPoint;
+    }
+}
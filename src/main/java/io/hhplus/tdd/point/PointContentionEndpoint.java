@@ -0,0 +1,26 @@
+package io.hhplus.tdd.point;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 락 경합 상위 유저 조회 (GET /actuator/pointcontention)
+ */
+@Component
+@Endpoint(id = "pointcontention")
+public class PointContentionEndpoint {
+
+    private final PointMetrics pointMetrics;
+
+    public PointContentionEndpoint(PointMetrics pointMetrics) {
+        this.pointMetrics = pointMetrics;
+    }
+
+    @ReadOperation
+    public List<ContendedUser> contendedUsers() {
+        return pointMetrics.contendedUsers();
+    }
+}
@@ -1,9 +1,15 @@
 package io.hhplus.tdd.point;
 
+import io.hhplus.tdd.common.PointConstants;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.util.ArrayList;
 import java.util.List;
 
 @RestController
@@ -11,6 +17,7 @@ import java.util.List;
 public class PointController {
 
     private static final Logger log = LoggerFactory.getLogger(PointController.class);
+    private static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
     private PointService pointService;
 
     public PointController(PointService pointService) {
@@ -37,15 +44,75 @@ public class PointController {
         return pointService.getHistories(id);
     }
 
+    /**
+     * 특정 유저의 포인트 내역을 최신순으로 페이지 단위 조회한다.
+     * 응답의 nextCursor 를 cursor 로 넘기면 다음 페이지를 조회한다.
+     */
+    @GetMapping("{id}/histories/page")
+    public PointHistoryPage historyPage(
+            @PathVariable long id,
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(defaultValue = "" + PointConstants.DEFAULT_HISTORY_PAGE_SIZE) int size,
+            @RequestParam(required = false) Long from,
+            @RequestParam(required = false) Long to,
+            @RequestParam(required = false) TransactionType type
+    ) {
+        return pointService.getHistoryPage(id, cursor, size, new PointHistoryCondition(from, to, type));
+    }
+
+    /**
+     * 전체 유저의 포인트 내역을 id 오름차순으로 CSV/NDJSON 으로 내보낸다. (gzip 압축, 스트리밍)
+     * 연결이 끊기면 마지막으로 받은 id 를 afterId 로 넘겨 이어받는다.
+     */
+    @GetMapping("histories/export")
+    public ResponseEntity<StreamingResponseBody> exportHistories(
+            @RequestParam(defaultValue = "CSV") PointHistoryExportFormat format,
+            @RequestParam(required = false) Long afterId,
+            @RequestParam(required = false) Long fromId,
+            @RequestParam(required = false) Long toId,
+            @RequestParam(required = false) Long from,
+            @RequestParam(required = false) Long to,
+            @RequestParam(required = false) TransactionType type
+    ) {
+        PointHistoryCondition condition = new PointHistoryCondition(from, to, type);
+        StreamingResponseBody body = out -> pointService.exportHistories(afterId, fromId, toId, condition, format, out);
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                .contentType(MediaType.parseMediaType(format.contentType()))
+                .body(body);
+    }
+
+    /**
+     * 특정 유저의 포인트 내역 집계(충전/사용별 합계, 건수, 첫/마지막 거래 시각)를 조회한다.
+     */
+    @GetMapping("{id}/summary")
+    public PointHistorySummary summary(
+            @PathVariable long id
+    ) {
+        return pointService.getSummary(id);
+    }
+
+    /**
+     * 특정 유저의 at(epoch millis) 시점 포인트를 조회한다.
+     */
+    @GetMapping("{id}/as-of")
+    public UserPoint pointAt(
+            @PathVariable long id,
+            @RequestParam long at
+    ) {
+        return pointService.getPointAt(id, at);
+    }
+
     /**
      * TODO - 특정 유저의 포인트를 충전하는 기능을 작성해주세요.
      */
     @PatchMapping("{id}/charge")
     public UserPoint charge(
             @PathVariable long id,
-            @RequestBody long amount
+            @RequestBody long amount,
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey
     ) {
-        return pointService.charge(id, amount);
+        return pointService.charge(id, amount, idempotencyKey);
     }
 
     /**
@@ -54,8 +121,25 @@ public class PointController {
     @PatchMapping("{id}/use")
     public UserPoint use(
             @PathVariable long id,
-            @RequestBody long amount
+            @RequestBody long amount,
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey
+    ) {
+        return pointService.use(id, amount, idempotencyKey);
+    }
+
+    /**
+     * 여러 유저의 포인트를 한 번에 충전/사용한다. 항목별 결과를 요청 순서대로 반환한다.
+     */
+    @PostMapping("batch")
+    public List<PointBatchItemResponse> batch(
+            @RequestBody List<PointCommand> commands,
+            @RequestHeader(value = PointClusterRouter.FORWARDED_HEADER, required = false) String forwardedFrom
     ) {
-        return pointService.use(id, amount);
+        List<PointCommandResult> results = pointService.executeBatch(commands, forwardedFrom != null);
+        List<PointBatchItemResponse> responses = new ArrayList<>(commands.size());
+        for (int i = 0; i < commands.size(); i++) {
+            responses.add(PointBatchItemResponse.of(commands.get(i), results.get(i)));
+        }
+        return responses;
     }
 }
@@ -0,0 +1,18 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.common.PointErrorMessages;
+
+/**
+ * 담당 노드로 요청을 전달하지 못한 경우 (연결 실패, 응답 시간 초과)
+ * 또는 전달받은 요청의 유저를 이 노드가 담당하지 않는 경우 (노드 목록이 어긋난 동안)
+ */
+public class PointForwardingException extends RuntimeException {
+
+    public PointForwardingException(String owner, Throwable cause) {
+        super(PointErrorMessages.OWNER_UNAVAILABLE.message(owner), cause);
+    }
+
+    public PointForwardingException(String self, long userId) {
+        super(PointErrorMessages.NOT_OWNER.message(self, userId));
+    }
+}
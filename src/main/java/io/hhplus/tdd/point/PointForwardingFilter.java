@@ -0,0 +1,118 @@
+package io.hhplus.tdd.point;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.hhplus.tdd.ErrorResponse;
+import io.hhplus.tdd.common.PointErrorMessages;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.http.HttpResponse;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 클러스터 모드에서 담당이 아닌 유저의 요청(/point/{id}/**, /reactive/point/{id}/**)을 담당 노드로 전달한다.
+ * 일괄 처리(/point/batch)는 유저별로 나누어 PointService 에서 전달한다.
+ *
+ * 전달 표시(FORWARDED_HEADER)가 붙은 요청은 경로와 관계없이 먼저 검증한다.
+ * - 인증되지 않은 전달 요청 : 403 (외부 클라이언트가 헤더를 붙여 담당 확인을 건너뛰지 못하도록)
+ * - 이 노드가 담당이 아닌 유저의 전달 요청 : 처리하지 않고 503 (노드 목록이 어긋난 동안 두 노드가 같은 유저를 처리하지 않도록)
+ */
+@Component
+@ConditionalOnProperty(prefix = "point.cluster", name = "enabled", havingValue = "true")
+public class PointForwardingFilter extends OncePerRequestFilter {
+
+    private static final Pattern USER_PATH = Pattern.compile("^/(?:reactive/)?point/(-?\\d+)(?:/.*)?$");
+    private static final List<String> FORWARDED_REQUEST_HEADERS = List.of("Content-Type", "Accept", "Idempotency-Key");
+
+    private final PointClusterRouter router;
+    private final ObjectMapper objectMapper;
+
+    public PointForwardingFilter(PointClusterRouter router, ObjectMapper objectMapper) {
+        this.router = router;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        Long userId = userIdOf(request);
+        String forwardedFrom = request.getHeader(PointClusterRouter.FORWARDED_HEADER);
+        if (forwardedFrom != null) {
+            if (!router.isTrustedForward(forwardedFrom, request.getHeader(PointClusterRouter.FORWARD_TOKEN_HEADER))) {
+                writeError(response, HttpServletResponse.SC_FORBIDDEN, PointErrorMessages.FORWARD_UNAUTHORIZED.message());
+                return;
+            }
+            if (userId != null && !router.isLocal(userId)) {
+                writeError(response, HttpServletResponse.SC_SERVICE_UNAVAILABLE,
+                        new PointForwardingException(router.self(), userId).getMessage());
+                return;
+            }
+            chain.doFilter(request, response);
+            return;
+        }
+
+        if (userId == null || router.isLocal(userId)) {
+            chain.doFilter(request, response);
+            return;
+        }
+        forward(router.ownerOf(userId), request, response);
+    }
+
+    private static Long userIdOf(HttpServletRequest request) {
+        Matcher matcher = USER_PATH.matcher(request.getRequestURI());
+        if (!matcher.matches()) {
+            return null;
+        }
+        try {
+            return Long.parseLong(matcher.group(1));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private void forward(String owner, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        Map<String, String> headers = new HashMap<>();
+        for (String name : FORWARDED_REQUEST_HEADERS) {
+            String value = request.getHeader(name);
+            if (value != null) {
+                headers.put(name, value);
+            }
+        }
+        String pathAndQuery = request.getQueryString() == null
+                ? request.getRequestURI()
+                : request.getRequestURI() + "?" + request.getQueryString();
+
+        HttpResponse<InputStream> forwarded;
+        try {
+            forwarded = router.forward(owner, request.getMethod(), pathAndQuery, headers, request.getInputStream().readAllBytes());
+        } catch (PointForwardingException e) {
+            writeError(response, HttpServletResponse.SC_SERVICE_UNAVAILABLE, e.getMessage());
+            return;
+        }
+
+        response.setStatus(forwarded.statusCode());
+        forwarded.headers().firstValue("Content-Type").ifPresent(response::setContentType);
+        try (InputStream body = forwarded.body()) {
+            body.transferTo(response.getOutputStream());
+        }
+    }
+
+    private void writeError(HttpServletResponse response, int status, String message) throws IOException {
+        response.setStatus(status);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        objectMapper.writeValue(response.getOutputStream(), new ErrorResponse(String.valueOf(status), message));
+    }
+}
@@ -0,0 +1,135 @@
+package io.hhplus.tdd.point;
+
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+/**
+ * 같은 유저의 동시 충전/사용 요청을 짧은 시간 동안 모아 한 번에 반영하는 그룹 커밋 처리기
+ *
+ * - 유저별 대기열에 요청을 넣고, 대기열을 비우는 스레드(리더)는 한 번에 하나만 존재한다.
+ * - 리더는 수집 시간(window)만큼 기다린 뒤 쌓인 요청을 순서대로 batchApplier 에 넘긴다.
+ * - 나머지 요청 스레드는 자신의 결과가 채워질 때까지 기다린다.
+ */
+@Component
+public class PointGroupCommitter {
+
+    private final GroupCommitProperties properties;
+    private final Map<Long, CommitQueue> queues = new ConcurrentHashMap<>();
+
+    public PointGroupCommitter(GroupCommitProperties properties) {
+        this.properties = properties;
+    }
+
+    public boolean isEnabled() {
+        return properties.enabled();
+    }
+
+    /**
+     * 요청을 대기열에 넣고 처리 결과를 반환한다.
+     * batchApplier 는 요청 목록과 같은 순서로 결과 목록을 반환해야 한다.
+     */
+    public UserPoint submit(PointCommand command,
+                            Function<List<PointCommand>, List<PointCommandResult>> batchApplier) {
+        PendingCommand pending = new PendingCommand(command);
+        CommitQueue queue = queues.computeIfAbsent(command.userId(), id -> new CommitQueue());
+        queue.pending.add(pending);
+
+        if (queue.tryLead()) {
+            drain(command.userId(), queue, batchApplier);
+        }
+
+        return pending.await();
+    }
+
+    private void drain(long userId, CommitQueue queue,
+                       Function<List<PointCommand>, List<PointCommandResult>> batchApplier) {
+        do {
+            try {
+                collect();
+                commit(queue.pollAll(), batchApplier);
+            } finally {
+                queue.release();
+            }
+        } while (!queue.pending.isEmpty() && queue.tryLead());
+
+        // 비어 있는 대기열은 정리한다. 직후에 들어온 요청은 release 된 대기열의 리더가 되어 스스로 처리한다.
+        if (queue.pending.isEmpty()) {
+            queues.remove(userId, queue);
+        }
+    }
+
+    private void commit(List<PendingCommand> batch,
+                        Function<List<PointCommand>, List<PointCommandResult>> batchApplier) {
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        try {
+            List<PointCommandResult> results = batchApplier.apply(batch.stream().map(PendingCommand::command).toList());
+            for (int i = 0; i < batch.size(); i++) {
+                batch.get(i).result.complete(results.get(i));
+            }
+        } catch (RuntimeException e) {
+            batch.forEach(pending -> pending.result.completeExceptionally(e));
+        }
+    }
+
+    private void collect() {
+        try {
+            TimeUnit.NANOSECONDS.sleep(properties.window().toNanos());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static final class CommitQueue {
+        private final Queue<PendingCommand> pending = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean leading = new AtomicBoolean(false);
+
+        boolean tryLead() {
+            return leading.compareAndSet(false, true);
+        }
+
+        void release() {
+            leading.set(false);
+        }
+
+        List<PendingCommand> pollAll() {
+            List<PendingCommand> batch = new ArrayList<>();
+            PendingCommand next;
+            while ((next = pending.poll()) != null) {
+                batch.add(next);
+            }
+            return batch;
+        }
+    }
+
+    private record PendingCommand(PointCommand command, CompletableFuture<PointCommandResult> result) {
+
+        PendingCommand(PointCommand command) {
+            this(command, new CompletableFuture<>());
+        }
+
+        UserPoint await() {
+            try {
+                return result.join().getOrThrow();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw e;
+            }
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.PointHistoryTable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 유저별 내역 집계 유지
+ *
+ * - 시작 시 내역 테이블에서 유저별 집계를 병렬로 다시 만든 뒤, PointHistoryPipeline 에 기록되는 내역을 받아 갱신한다.
+ * - 조회는 유저별 집계 한 건을 읽으므로 내역 수와 무관하다.
+ */
+@Component
+public class PointHistoryAggregator {
+
+    private static final Logger log = LoggerFactory.getLogger(PointHistoryAggregator.class);
+
+    private final Map<Long, PointHistorySummary> summaries = new ConcurrentHashMap<>();
+
+    public PointHistoryAggregator(PointHistoryTable pointHistoryTable, PointHistoryPipeline pointHistoryPipeline) {
+        rebuild(pointHistoryTable);
+        pointHistoryPipeline.addAppendListener(this::record);
+    }
+
+    public PointHistorySummary getSummary(long userId) {
+        return summaries.getOrDefault(userId, PointHistorySummary.empty(userId));
+    }
+
+    public void clear() {
+        summaries.clear();
+    }
+
+    private void record(List<PointHistory> histories) {
+        for (PointHistory history : histories) {
+            summaries.compute(history.userId(), (userId, summary) ->
+                    (summary == null ? PointHistorySummary.empty(userId) : summary).add(history));
+        }
+    }
+
+    /**
+     * 유저별로 나누어 병렬로 집계한다. 한 유저의 집계는 한 스레드가 만든다.
+     */
+    private void rebuild(PointHistoryTable pointHistoryTable) {
+        Set<Long> userIds = pointHistoryTable.selectUserIds();
+        userIds.parallelStream().forEach(userId -> {
+            PointHistorySummary summary = PointHistorySummary.empty(userId);
+            for (PointHistory history : pointHistoryTable.selectAllByUserId(userId)) {
+                summary = summary.add(history);
+            }
+            summaries.put(userId, summary);
+        });
+        if (!userIds.isEmpty()) {
+            log.info("포인트 내역 집계 재구성 완료 (유저: {}명)", userIds.size());
+        }
+    }
+}
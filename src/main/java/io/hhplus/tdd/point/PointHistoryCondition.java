@@ -0,0 +1,34 @@
+package io.hhplus.tdd.point;
+
+/**
+ * 포인트 내역 조회 조건 (null 인 항목은 조건에서 제외)
+ * - fromMillis <= updateMillis < toMillis
+ * - type : 거래 종류
+ */
+public record PointHistoryCondition(
+        Long fromMillis,
+        Long toMillis,
+        TransactionType type
+) {
+
+    public static PointHistoryCondition all() {
+        return new PointHistoryCondition(null, null, null);
+    }
+
+    public boolean matches(PointHistory history) {
+        return matches(history.updateMillis(), history.type());
+    }
+
+    /**
+     * 객체를 만들지 않고 필드 값만으로 검사한다. (바이너리 저장소용)
+     */
+    public boolean matches(long updateMillis, TransactionType type) {
+        if (fromMillis != null && updateMillis < fromMillis) {
+            return false;
+        }
+        if (toMillis != null && updateMillis >= toMillis) {
+            return false;
+        }
+        return this.type == null || this.type == type;
+    }
+}
@@ -0,0 +1,69 @@
+package io.hhplus.tdd.point;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * 내역 내보내기 형식 - 행마다 한 줄이며, 필드 순서는 id, userId, amount, type, updateMillis 이다.
+ */
+public enum PointHistoryExportFormat {
+
+    CSV("text/csv") {
+        @Override
+        void writeHeader(Writer writer) throws IOException {
+            writer.write("id,userId,amount,type,updateMillis\n");
+        }
+
+        @Override
+        void writeRow(Writer writer, PointHistory history) throws IOException {
+            writer.write(Long.toString(history.id()));
+            writer.write(',');
+            writer.write(Long.toString(history.userId()));
+            writer.write(',');
+            writer.write(Long.toString(history.amount()));
+            writer.write(',');
+            writer.write(history.type().name());
+            writer.write(',');
+            writer.write(Long.toString(history.updateMillis()));
+            writer.write('\n');
+        }
+    },
+
+    NDJSON("application/x-ndjson") {
+        @Override
+        void writeHeader(Writer writer) {
+        }
+
+        /**
+         * 필드가 숫자와 enum 이름뿐이므로 ObjectMapper 를 거치지 않고 바로 쓴다.
+         */
+        @Override
+        void writeRow(Writer writer, PointHistory history) throws IOException {
+            writer.write("{\"id\":");
+            writer.write(Long.toString(history.id()));
+            writer.write(",\"userId\":");
+            writer.write(Long.toString(history.userId()));
+            writer.write(",\"amount\":");
+            writer.write(Long.toString(history.amount()));
+            writer.write(",\"type\":\"");
+            writer.write(history.type().name());
+            writer.write("\",\"updateMillis\":");
+            writer.write(Long.toString(history.updateMillis()));
+            writer.write("}\n");
+        }
+    };
+
+    private final String contentType;
+
+    PointHistoryExportFormat(String contentType) {
+        this.contentType = contentType;
+    }
+
+    public String contentType() {
+        return contentType;
+    }
+
+    abstract void writeHeader(Writer writer) throws IOException;
+
+    abstract void writeRow(Writer writer, PointHistory history) throws IOException;
+}
@@ -0,0 +1,69 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.PointHistoryTable;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 전체 내역 스트리밍 내보내기 (정산용)
+ *
+ * - PointHistoryTable 을 id 오름차순으로 한 번 훑으며 행마다 바로 gzip 스트림에 쓴다. 목록을 만들지 않는다.
+ * - FLUSH_ROWS 행마다 gzip 을 sync flush 하여, 연결이 끊겨도 받은 데이터는 완전한 줄 단위로 풀 수 있다.
+ *   마지막으로 받은 id 를 afterId 로 넘기면 그 다음 행부터 이어서 받는다.
+ * - scan 은 그 이하의 id 가 모두 기록된 위치(lowWaterMark)까지만 내보내므로, 다른 유저의 내역이 기록되는 중에
+ *   이어 받아도 뒤늦게 기록된 더 작은 id 를 건너뛰지 않는다.
+ * - 기록이 끝난 내역만 내보낸다. (비동기 파이프라인에서 대기 중인 내역은 제외)
+ */
+@Component
+public class PointHistoryExporter {
+
+    static final int FLUSH_ROWS = 1_024;
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final PointHistoryTable pointHistoryTable;
+
+    public PointHistoryExporter(PointHistoryTable pointHistoryTable) {
+        this.pointHistoryTable = pointHistoryTable;
+    }
+
+    /**
+     * afterId 초과 toId 이하의 내역 중 condition 에 맞는 것을 format 으로 out 에 gzip 압축해 쓰고, 쓴 행 수를 반환한다.
+     */
+    public long export(long afterId, long toId, PointHistoryCondition condition, PointHistoryExportFormat format,
+                       OutputStream out) throws IOException {
+        GZIPOutputStream gzip = new GZIPOutputStream(out, BUFFER_SIZE, true);
+        Writer writer = new BufferedWriter(new OutputStreamWriter(gzip, StandardCharsets.UTF_8), BUFFER_SIZE);
+        long[] written = {0L};
+
+        format.writeHeader(writer);
+        try {
+            pointHistoryTable.scan(afterId, toId, history -> {
+                if (!condition.matches(history)) {
+                    return;
+                }
+                try {
+                    format.writeRow(writer, history);
+                    if (++written[0] % FLUSH_ROWS == 0) {
+                        writer.flush();
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        writer.flush();
+        gzip.finish();
+        return written[0];
+    }
+}
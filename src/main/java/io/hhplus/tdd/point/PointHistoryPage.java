@@ -0,0 +1,24 @@
+package io.hhplus.tdd.point;
+
+import java.util.List;
+
+/**
+ * 포인트 내역 페이지 (최신순)
+ * - nextCursor : 다음 페이지 요청 시 cursor 로 넘길 값 (마지막 페이지면 null)
+ */
+public record PointHistoryPage(
+        List<PointHistory> items,
+        Long nextCursor
+) {
+
+    /**
+     * size + 1 건까지 조회한 결과로 페이지를 만든다.
+     */
+    public static PointHistoryPage of(List<PointHistory> fetched, int size) {
+        if (fetched.size() <= size) {
+            return new PointHistoryPage(fetched, null);
+        }
+        List<PointHistory> items = fetched.subList(0, size);
+        return new PointHistoryPage(List.copyOf(items), items.get(size - 1).id());
+    }
+}
@@ -0,0 +1,345 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.PointHistoryTable;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * 포인트 내역 기록 파이프라인
+ *
+ * - 비활성화 시 : PointHistoryTable 에 바로 기록한다.
+ * - 활성화 시 : id 를 미리 발급받아 고정 크기 대기열에 넣고 즉시 반환한다. 백그라운드 스레드가 대기열을 모아서 insertAll 로 기록한다.
+ *   대기열이 가득 차면 요청 스레드가 빈 자리가 생길 때까지 기다린다. (backpressure)
+ *   테이블 기록은 항상 writer 스레드만 한다. 인터럽트된 요청도 대기열에 넣고, 종료 후 들어온 요청만 실패시킨다.
+ *   기록에 실패하면 MAX_WRITE_ATTEMPTS 번까지 재시도하고, 그래도 실패하거나 종료 중이면 내역을 버린다.
+ *   버린 내역은 행마다 로그를 남기고 droppedCount / droppedHistories 로 노출한다.
+ *   버린 내역의 id 는 기록되지 않으므로 전체 내역 scan 의 lowWaterMark 가 그 앞에서 멈춘다. (재기동 시 복구로 풀린다)
+ *
+ * 아직 기록되지 않은 내역은 유저별로 따로 보관하여, 조회 시 테이블 내역과 합쳐 방금 완료한 거래도 보이게 한다.
+ * 같은 유저의 내역은 유저 락 안에서 넣으므로 id 순서와 대기열 순서가 같다.
+ *
+ * 기록을 받아들인 내역(동기 모드는 기록 후, 비동기 모드는 대기열에 넣은 후)은 등록된 리스너에 전달한다. (집계 갱신 등)
+ */
+@Component
+public class PointHistoryPipeline {
+
+    private static final Logger log = LoggerFactory.getLogger(PointHistoryPipeline.class);
+    private static final long RETRY_BACKOFF_MILLIS = 100L;
+    private static final long ENQUEUE_RETRY_MILLIS = 100L;
+    private static final int MAX_WRITE_ATTEMPTS = 50;
+    private static final int MAX_DROPPED_KEPT = 1_000;
+
+    private final PointHistoryTable pointHistoryTable;
+    private final HistoryPipelineProperties properties;
+
+    private final BlockingQueue<PendingHistory> queue;
+    private final Map<Long, Queue<PointHistory>> pendingByUser = new ConcurrentHashMap<>();
+    private final Thread writer;
+    private volatile boolean running = true;
+
+    private final LongAdder appendedCount = new LongAdder();
+    private final LongAdder flushedCount = new LongAdder();
+    private final LongAdder batchCount = new LongAdder();
+    private final LongAdder droppedCount = new LongAdder();
+    // 최근에 버린 내역 (최대 MAX_DROPPED_KEPT 건)
+    private final Deque<PointHistory> droppedHistories = new ArrayDeque<>();
+
+    private final List<Consumer<List<PointHistory>>> appendListeners = new CopyOnWriteArrayList<>();
+
+    public PointHistoryPipeline(PointHistoryTable pointHistoryTable, HistoryPipelineProperties properties) {
+        this.pointHistoryTable = pointHistoryTable;
+        this.properties = properties;
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, properties.capacity()));
+
+        if (properties.enabled()) {
+            this.writer = new Thread(this::drainLoop, "point-history-writer");
+            this.writer.setDaemon(true);
+            this.writer.start();
+        } else {
+            this.writer = null;
+        }
+    }
+
+    /**
+     * 내역 한 건 기록
+     */
+    public void append(long userId, long amount, TransactionType type, long updateMillis) {
+        if (!properties.enabled()) {
+            notifyAppended(Collections.singletonList(pointHistoryTable.insert(userId, amount, type, updateMillis)));
+            return;
+        }
+        PointHistory history = new PointHistory(pointHistoryTable.nextId(), userId, amount, type, updateMillis);
+        enqueue(history);
+        notifyAppended(Collections.singletonList(history));
+    }
+
+    /**
+     * 여러 내역 기록 (id 가 0 인 행)
+     */
+    public void appendAll(List<PointHistory> histories) {
+        if (!properties.enabled()) {
+            notifyAppended(pointHistoryTable.insertAll(histories));
+            return;
+        }
+        List<PointHistory> enqueued = new ArrayList<>(histories.size());
+        for (PointHistory history : histories) {
+            PointHistory withId = new PointHistory(pointHistoryTable.nextId(), history.userId(), history.amount(), history.type(), history.updateMillis());
+            enqueue(withId);
+            enqueued.add(withId);
+        }
+        notifyAppended(enqueued);
+    }
+
+    /**
+     * 기록을 받아들인 내역을 전달받을 리스너를 등록한다.
+     */
+    public void addAppendListener(Consumer<List<PointHistory>> listener) {
+        appendListeners.add(listener);
+    }
+
+    /**
+     * 유저 내역 조회 - 기록된 내역 뒤에 아직 대기 중인 내역을 이어 붙인다.
+     * 대기 내역을 먼저 읽어야, 그 사이 기록된 내역이 빠지지 않고 id 로 중복만 걸러낼 수 있다.
+     */
+    public List<PointHistory> selectAllByUserId(long userId) {
+        Queue<PointHistory> pending = pendingByUser.get(userId);
+        List<PointHistory> pendingSnapshot = pending == null ? List.of() : List.copyOf(pending);
+
+        List<PointHistory> stored = pointHistoryTable.selectAllByUserId(userId);
+        if (pendingSnapshot.isEmpty()) {
+            return stored;
+        }
+
+        long lastStoredId = stored.isEmpty() ? 0L : stored.get(stored.size() - 1).id();
+        List<PointHistory> merged = new ArrayList<>(stored);
+        for (PointHistory history : pendingSnapshot) {
+            if (history.id() > lastStoredId) {
+                merged.add(history);
+            }
+        }
+        return merged;
+    }
+
+    /**
+     * 유저 내역 페이지 조회 (최신순) - 대기 중인 내역은 항상 기록된 내역보다 최신이므로 앞에 합친 뒤 limit 건을 자른다.
+     */
+    public List<PointHistory> selectPageByUserId(long userId, long beforeId, int limit, PointHistoryCondition condition) {
+        Queue<PointHistory> pending = pendingByUser.get(userId);
+        List<PointHistory> pendingSnapshot = pending == null ? List.of() : List.copyOf(pending);
+
+        List<PointHistory> stored = pointHistoryTable.selectPageByUserId(userId, beforeId, limit, condition);
+        if (pendingSnapshot.isEmpty()) {
+            return stored;
+        }
+
+        long latestStoredId = stored.isEmpty() ? 0L : stored.get(0).id();
+        List<PointHistory> merged = new ArrayList<>(limit);
+        for (int i = pendingSnapshot.size() - 1; i >= 0 && merged.size() < limit; i--) {
+            PointHistory history = pendingSnapshot.get(i);
+            if (history.id() < beforeId && history.id() > latestStoredId && condition.matches(history)) {
+                merged.add(history);
+            }
+        }
+        for (PointHistory history : stored) {
+            if (merged.size() >= limit) {
+                break;
+            }
+            merged.add(history);
+        }
+        return merged;
+    }
+
+    public PipelineStats stats() {
+        PendingHistory oldest = queue.peek();
+        long lagMillis = oldest == null ? 0L : System.currentTimeMillis() - oldest.enqueuedMillis();
+        return new PipelineStats(queue.size(), lagMillis, appendedCount.sum(), flushedCount.sum(), batchCount.sum(), droppedCount.sum());
+    }
+
+    /**
+     * 기록하지 못하고 버린 최근 내역 (오래된 순, 최대 MAX_DROPPED_KEPT 건)
+     */
+    public List<PointHistory> droppedHistories() {
+        synchronized (droppedHistories) {
+            return List.copyOf(droppedHistories);
+        }
+    }
+
+    /**
+     * 종료 시 대기열에 남은 내역을 모두 기록한다. (종료 중에는 재시도하지 않고 실패한 내역은 버린다)
+     */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        if (writer == null) {
+            return;
+        }
+        running = false;
+        writer.interrupt();
+        writer.join();
+        flushRemaining();
+    }
+
+    private void notifyAppended(List<PointHistory> histories) {
+        for (Consumer<List<PointHistory>> listener : appendListeners) {
+            listener.accept(histories);
+        }
+    }
+
+    private void enqueue(PointHistory history) {
+        pendingByUser.compute(history.userId(), (id, pending) -> {
+            Queue<PointHistory> target = pending == null ? new ConcurrentLinkedQueue<>() : pending;
+            target.add(history);
+            return target;
+        });
+
+        // 요청 스레드가 직접 기록하면 writer 와 같은 유저의 내역을 id 순서와 다르게 기록할 수 있다.
+        // 인터럽트는 미뤄두고 대기열에 넣을 때까지 기다린 뒤 되살린다.
+        PendingHistory pending = new PendingHistory(history, System.currentTimeMillis());
+        boolean interrupted = false;
+        try {
+            while (true) {
+                if (!running) {
+                    removePending(history);
+                    throw new IllegalStateException("포인트 내역 파이프라인이 종료되었습니다. (id: " + history.id() + ")");
+                }
+                try {
+                    if (queue.offer(pending, ENQUEUE_RETRY_MILLIS, TimeUnit.MILLISECONDS)) {
+                        break;
+                    }
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        appendedCount.increment();
+    }
+
+    private void removePending(PointHistory history) {
+        pendingByUser.computeIfPresent(history.userId(), (id, pending) -> {
+            pending.remove(history);
+            return pending.isEmpty() ? null : pending;
+        });
+    }
+
+    private void drainLoop() {
+        List<PendingHistory> batch = new ArrayList<>(properties.batchSize());
+        while (running) {
+            try {
+                batch.add(queue.take());
+                queue.drainTo(batch, properties.batchSize() - 1);
+                write(batch.stream().map(PendingHistory::history).toList());
+                batch.clear();
+            } catch (InterruptedException e) {
+                // shutdown 에서 깨운 경우: 들고 있던 내역은 flushRemaining 전에 기록한다.
+                if (!batch.isEmpty()) {
+                    write(batch.stream().map(PendingHistory::history).toList());
+                    batch.clear();
+                }
+            }
+        }
+    }
+
+    private void flushRemaining() {
+        List<PendingHistory> batch = new ArrayList<>(properties.batchSize());
+        while (queue.drainTo(batch, properties.batchSize()) > 0) {
+            write(batch.stream().map(PendingHistory::history).toList());
+            batch.clear();
+        }
+    }
+
+    /**
+     * 테이블에 기록한 뒤 대기 내역에서 제거한다.
+     * 실패하면 MAX_WRITE_ATTEMPTS 번까지 재시도하고, 종료 중이거나 인터럽트되면 더 기다리지 않고 버린다.
+     */
+    private void write(List<PointHistory> histories) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                pointHistoryTable.insertAll(histories);
+                break;
+            } catch (RuntimeException e) {
+                if (attempt >= MAX_WRITE_ATTEMPTS || !running || !sleepQuietly(RETRY_BACKOFF_MILLIS)) {
+                    log.error("포인트 내역 기록 실패, 재시도를 멈추고 내역을 버립니다. (시도: {}, 건수: {})", attempt, histories.size(), e);
+                    drop(histories);
+                    return;
+                }
+                log.error("포인트 내역 기록 실패, {}ms 후 재시도합니다. ({}/{}, 건수: {})",
+                        RETRY_BACKOFF_MILLIS, attempt, MAX_WRITE_ATTEMPTS, histories.size(), e);
+            }
+        }
+
+        for (PointHistory history : histories) {
+            removePending(history);
+        }
+        flushedCount.add(histories.size());
+        batchCount.increment();
+    }
+
+    private void drop(List<PointHistory> histories) {
+        for (PointHistory history : histories) {
+            log.error("기록하지 못한 포인트 내역: {}", history);
+            removePending(history);
+        }
+        synchronized (droppedHistories) {
+            for (PointHistory history : histories) {
+                if (droppedHistories.size() >= MAX_DROPPED_KEPT) {
+                    droppedHistories.pollFirst();
+                }
+                droppedHistories.addLast(history);
+            }
+        }
+        droppedCount.add(histories.size());
+    }
+
+    /**
+     * 인터럽트되면 인터럽트 상태를 되살리고 false 를 반환한다.
+     */
+    private boolean sleepQuietly(long millis) {
+        try {
+            TimeUnit.MILLISECONDS.sleep(millis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * 파이프라인 지표
+     * - queueSize : 기록 대기 중인 내역 수
+     * - lagMillis : 가장 오래 기다린 내역의 대기 시간
+     * - droppedCount : 기록하지 못하고 버린 내역 수
+     */
+    public record PipelineStats(
+            int queueSize,
+            long lagMillis,
+            long appendedCount,
+            long flushedCount,
+            long batchCount,
+            long droppedCount
+    ) {
+    }
+
+    private record PendingHistory(PointHistory history, long enqueuedMillis) {
+    }
+}
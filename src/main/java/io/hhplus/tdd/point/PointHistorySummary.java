@@ -0,0 +1,46 @@
+package io.hhplus.tdd.point;
+
+/**
+ * 유저별 내역 집계 (거래 종류별 합계, 건수, 첫/마지막 거래 시각)
+ */
+public record PointHistorySummary(
+        long userId,
+        TypeSummary charge,
+        TypeSummary use
+) {
+
+    public static PointHistorySummary empty(long userId) {
+        return new PointHistorySummary(userId, TypeSummary.EMPTY, TypeSummary.EMPTY);
+    }
+
+    /**
+     * 내역 한 건을 반영한 새 집계
+     */
+    public PointHistorySummary add(PointHistory history) {
+        return switch (history.type()) {
+            case CHARGE -> new PointHistorySummary(userId, charge.add(history), use);
+            case USE -> new PointHistorySummary(userId, charge, use.add(history));
+        };
+    }
+
+    /**
+     * 거래 종류 하나의 집계 (건수가 0 이면 시각은 0)
+     */
+    public record TypeSummary(
+            long totalAmount,
+            long count,
+            long firstUpdateMillis,
+            long lastUpdateMillis
+    ) {
+
+        static final TypeSummary EMPTY = new TypeSummary(0L, 0L, 0L, 0L);
+
+        TypeSummary add(PointHistory history) {
+            return new TypeSummary(
+                    totalAmount + history.amount(),
+                    count + 1,
+                    count == 0 ? history.updateMillis() : Math.min(firstUpdateMillis, history.updateMillis()),
+                    Math.max(lastUpdateMillis, history.updateMillis()));
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.common.PointErrorMessages;
+
+/**
+ * 제한 시간 안에 유저 락을 얻지 못한 경우
+ */
+public class PointLockTimeoutException extends RuntimeException {
+
+    public PointLockTimeoutException(long userId) {
+        super(PointErrorMessages.LOCK_TIMEOUT.message(userId));
+    }
+}
@@ -0,0 +1,91 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.common.PointErrorMessages;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 포인트 처리 지표 (Actuator /actuator/metrics, /actuator/prometheus)
+ *
+ * - point.phase : 단계별 소요 시간 (phase = lock_wait / read / write / history_append), p50/p99/p999 와 히스토그램 버킷을 함께 내보낸다.
+ * - point.rejected : 거절된 요청 수 (reason = PointErrorMessages 이름)
+ * - point.lock.active : 현재 유지 중인 유저 락 개수
+ * - point.optimistic.conflicts : 낙관적 변경 모드에서 다른 요청과 충돌해 재시도한 횟수
+ * - 경합 상위 유저는 /actuator/pointcontention 에서 조회한다.
+ *
+ * 미터는 생성자에서 모두 등록해 두고, 요청 경로에서는 배열로 찾아 기록만 하므로 객체를 만들지 않는다.
+ */
+@Component
+public class PointMetrics {
+
+    public enum Phase {
+        LOCK_WAIT, READ, WRITE, HISTORY_APPEND
+    }
+
+    private final Timer[] phaseTimers = new Timer[Phase.values().length];
+    private final Counter[] rejectedCounters = new Counter[PointErrorMessages.values().length];
+    private final Counter conflictCounter;
+    private final ContendedUserTracker contendedUsers;
+    private final long contentionThresholdNanos;
+
+    public PointMetrics(MeterRegistry meterRegistry, UserLockManager userLockManager, PointMetricsProperties properties) {
+        for (Phase phase : Phase.values()) {
+            phaseTimers[phase.ordinal()] = Timer.builder("point.phase")
+                    .tag("phase", phase.name().toLowerCase())
+                    .publishPercentiles(0.5, 0.99, 0.999)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry);
+        }
+        for (PointErrorMessages reason : PointErrorMessages.values()) {
+            rejectedCounters[reason.ordinal()] = Counter.builder("point.rejected")
+                    .tag("reason", reason.name())
+                    .register(meterRegistry);
+        }
+        Gauge.builder("point.lock.active", userLockManager, UserLockManager::size)
+                .register(meterRegistry);
+        this.conflictCounter = Counter.builder("point.optimistic.conflicts")
+                .register(meterRegistry);
+
+        this.contendedUsers = new ContendedUserTracker(properties.topUsers());
+        this.contentionThresholdNanos = properties.contentionThreshold().toNanos();
+    }
+
+    public void record(Phase phase, long nanos) {
+        phaseTimers[phase.ordinal()].record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * 락 대기 시간 기록 - 기준 시간 이상 기다린 경우 경합 유저로도 집계한다.
+     */
+    public void recordLockWait(long userId, long nanos) {
+        record(Phase.LOCK_WAIT, nanos);
+        if (nanos >= contentionThresholdNanos) {
+            contendedUsers.record(userId, nanos);
+        }
+    }
+
+    public void recordConflict() {
+        conflictCounter.increment();
+    }
+
+    /**
+     * 거절 사유 집계 - 검증 실패와 락 대기 시간 초과만 집계한다.
+     */
+    public void recordRejection(RuntimeException e) {
+        if (e instanceof PointValidationException validationException) {
+            rejectedCounters[validationException.reason().ordinal()].increment();
+        } else if (e instanceof PointLockTimeoutException) {
+            rejectedCounters[PointErrorMessages.LOCK_TIMEOUT.ordinal()].increment();
+        }
+    }
+
+    public List<ContendedUser> contendedUsers() {
+        return contendedUsers.top();
+    }
+}
@@ -0,0 +1,18 @@
+package io.hhplus.tdd.point;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * 포인트 지표 설정
+ * - contentionThreshold : 락 대기 시간이 이 값 이상인 경우만 경합으로 보고 유저별로 집계한다.
+ * - topUsers : 경합 상위 유저 목록의 크기
+ */
+@ConfigurationProperties(prefix = "point.metrics")
+public record PointMetricsProperties(
+        @DefaultValue("1ms") Duration contentionThreshold,
+        @DefaultValue("10") int topUsers
+) {
+}
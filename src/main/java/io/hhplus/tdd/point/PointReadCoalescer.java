@@ -0,0 +1,100 @@
+package io.hhplus.tdd.point;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * 같은 유저의 동시 잔액/내역 조회 합치기 (single flight)
+ *
+ * - 유저별로 진행 중인 조회가 있으면 새로 조회하지 않고 그 결과를 함께 받는다.
+ * - 충전/사용이 반영되면(PointHistoryPipeline 에 내역이 기록되면) 해당 유저의 진행 중인 조회를 목록에서 빼서,
+ *   반영 이후에 들어온 조회는 반영 이전에 시작된 조회 결과를 받지 않고 새로 조회한다.
+ */
+@Component
+public class PointReadCoalescer {
+
+    private final boolean enabled;
+    private final Flights<UserPoint> pointFlights;
+    private final Flights<List<PointHistory>> historyFlights;
+
+    public PointReadCoalescer(PointHistoryPipeline pointHistoryPipeline, ReadCoalescingProperties properties,
+                              MeterRegistry meterRegistry) {
+        this.enabled = properties.enabled();
+        this.pointFlights = new Flights<>(Counter.builder("point.read.coalesced")
+                .tag("read", "point")
+                .register(meterRegistry));
+        this.historyFlights = new Flights<>(Counter.builder("point.read.coalesced")
+                .tag("read", "histories")
+                .register(meterRegistry));
+        if (enabled) {
+            pointHistoryPipeline.addAppendListener(this::forget);
+        }
+    }
+
+    public UserPoint point(long userId, Supplier<UserPoint> loader) {
+        return enabled ? pointFlights.execute(userId, loader) : loader.get();
+    }
+
+    public List<PointHistory> histories(long userId, Supplier<List<PointHistory>> loader) {
+        return enabled ? historyFlights.execute(userId, loader) : loader.get();
+    }
+
+    private void forget(List<PointHistory> histories) {
+        for (PointHistory history : histories) {
+            pointFlights.forget(history.userId());
+            historyFlights.forget(history.userId());
+        }
+    }
+
+    private static final class Flights<V> {
+        private final Map<Long, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+        private final Counter coalescedCounter;
+
+        Flights(Counter coalescedCounter) {
+            this.coalescedCounter = coalescedCounter;
+        }
+
+        V execute(long userId, Supplier<V> loader) {
+            CompletableFuture<V> created = new CompletableFuture<>();
+            CompletableFuture<V> existing = inFlight.putIfAbsent(userId, created);
+            if (existing != null) {
+                coalescedCounter.increment();
+                return join(existing);
+            }
+
+            try {
+                V loaded = loader.get();
+                created.complete(loaded);
+                return loaded;
+            } catch (RuntimeException e) {
+                created.completeExceptionally(e);
+                throw e;
+            } finally {
+                inFlight.remove(userId, created);
+            }
+        }
+
+        void forget(long userId) {
+            inFlight.remove(userId);
+        }
+
+        private V join(CompletableFuture<V> flight) {
+            try {
+                return flight.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw e;
+            }
+        }
+    }
+}
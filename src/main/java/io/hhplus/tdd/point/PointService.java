@@ -2,92 +2,414 @@ package io.hhplus.tdd.point;
 
 import io.hhplus.tdd.common.PointConstants;
 import io.hhplus.tdd.common.PointErrorMessages;
-import io.hhplus.tdd.database.PointHistoryTable;
 import io.hhplus.tdd.database.UserPointTable;
 import org.springframework.stereotype.Service;
 
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
-
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 @Service
 public class PointService {
 
     private final UserPointTable userPointTable;
-    private final PointHistoryTable pointHistoryTable;
-
-    private final Map<Long, Object> userLocks = new ConcurrentHashMap<>();
+    private final PointHistoryPipeline pointHistoryPipeline;
+    private final PointGroupCommitter groupCommitter;
+    private final UserPointCache userPointCache;
+    private final UserLockManager userLockManager;
+    private final PointMetrics pointMetrics;
+    private final OptimisticBalanceUpdater optimisticUpdater;
+    private final PointShardExecutor shardExecutor;
+    private final PointHistoryAggregator pointHistoryAggregator;
+    private final PointBalanceCheckpoints balanceCheckpoints;
+    private final IdempotencyCache idempotencyCache;
+    private final PointReadCoalescer readCoalescer;
+    private final PointClusterRouter clusterRouter;
+    private final HotAccountBalances hotAccounts;
+    private final PointHistoryExporter historyExporter;
+    private final PointAdmissionControl admissionControl;
 
-    public PointService(UserPointTable userPointTable, PointHistoryTable pointHistoryTable) {
+    public PointService(UserPointTable userPointTable, PointHistoryPipeline pointHistoryPipeline,
+                        PointGroupCommitter groupCommitter, UserPointCache userPointCache,
+                        UserLockManager userLockManager, PointMetrics pointMetrics,
+                        OptimisticBalanceUpdater optimisticUpdater, PointShardExecutor shardExecutor,
+                        PointHistoryAggregator pointHistoryAggregator, PointBalanceCheckpoints balanceCheckpoints,
+                        IdempotencyCache idempotencyCache, PointReadCoalescer readCoalescer,
+                        PointClusterRouter clusterRouter, HotAccountBalances hotAccounts,
+                        PointHistoryExporter historyExporter, Optional<PointAdmissionControl> admissionControl) {
         this.userPointTable = userPointTable;
-        this.pointHistoryTable = pointHistoryTable;
+        this.pointHistoryPipeline = pointHistoryPipeline;
+        this.groupCommitter = groupCommitter;
+        this.userPointCache = userPointCache;
+        this.userLockManager = userLockManager;
+        this.pointMetrics = pointMetrics;
+        this.optimisticUpdater = optimisticUpdater;
+        this.shardExecutor = shardExecutor;
+        this.pointHistoryAggregator = pointHistoryAggregator;
+        this.balanceCheckpoints = balanceCheckpoints;
+        this.idempotencyCache = idempotencyCache;
+        this.readCoalescer = readCoalescer;
+        this.clusterRouter = clusterRouter;
+        this.hotAccounts = hotAccounts;
+        this.historyExporter = historyExporter;
+        this.admissionControl = admissionControl.orElse(null);
     }
 
-    public synchronized Object getLockForUser(long userId) {
-        return userLocks.computeIfAbsent(userId, id -> new Object());
-    }
     /**
      * 포인트 조회
+     * - 캐시 미스일 때만 유저 락을 잡고 테이블에서 읽어, 진행 중인 충전/사용 결과를 덮어쓰지 않도록 한다.
+     * - 낙관적 변경 모드에서는 최신 커밋 버전을, 샤드 모드에서는 샤드가 보관한 잔액을 락 없이 읽는다.
+     * - 같은 유저의 캐시 미스 조회가 동시에 들어오면 한 번만 락을 잡고 읽어 결과를 나눈다.
+     * - 핫 계정은 슬롯 잔액의 합계를 락 없이 읽는다.
      */
     public UserPoint getPoint(long userId) {
-        return userPointTable.selectById(userId);
+        if (hotAccounts.isHot(userId)) {
+            return hotAccounts.get(userId);
+        }
+        if (shardExecutor.isEnabled()) {
+            return shardExecutor.get(userId);
+        }
+        if (optimisticUpdater.isEnabled()) {
+            return optimisticUpdater.get(userId);
+        }
+
+        UserPoint cached = userPointCache.getIfPresent(userId);
+        if (cached != null) {
+            return cached;
+        }
+
+        return readCoalescer.point(userId, () -> userLockManager.executeWithLock(userId, () -> findUserPoint(userId)));
+    }
+
+    /**
+     * 포인트 충전 - 같은 idempotencyKey 의 재시도는 처음 결과를 그대로 반환한다. (null 이면 매번 실행)
+     */
+    public UserPoint charge(long userId, long amount, String idempotencyKey) {
+        return idempotencyCache.execute(idempotencyKey, PointCommand.charge(userId, amount), () -> charge(userId, amount));
     }
 
     /**
      * 포인트 충전
      */
     public UserPoint charge(long userId, long amount) {
-        synchronized (getLockForUser(userId)) {
-            if (amount <= PointConstants.MIN_CHARGE_AMOUNT) {
-                throw new IllegalArgumentException(PointErrorMessages.AMOUNT_MUST_BE_POSITIVE.message(PointConstants.MIN_CHARGE_AMOUNT));
-            }
-
-            UserPoint current = findUserPoint(userId);
-            long newAmount = current.point() + amount;
+        try {
+            validateChargeAmount(amount);
 
-            if(newAmount > PointConstants.MAX_POINT) {
-                throw new IllegalArgumentException(PointErrorMessages.MAX_POINT_EXCEEDED.message(PointConstants.MAX_POINT));
+            if (hotAccounts.isHot(userId)) {
+                return hotAccounts.apply(userId, List.of(PointCommand.charge(userId, amount))).get(0).getOrThrow();
+            }
+            if (shardExecutor.isEnabled()) {
+                return await(shardExecutor.submit(userId, List.of(PointCommand.charge(userId, amount)))).get(0).getOrThrow();
+            }
+            if (optimisticUpdater.isEnabled()) {
+                return optimisticUpdater.apply(userId, List.of(PointCommand.charge(userId, amount))).get(0).getOrThrow();
+            }
+            if (groupCommitter.isEnabled()) {
+                return groupCommitter.submit(PointCommand.charge(userId, amount), commands -> applyBatch(userId, commands));
             }
 
-            UserPoint updated = userPointTable.insertOrUpdate(userId, newAmount);
-            pointHistoryTable.insert(userId, amount, TransactionType.CHARGE, now());
+            long requestedNanos = System.nanoTime();
+            return userLockManager.executeWithLock(userId, () -> {
+                pointMetrics.recordLockWait(userId, System.nanoTime() - requestedNanos);
+                UserPoint current = findUserPoint(userId);
+                UserPoint charged = current.charge(amount);
 
-            return updated;
+                UserPoint updated = saveUserPoint(userId, charged.point());
+                appendHistory(userId, amount, TransactionType.CHARGE);
+
+                return updated;
+            });
+        } catch (PointValidationException | PointLockTimeoutException e) {
+            pointMetrics.recordRejection(e);
+            throw e;
         }
     }
 
+    /**
+     * 포인트 사용 - 같은 idempotencyKey 의 재시도는 처음 결과를 그대로 반환한다. (null 이면 매번 실행)
+     */
+    public UserPoint use(long userId, long amount, String idempotencyKey) {
+        return idempotencyCache.execute(idempotencyKey, PointCommand.use(userId, amount), () -> use(userId, amount));
+    }
+
     /**
      * 포인트 사용
      */
     public UserPoint use(long userId, long amount) {
-        synchronized (getLockForUser(userId)) {
-            if (amount <= PointConstants.MIN_USE_AMOUNT) {
-                throw new IllegalArgumentException(PointErrorMessages.USE_AMOUNT_MUST_BE_POSITIVE.message(PointConstants.MIN_USE_AMOUNT));
+        try {
+            validateUseAmount(amount);
+
+            if (hotAccounts.isHot(userId)) {
+                return hotAccounts.apply(userId, List.of(PointCommand.use(userId, amount))).get(0).getOrThrow();
             }
+            if (shardExecutor.isEnabled()) {
+                return await(shardExecutor.submit(userId, List.of(PointCommand.use(userId, amount)))).get(0).getOrThrow();
+            }
+            if (optimisticUpdater.isEnabled()) {
+                return optimisticUpdater.apply(userId, List.of(PointCommand.use(userId, amount))).get(0).getOrThrow();
+            }
+            if (groupCommitter.isEnabled()) {
+                return groupCommitter.submit(PointCommand.use(userId, amount), commands -> applyBatch(userId, commands));
+            }
+
+            long requestedNanos = System.nanoTime();
+            return userLockManager.executeWithLock(userId, () -> {
+                pointMetrics.recordLockWait(userId, System.nanoTime() - requestedNanos);
+                UserPoint current = findUserPoint(userId);
+                UserPoint used = current.use(amount);
+
+                UserPoint updated = saveUserPoint(userId, used.point());
+                appendHistory(userId, amount, TransactionType.USE);
+                return updated;
+            });
+        } catch (PointValidationException | PointLockTimeoutException e) {
+            pointMetrics.recordRejection(e);
+            throw e;
+        }
+    }
+
+    /**
+     * 포인트 일괄 충전/사용
+     * - 요청을 유저별로 묶고, 서로 다른 유저의 묶음은 병렬로 처리한다.
+     * - 유저별 묶음은 락 한 번, 잔액 조회 한 번, 잔액/내역 기록 한 번으로 처리한다.
+     * - 결과는 요청과 같은 순서로 반환하며, 실패한 요청은 해당 항목만 실패로 표시한다.
+     */
+    public List<PointCommandResult> executeBatch(List<PointCommand> commands) {
+        return executeBatch(commands, false);
+    }
+
+    /**
+     * 일괄 처리 - 클러스터 모드에서 담당이 아닌 유저의 요청은 담당 노드로 전달한다.
+     * forwarded 는 다른 노드가 전달한 요청인지 여부(PointForwardingFilter 에서 인증된 요청만)이며, 이 경우 다시 전달하지 않는다.
+     * 전달받은 요청이라도 이 노드가 담당이 아닌 유저는 처리하지 않고 해당 항목을 실패로 표시한다.
+     * 수락 제어가 켜져 있으면 이 노드에서 처리할 유저별 묶음마다 유저별 요청 한도와 대기 한도를 검사하고, 거절된 묶음은 실패로 표시한다.
+     * (다른 노드로 전달하는 묶음은 담당 노드에서 검사한다)
+     */
+    public List<PointCommandResult> executeBatch(List<PointCommand> commands, boolean forwarded) {
+        if (commands.size() > PointConstants.MAX_BATCH_SIZE) {
+            throw new PointValidationException(PointErrorMessages.BATCH_SIZE_EXCEEDED, PointConstants.MAX_BATCH_SIZE);
+        }
 
-            UserPoint current = findUserPoint(userId);
-            long newAmount = current.point() - amount;
+        PointCommandResult[] results = new PointCommandResult[commands.size()];
+        Map<Long, List<Integer>> indexesByUser = new LinkedHashMap<>();
+        for (int i = 0; i < commands.size(); i++) {
+            try {
+                validateAmount(commands.get(i));
+                indexesByUser.computeIfAbsent(commands.get(i).userId(), id -> new ArrayList<>()).add(i);
+            } catch (IllegalArgumentException e) {
+                results[i] = PointCommandResult.failure(e);
+            }
+        }
 
-            if(newAmount < 0) {
-                throw new IllegalArgumentException(PointErrorMessages.INSUFFICIENT_POINT.message(current.point()));
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            indexesByUser.forEach((userId, indexes) -> executor.submit(() -> {
+                List<PointCommand> group = indexes.stream().map(commands::get).toList();
+                try {
+                    List<PointCommandResult> groupResults;
+                    if (!clusterRouter.isLocal(userId)) {
+                        if (forwarded) {
+                            throw new PointForwardingException(clusterRouter.self(), userId);
+                        }
+                        groupResults = clusterRouter.forwardBatch(userId, group);
+                    } else {
+                        groupResults = applyAdmitted(userId, group);
+                    }
+                    for (int i = 0; i < indexes.size(); i++) {
+                        results[indexes.get(i)] = groupResults.get(i);
+                    }
+                } catch (RuntimeException e) {
+                    indexes.forEach(index -> results[index] = PointCommandResult.failure(e));
+                }
+            }));
+        }
+
+        for (PointCommandResult result : results) {
+            if (!result.isSuccess()) {
+                pointMetrics.recordRejection(result.error());
             }
+        }
+        return List.of(results);
+    }
 
-            UserPoint updated = userPointTable.insertOrUpdate(userId, newAmount);
-            pointHistoryTable.insert(userId, amount, TransactionType.USE, now());
-            return updated;
+    /**
+     * 이 노드에서 처리할 유저별 묶음 하나를 수락 제어를 거쳐 처리 방식에 맞게 적용한다.
+     */
+    private List<PointCommandResult> applyAdmitted(long userId, List<PointCommand> group) {
+        PointAdmissionControl.Permit permit = admissionControl == null ? null : admissionControl.admitUser(userId);
+        try {
+            if (hotAccounts.isHot(userId)) {
+                return hotAccounts.apply(userId, group);
+            }
+            if (shardExecutor.isEnabled()) {
+                return await(shardExecutor.submit(userId, group));
+            }
+            if (optimisticUpdater.isEnabled()) {
+                return optimisticUpdater.apply(userId, group);
+            }
+            return applyBatch(userId, group);
+        } finally {
+            if (permit != null) {
+                permit.release();
+            }
         }
     }
 
     /**
-     * 포인트 내역
+     * 포인트 내역 - 같은 유저의 동시 조회는 한 번의 조회로 합친다.
      */
     public List<PointHistory> getHistories(long userId) {
-        return pointHistoryTable.selectAllByUserId(userId);
+        return readCoalescer.histories(userId, () -> pointHistoryPipeline.selectAllByUserId(userId));
+    }
+
+    /**
+     * 포인트 내역 페이지 조회 (최신순)
+     * - cursor 가 없으면 가장 최근 내역부터, 있으면 cursor(id) 보다 오래된 내역부터 조회한다.
+     */
+    public PointHistoryPage getHistoryPage(long userId, Long cursor, int size, PointHistoryCondition condition) {
+        if (size < 1 || size > PointConstants.MAX_HISTORY_PAGE_SIZE) {
+            throw new PointValidationException(PointErrorMessages.HISTORY_PAGE_SIZE_OUT_OF_RANGE, PointConstants.MAX_HISTORY_PAGE_SIZE);
+        }
+
+        long beforeId = cursor == null ? Long.MAX_VALUE : cursor;
+        List<PointHistory> fetched = pointHistoryPipeline.selectPageByUserId(userId, beforeId, size + 1, condition);
+        return PointHistoryPage.of(fetched, size);
+    }
+
+    /**
+     * 포인트 내역 집계 (거래 종류별 합계, 건수, 첫/마지막 거래 시각)
+     */
+    public PointHistorySummary getSummary(long userId) {
+        return pointHistoryAggregator.getSummary(userId);
+    }
+
+    /**
+     * atMillis 시점(포함)의 잔액 (체크포인트 이후 내역만 재생)
+     */
+    public UserPoint getPointAt(long userId, long atMillis) {
+        return balanceCheckpoints.balanceAt(userId, atMillis);
+    }
+
+    /**
+     * 전체 내역 내보내기 (id 오름차순, gzip 압축) - 쓴 행 수를 반환한다.
+     * - afterId : 이어받기용, 마지막으로 받은 id (그 다음 행부터)
+     * - fromId, toId : id 범위 (둘 다 포함, null 이면 제한 없음)
+     */
+    public long exportHistories(Long afterId, Long fromId, Long toId, PointHistoryCondition condition,
+                                PointHistoryExportFormat format, OutputStream out) throws IOException {
+        long start = Math.max(afterId == null ? 0L : afterId, fromId == null ? 0L : fromId - 1);
+        return historyExporter.export(start, toId == null ? Long.MAX_VALUE : toId, condition, format, out);
+    }
+
+    /**
+     * 그룹 커밋/일괄 처리 - 한 유저의 요청을 순서대로 잔액에 적용하고, 최종 잔액과 내역을 한 번씩만 기록한다.
+     * 잔액 검증에 실패한 요청은 해당 요청만 실패 처리하고 이후 요청은 계속 적용한다.
+     */
+    private List<PointCommandResult> applyBatch(long userId, List<PointCommand> commands) {
+        long requestedNanos = System.nanoTime();
+        return userLockManager.executeWithLock(userId, () -> {
+            pointMetrics.recordLockWait(userId, System.nanoTime() - requestedNanos);
+            UserPoint running = findUserPoint(userId);
+            long[] balances = new long[commands.size()];
+            RuntimeException[] errors = new RuntimeException[commands.size()];
+            List<PointHistory> histories = new ArrayList<>();
+            long updateMillis = now();
+
+            for (int i = 0; i < commands.size(); i++) {
+                PointCommand command = commands.get(i);
+                try {
+                    running = command.applyTo(running);
+                    balances[i] = running.point();
+                    histories.add(command.toHistory(updateMillis));
+                } catch (IllegalArgumentException e) {
+                    errors[i] = e;
+                }
+            }
+
+            UserPoint updated = running;
+            if (!histories.isEmpty()) {
+                updated = saveUserPoint(userId, running.point());
+                long appendStartNanos = System.nanoTime();
+                pointHistoryPipeline.appendAll(histories);
+                pointMetrics.record(PointMetrics.Phase.HISTORY_APPEND, System.nanoTime() - appendStartNanos);
+            }
+
+            List<PointCommandResult> results = new ArrayList<>(commands.size());
+            for (int i = 0; i < commands.size(); i++) {
+                results.add(errors[i] != null
+                        ? PointCommandResult.failure(errors[i])
+                        : PointCommandResult.success(new UserPoint(userId, balances[i], updated.updateMillis())));
+            }
+            return results;
+        });
+    }
+
+    private void validateAmount(PointCommand command) {
+        if (command.type() == null) {
+            throw new PointValidationException(PointErrorMessages.TRANSACTION_TYPE_REQUIRED);
+        }
+
+        switch (command.type()) {
+            case CHARGE -> validateChargeAmount(command.amount());
+            case USE -> validateUseAmount(command.amount());
+        }
+    }
+
+    private void validateChargeAmount(long amount) {
+        if (amount <= PointConstants.MIN_CHARGE_AMOUNT) {
+            throw new PointValidationException(PointErrorMessages.AMOUNT_MUST_BE_POSITIVE, PointConstants.MIN_CHARGE_AMOUNT);
+        }
+    }
+
+    private void validateUseAmount(long amount) {
+        if (amount <= PointConstants.MIN_USE_AMOUNT) {
+            throw new PointValidationException(PointErrorMessages.USE_AMOUNT_MUST_BE_POSITIVE, PointConstants.MIN_USE_AMOUNT);
+        }
     }
 
     private UserPoint findUserPoint(long userId) {
-        return userPointTable.selectById(userId);
+        long startNanos = System.nanoTime();
+        UserPoint userPoint = userPointCache.get(userId);
+        pointMetrics.record(PointMetrics.Phase.READ, System.nanoTime() - startNanos);
+        return userPoint;
+    }
+
+    /**
+     * 테이블에 기록한 뒤 같은 값을 캐시에 반영한다. (write-through)
+     */
+    private UserPoint saveUserPoint(long userId, long point) {
+        long startNanos = System.nanoTime();
+        UserPoint updated = userPointTable.insertOrUpdate(userId, point);
+        userPointCache.put(updated);
+        pointMetrics.record(PointMetrics.Phase.WRITE, System.nanoTime() - startNanos);
+        return updated;
+    }
+
+    private void appendHistory(long userId, long amount, TransactionType type) {
+        long startNanos = System.nanoTime();
+        pointHistoryPipeline.append(userId, amount, type, now());
+        pointMetrics.record(PointMetrics.Phase.HISTORY_APPEND, System.nanoTime() - startNanos);
+    }
+
+    /**
+     * 샤드 처리 결과를 기다린다. 요청 스레드는 가상 스레드이므로 기다리는 동안 캐리어 스레드를 반납한다.
+     */
+    private <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
     }
 
     private long now() {
@@ -0,0 +1,267 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.UserPointTable;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 샤드별 단일 스레드 실행기 (point.shard.enabled=true)
+ *
+ * - 유저 id 해시로 샤드를 정하고, 샤드마다 하나의 스레드가 대기열의 요청을 꺼내 처리한다. 한 유저의 요청은 항상 같은 스레드가
+ *   순서대로 처리하므로 락이 필요 없다. (actor 방식)
+ * - 샤드는 자기 유저들의 잔액을 메모리에 보관한다. 쓰기는 샤드 스레드만 하고, 조회는 어느 스레드에서나 바로 읽는다.
+ *   보관 수가 샤드별 한도를 넘으면 샤드 스레드가 처리 순서 기준으로 가장 오래된 유저를 지운다. 지운 유저는 이미 테이블에 기록된 상태다.
+ * - 대기열에서 batchSize 만큼 꺼내 잔액을 모두 계산한 뒤, 내역 기록(appendAll 한 번)을 먼저 하고 유저별 잔액 기록을 병렬로 수행한 뒤
+ *   요청별 결과를 완료한다. 내역 기록이 커밋 시점이다. 내역 기록에 실패하면 아무것도 기록되지 않았으므로 요청을 실패시키고,
+ *   내역을 기록한 뒤에는 잔액 기록이 성공할 때까지 다시 시도한다. (클라이언트 재시도로 같은 변경이 두 번 반영되지 않도록)
+ * - 처리 중 예상하지 못한 예외가 나도 해당 배치의 요청만 실패시키고 샤드 스레드는 계속 동작한다.
+ */
+@Component
+public class PointShardExecutor {
+
+    private static final Logger log = LoggerFactory.getLogger(PointShardExecutor.class);
+    private static final long RETRY_BACKOFF_MILLIS = 100L;
+
+    private final UserPointTable userPointTable;
+    private final PointHistoryPipeline pointHistoryPipeline;
+    private final ShardProperties properties;
+
+    private final Shard[] shards;
+    private final ExecutorService ioExecutor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public PointShardExecutor(UserPointTable userPointTable, PointHistoryPipeline pointHistoryPipeline,
+                              ShardProperties properties, MeterRegistry meterRegistry) {
+        this.userPointTable = userPointTable;
+        this.pointHistoryPipeline = pointHistoryPipeline;
+        this.properties = properties;
+
+        int count = properties.enabled() ? Math.max(1, properties.count()) : 0;
+        this.shards = new Shard[count];
+        for (int i = 0; i < count; i++) {
+            shards[i] = new Shard(i);
+            Gauge.builder("point.shard.queue.depth", shards[i].queue, BlockingQueue::size)
+                    .tag("shard", String.valueOf(i))
+                    .register(meterRegistry);
+            shards[i].thread.start();
+        }
+    }
+
+    public boolean isEnabled() {
+        return properties.enabled();
+    }
+
+    /**
+     * 한 유저의 요청을 담당 샤드에 넘긴다. 결과는 요청과 같은 순서다.
+     */
+    public CompletableFuture<List<PointCommandResult>> submit(long userId, List<PointCommand> commands) {
+        ShardTask task = new ShardTask(userId, commands, new CompletableFuture<>());
+        try {
+            shardOf(userId).queue.put(task);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            task.future.completeExceptionally(e);
+        }
+        return task.future;
+    }
+
+    /**
+     * 잔액 조회 - 샤드에 없는 유저는 기록되지 않은 변경도 없으므로 테이블 값을 그대로 반환한다. (샤드에 적재하지 않는다)
+     */
+    public UserPoint get(long userId) {
+        UserPoint userPoint = shardOf(userId).balances.get(userId);
+        return userPoint != null ? userPoint : userPointTable.selectById(userId);
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        for (Shard shard : shards) {
+            shard.running = false;
+            shard.thread.interrupt();
+        }
+        for (Shard shard : shards) {
+            shard.thread.join();
+        }
+        ioExecutor.close();
+    }
+
+    private Shard shardOf(long userId) {
+        long h = userId * 0x9E3779B97F4A7C15L;
+        return shards[(int) ((h ^ (h >>> 32)) & Integer.MAX_VALUE) % shards.length];
+    }
+
+    private final class Shard {
+        private final BlockingQueue<ShardTask> queue = new ArrayBlockingQueue<>(Math.max(1, properties.queueCapacity()));
+        private final Map<Long, UserPoint> balances = new ConcurrentHashMap<>();
+        // 샤드 스레드만 사용하는 처리 순서 기록 - 한도를 넘으면 가장 오래된 유저를 balances 에서도 지운다.
+        private final Map<Long, Boolean> recentUsers;
+        private final Thread thread;
+        private volatile boolean running = true;
+
+        Shard(int index) {
+            int maximumSize = Math.max(1, properties.maximumBalances() / Math.max(1, properties.count()));
+            this.recentUsers = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Long, Boolean> eldest) {
+                    boolean evict = size() > maximumSize;
+                    if (evict) {
+                        balances.remove(eldest.getKey());
+                    }
+                    return evict;
+                }
+            };
+            this.thread = new Thread(this::loop, "point-shard-" + index);
+            this.thread.setDaemon(true);
+        }
+
+        private void loop() {
+            List<ShardTask> batch = new ArrayList<>(properties.batchSize());
+            while (running || !queue.isEmpty()) {
+                try {
+                    batch.add(queue.take());
+                } catch (InterruptedException e) {
+                    // shutdown 에서 깨운 경우: 남은 요청을 마저 처리한다.
+                    if (queue.isEmpty()) {
+                        continue;
+                    }
+                }
+                queue.drainTo(batch, properties.batchSize() - batch.size());
+                try {
+                    process(batch);
+                } catch (RuntimeException e) {
+                    log.error("샤드 처리 중 예외가 발생해 배치의 요청을 실패 처리합니다. (건수: {})", batch.size(), e);
+                    batch.forEach(task -> task.future.completeExceptionally(e));
+                }
+                batch.clear();
+            }
+        }
+
+        private void process(List<ShardTask> batch) {
+            Map<Long, List<ShardTask>> tasksByUser = new LinkedHashMap<>();
+            for (ShardTask task : batch) {
+                tasksByUser.computeIfAbsent(task.userId, id -> new ArrayList<>()).add(task);
+            }
+
+            try {
+                process(batch, tasksByUser);
+            } finally {
+                // 처리 중에는 지우지 않도록 배치가 끝난 뒤에 기록한다.
+                tasksByUser.keySet().forEach(userId -> recentUsers.put(userId, Boolean.TRUE));
+            }
+        }
+
+        private void process(List<ShardTask> batch, Map<Long, List<ShardTask>> tasksByUser) {
+            try {
+                load(tasksByUser.keySet());
+            } catch (RuntimeException e) {
+                batch.forEach(task -> task.future.completeExceptionally(e));
+                return;
+            }
+
+            Map<ShardTask, List<PointCommandResult>> results = new LinkedHashMap<>();
+            Map<Long, UserPoint> updated = new LinkedHashMap<>();
+            List<PointHistory> histories = new ArrayList<>();
+            long updateMillis = System.currentTimeMillis();
+
+            tasksByUser.forEach((userId, tasks) -> {
+                UserPoint running = balances.get(userId);
+                for (ShardTask task : tasks) {
+                    List<PointCommandResult> taskResults = new ArrayList<>(task.commands.size());
+                    for (PointCommand command : task.commands) {
+                        try {
+                            running = command.applyTo(running);
+                            histories.add(command.toHistory(updateMillis));
+                            updated.put(userId, running);
+                            taskResults.add(PointCommandResult.success(new UserPoint(userId, running.point(), updateMillis)));
+                        } catch (IllegalArgumentException e) {
+                            taskResults.add(PointCommandResult.failure(e));
+                        }
+                    }
+                    results.put(task, taskResults);
+                }
+            });
+
+            try {
+                if (!histories.isEmpty()) {
+                    pointHistoryPipeline.appendAll(histories);
+                }
+            } catch (RuntimeException e) {
+                // 아무것도 기록되지 않았으므로 계산한 잔액은 버린다. (메모리 잔액은 아직 바꾸지 않았다)
+                batch.forEach(task -> task.future.completeExceptionally(e));
+                return;
+            }
+            writeBalances(updated);
+
+            updated.forEach((userId, userPoint) -> balances.put(userId, new UserPoint(userId, userPoint.point(), updateMillis)));
+            results.forEach((task, taskResults) -> task.future.complete(taskResults));
+        }
+
+        /**
+         * 메모리에 없는 유저의 잔액을 병렬로 읽어 온다.
+         */
+        private void load(Iterable<Long> userIds) {
+            List<CompletableFuture<Void>> loads = new ArrayList<>();
+            for (Long userId : userIds) {
+                if (!balances.containsKey(userId)) {
+                    loads.add(CompletableFuture.runAsync(
+                            () -> balances.put(userId, userPointTable.selectById(userId)), ioExecutor));
+                }
+            }
+            CompletableFuture.allOf(loads.toArray(CompletableFuture[]::new)).join();
+        }
+
+        /**
+         * 유저별 잔액을 병렬로 기록한다. 내역은 이미 기록되었으므로 실패한 유저만 모아 성공할 때까지 다시 시도한다.
+         */
+        private void writeBalances(Map<Long, UserPoint> updated) {
+            Map<Long, UserPoint> pending = updated;
+            while (!pending.isEmpty()) {
+                Map<Long, UserPoint> failed = new ConcurrentHashMap<>();
+                List<CompletableFuture<?>> writes = new ArrayList<>(pending.size());
+                pending.forEach((userId, userPoint) -> writes.add(CompletableFuture.runAsync(
+                        () -> userPointTable.insertOrUpdate(userId, userPoint.point()), ioExecutor)
+                        .exceptionally(e -> {
+                            failed.put(userId, userPoint);
+                            return null;
+                        })));
+                CompletableFuture.allOf(writes.toArray(CompletableFuture[]::new)).join();
+
+                if (!failed.isEmpty()) {
+                    log.error("잔액 기록 실패, {}ms 후 재시도합니다. (유저 수: {})", RETRY_BACKOFF_MILLIS, failed.size());
+                    sleepQuietly(RETRY_BACKOFF_MILLIS);
+                }
+                pending = failed;
+            }
+        }
+
+        private void sleepQuietly(long millis) {
+            try {
+                TimeUnit.MILLISECONDS.sleep(millis);
+            } catch (InterruptedException ignored) {
+
+            }
+        }
+    }
+
+    private record ShardTask(
+            long userId,
+            List<PointCommand> commands,
+            CompletableFuture<List<PointCommandResult>> future
+    ) {
+    }
+}
@@ -0,0 +1,45 @@
+package io.hhplus.tdd.point;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+/**
+ * 저장 경로 지표 (Actuator /actuator/metrics, /actuator/prometheus)
+ *
+ * - point.balance-cache.size / hits / misses / evictions : 잔액 캐시 상태 (UserPointCache.stats)
+ * - point.history.pipeline.queue-size / lag : 기록 대기 중인 내역 수와 가장 오래 기다린 내역의 대기 시간
+ * - point.history.pipeline.appended / flushed / batches : 대기열에 넣은 내역, 기록한 내역, 기록 묶음 수 (PointHistoryPipeline.stats)
+ * - point.history.pipeline.dropped : 재시도 끝에 기록하지 못하고 버린 내역 수 (0 이 아니면 내역 유실)
+ *
+ * 각 컴포넌트가 이미 세고 있는 값을 읽기만 하므로 요청 경로에는 비용이 없다.
+ */
+@Component
+public class PointStoreMetrics {
+
+    public PointStoreMetrics(MeterRegistry meterRegistry, UserPointCache userPointCache, PointHistoryPipeline historyPipeline) {
+        Gauge.builder("point.balance-cache.size", userPointCache, cache -> cache.stats().size())
+                .register(meterRegistry);
+        FunctionCounter.builder("point.balance-cache.hits", userPointCache, cache -> cache.stats().hitCount())
+                .register(meterRegistry);
+        FunctionCounter.builder("point.balance-cache.misses", userPointCache, cache -> cache.stats().missCount())
+                .register(meterRegistry);
+        FunctionCounter.builder("point.balance-cache.evictions", userPointCache, cache -> cache.stats().evictionCount())
+                .register(meterRegistry);
+
+        Gauge.builder("point.history.pipeline.queue-size", historyPipeline, pipeline -> pipeline.stats().queueSize())
+                .register(meterRegistry);
+        Gauge.builder("point.history.pipeline.lag", historyPipeline, pipeline -> pipeline.stats().lagMillis())
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+        FunctionCounter.builder("point.history.pipeline.appended", historyPipeline, pipeline -> pipeline.stats().appendedCount())
+                .register(meterRegistry);
+        FunctionCounter.builder("point.history.pipeline.flushed", historyPipeline, pipeline -> pipeline.stats().flushedCount())
+                .register(meterRegistry);
+        FunctionCounter.builder("point.history.pipeline.batches", historyPipeline, pipeline -> pipeline.stats().batchCount())
+                .register(meterRegistry);
+        FunctionCounter.builder("point.history.pipeline.dropped", historyPipeline, pipeline -> pipeline.stats().droppedCount())
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,21 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.common.PointErrorMessages;
+
+/**
+ * 요청 값/잔액 검증 실패 (400)
+ * 사유(reason)를 함께 보관하여 메시지를 파싱하지 않고 사유별로 집계할 수 있게 한다.
+ */
+public class PointValidationException extends IllegalArgumentException {
+
+    private final PointErrorMessages reason;
+
+    public PointValidationException(PointErrorMessages reason, Object... args) {
+        super(args.length == 0 ? reason.message() : reason.message(args));
+        this.reason = reason;
+    }
+
+    public PointErrorMessages reason() {
+        return reason;
+    }
+}
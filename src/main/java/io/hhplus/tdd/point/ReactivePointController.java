@@ -0,0 +1,55 @@
+package io.hhplus.tdd.point;
+
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * 리액티브 포인트 API - PointController 와 같은 기능을 Mono/Flux 로 제공한다.
+ * 내역은 application/x-ndjson 으로 한 줄에 한 건씩 흘려보낸다. (최신순)
+ */
+@RestController
+@RequestMapping("/reactive/point")
+public class ReactivePointController {
+
+    private static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
+    private final ReactivePointService reactivePointService;
+
+    public ReactivePointController(ReactivePointService reactivePointService) {
+        this.reactivePointService = reactivePointService;
+    }
+
+    @GetMapping("{id}")
+    public Mono<UserPoint> point(
+            @PathVariable long id
+    ) {
+        return reactivePointService.getPoint(id);
+    }
+
+    @GetMapping(value = "{id}/histories", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<PointHistory> history(
+            @PathVariable long id
+    ) {
+        return reactivePointService.streamHistories(id);
+    }
+
+    @PatchMapping("{id}/charge")
+    public Mono<UserPoint> charge(
+            @PathVariable long id,
+            @RequestBody long amount,
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey
+    ) {
+        return reactivePointService.charge(id, amount, idempotencyKey);
+    }
+
+    @PatchMapping("{id}/use")
+    public Mono<UserPoint> use(
+            @PathVariable long id,
+            @RequestBody long amount,
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey
+    ) {
+        return reactivePointService.use(id, amount, idempotencyKey);
+    }
+}
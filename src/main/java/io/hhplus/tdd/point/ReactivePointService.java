@@ -0,0 +1,68 @@
+package io.hhplus.tdd.point;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.concurrent.Callable;
+
+/**
+ * 리액티브 포인트 서비스 - PointService 를 Mono/Flux 로 감싼다.
+ *
+ * - 테이블 지연(sleep)이 있는 호출은 bounded elastic 스케줄러에서 실행하여 요청 스레드를 붙잡지 않는다.
+ * - 같은 유저의 충전/사용은 UserSerialQueue 로 순서대로 하나씩 실행한다. 앞 요청을 기다리는 동안에는 스레드를 쓰지 않으므로,
+ *   한 유저에 요청이 몰려도 유저 락 대기로 스케줄러 스레드가 소진되지 않는다.
+ *   (MVC 경로와 함께 쓰일 수 있으므로 실행 자체는 PointService 의 유저 락을 그대로 거친다)
+ * - 내역은 최신순 페이지 단위로 읽으면서 흘려보내, 전체 내역을 한 번에 모으지 않는다.
+ */
+@Service
+public class ReactivePointService {
+
+    private static final int HISTORY_STREAM_PAGE_SIZE = 500;
+
+    private final PointService pointService;
+    private final Scheduler scheduler;
+    private final UserSerialQueue serialQueue = new UserSerialQueue();
+
+    public ReactivePointService(PointService pointService, ReactiveProperties properties) {
+        this.pointService = pointService;
+        this.scheduler = Schedulers.newBoundedElastic(properties.maxThreads(), properties.queueCapacity(), "point-reactive");
+    }
+
+    public Mono<UserPoint> getPoint(long userId) {
+        return blocking(() -> pointService.getPoint(userId));
+    }
+
+    public Mono<UserPoint> charge(long userId, long amount, String idempotencyKey) {
+        return serialQueue.enqueue(userId, blocking(() -> pointService.charge(userId, amount, idempotencyKey)));
+    }
+
+    public Mono<UserPoint> use(long userId, long amount, String idempotencyKey) {
+        return serialQueue.enqueue(userId, blocking(() -> pointService.use(userId, amount, idempotencyKey)));
+    }
+
+    /**
+     * 내역을 최신순으로 흘려보낸다. 다음 페이지는 앞 페이지를 내보낸 뒤 요청이 오면 읽는다.
+     */
+    public Flux<PointHistory> streamHistories(long userId) {
+        return historyPage(userId, null)
+                .expand(page -> page.nextCursor() == null ? Mono.empty() : historyPage(userId, page.nextCursor()))
+                .concatMapIterable(PointHistoryPage::items);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.dispose();
+    }
+
+    private Mono<PointHistoryPage> historyPage(long userId, Long cursor) {
+        return blocking(() -> pointService.getHistoryPage(userId, cursor, HISTORY_STREAM_PAGE_SIZE, PointHistoryCondition.all()));
+    }
+
+    private <T> Mono<T> blocking(Callable<T> call) {
+        return Mono.fromCallable(call).subscribeOn(scheduler);
+    }
+}
@@ -0,0 +1,16 @@
+package io.hhplus.tdd.point;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * 리액티브 포인트 API(/reactive/point) 설정
+ * - maxThreads : 테이블 호출(blocking)을 실행하는 bounded elastic 스케줄러의 최대 스레드 수
+ * - queueCapacity : 스레드가 모두 사용 중일 때 대기할 수 있는 최대 작업 수
+ */
+@ConfigurationProperties(prefix = "point.reactive")
+public record ReactiveProperties(
+        @DefaultValue("64") int maxThreads,
+        @DefaultValue("100000") int queueCapacity
+) {
+}
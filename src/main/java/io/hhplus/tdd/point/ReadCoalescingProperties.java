@@ -0,0 +1,14 @@
+package io.hhplus.tdd.point;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * 조회 합치기(single flight) 설정
+ * - enabled : 같은 유저의 동시 잔액/내역 조회를 진행 중인 한 번의 테이블 조회로 합칠지 여부
+ */
+@ConfigurationProperties(prefix = "point.read-coalescing")
+public record ReadCoalescingProperties(
+        @DefaultValue("true") boolean enabled
+) {
+}
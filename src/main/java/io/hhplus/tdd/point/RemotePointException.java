@@ -0,0 +1,12 @@
+package io.hhplus.tdd.point;
+
+/**
+ * 담당 노드가 처리하다 실패한 일괄 처리 항목 (담당 노드의 오류 메시지를 그대로 담는다)
+ * 거절 지표는 담당 노드에서 집계하므로 여기서는 집계하지 않는다.
+ */
+public class RemotePointException extends RuntimeException {
+
+    public RemotePointException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,22 @@
+package io.hhplus.tdd.point;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * 샤드 실행 설정
+ * - enabled : 유저 id 해시로 샤드를 나누고, 샤드마다 하나의 스레드가 충전/사용을 순서대로 처리할지 여부
+ * - count : 샤드 수
+ * - queueCapacity : 샤드별 대기열 최대 크기 (가득 차면 요청 스레드가 기다린다)
+ * - batchSize : 샤드가 한 번에 꺼내 처리할 최대 요청 수
+ * - maximumBalances : 샤드들이 메모리에 보관할 잔액의 최대 수 (샤드마다 count 로 나눈 만큼, 오래 쓰이지 않은 유저부터 지운다)
+ */
+@ConfigurationProperties(prefix = "point.shard")
+public record ShardProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("8") int count,
+        @DefaultValue("10000") int queueCapacity,
+        @DefaultValue("256") int batchSize,
+        @DefaultValue("100000") int maximumBalances
+) {
+}
@@ -0,0 +1,144 @@
+package io.hhplus.tdd.point;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * 유저별 임계 구역을 관리하는 락 매니저
+ *
+ * - STRIPED : 유저 id 해시로 고정 크기 락 배열 중 하나를 사용한다. 메모리는 일정하지만 같은 칸의 유저끼리는 서로 기다린다.
+ * - PER_USER : 유저마다 락을 만들고 참조 카운트가 0 이 되면 맵에서 제거한다. 사용 중인 유저 수만큼만 메모리를 쓴다.
+ *
+ * 두 모드 모두 timeout 안에 락을 얻지 못하면 PointLockTimeoutException 을 던진다.
+ */
+@Component
+public class UserLockManager {
+
+    private final UserLocks locks;
+    private final long timeoutNanos;
+
+    public UserLockManager(UserLockProperties properties) {
+        this.locks = properties.mode() == UserLockProperties.Mode.STRIPED
+                ? new StripedUserLocks(properties.stripes())
+                : new RefCountedUserLocks();
+        this.timeoutNanos = properties.timeout().toNanos();
+    }
+
+    /**
+     * 유저 락을 잡은 상태로 action 을 실행한다.
+     */
+    public <T> T executeWithLock(long userId, Supplier<T> action) {
+        ReentrantLock lock = locks.acquire(userId);
+        try {
+            if (!lock.tryLock(timeoutNanos, TimeUnit.NANOSECONDS)) {
+                throw new PointLockTimeoutException(userId);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            locks.release(userId);
+            throw new PointLockTimeoutException(userId);
+        } catch (RuntimeException e) {
+            locks.release(userId);
+            throw e;
+        }
+
+        try {
+            return action.get();
+        } finally {
+            lock.unlock();
+            locks.release(userId);
+        }
+    }
+
+    /**
+     * 현재 메모리에 유지 중인 락 개수
+     */
+    public int size() {
+        return locks.size();
+    }
+
+    private interface UserLocks {
+        ReentrantLock acquire(long userId);
+
+        void release(long userId);
+
+        int size();
+    }
+
+    private static final class StripedUserLocks implements UserLocks {
+        private final ReentrantLock[] stripes;
+        private final int mask;
+
+        StripedUserLocks(int stripeCount) {
+            int size = Integer.highestOneBit(Math.max(1, stripeCount - 1)) << 1;
+            this.stripes = new ReentrantLock[size];
+            this.mask = size - 1;
+            for (int i = 0; i < size; i++) {
+                stripes[i] = new ReentrantLock();
+            }
+        }
+
+        @Override
+        public ReentrantLock acquire(long userId) {
+            return stripes[spread(userId) & mask];
+        }
+
+        @Override
+        public void release(long userId) {
+        }
+
+        @Override
+        public int size() {
+            return stripes.length;
+        }
+
+        /**
+         * 연속된 유저 id 가 인접한 칸에 몰리지 않도록 상위 비트를 섞는다.
+         */
+        private static int spread(long userId) {
+            long h = userId * 0x9E3779B97F4A7C15L;
+            return (int) (h ^ (h >>> 32));
+        }
+    }
+
+    private static final class RefCountedUserLocks implements UserLocks {
+        private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+
+        @Override
+        public ReentrantLock acquire(long userId) {
+            return entries.compute(userId, (id, entry) -> entry == null ? new Entry() : entry.retain()).lock;
+        }
+
+        @Override
+        public void release(long userId) {
+            entries.computeIfPresent(userId, (id, entry) -> entry.release() == 0 ? null : entry);
+        }
+
+        @Override
+        public int size() {
+            return entries.size();
+        }
+
+        /**
+         * 참조 카운트는 맵의 compute 안에서만 바뀌므로 별도 동기화가 필요 없다.
+         */
+        private static final class Entry {
+            private final ReentrantLock lock = new ReentrantLock();
+            private int references = 1;
+
+            Entry retain() {
+                references++;
+                return this;
+            }
+
+            int release() {
+                return --references;
+            }
+        }
+    }
+}
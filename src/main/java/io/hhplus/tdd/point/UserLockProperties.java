@@ -0,0 +1,24 @@
+package io.hhplus.tdd.point;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * 유저 락 설정
+ * - mode : STRIPED(고정 크기 락 배열) / PER_USER(참조 카운트 기반 유저별 락)
+ * - stripes : STRIPED 모드의 락 개수 (2의 거듭제곱으로 올림)
+ * - timeout : 락 획득 최대 대기 시간
+ */
+@ConfigurationProperties(prefix = "point.lock")
+public record UserLockProperties(
+        @DefaultValue("PER_USER") Mode mode,
+        @DefaultValue("1024") int stripes,
+        @DefaultValue("30s") Duration timeout
+) {
+
+    public enum Mode {
+        STRIPED, PER_USER
+    }
+}
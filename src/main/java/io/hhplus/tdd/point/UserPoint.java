@@ -1,5 +1,8 @@
 package io.hhplus.tdd.point;
 
+import io.hhplus.tdd.common.PointConstants;
+import io.hhplus.tdd.common.PointErrorMessages;
+
 public record UserPoint(
         long id,
         long point,
@@ -10,4 +13,30 @@ public record UserPoint(
         return new UserPoint(id, 0, System.currentTimeMillis());
     }
 
+    /**
+     * 충전 후 잔액 계산 (최대 보유 포인트 검증)
+     */
+    public UserPoint charge(long amount) {
+        long newAmount = point + amount;
+
+        if (newAmount > PointConstants.MAX_POINT) {
+            throw new PointValidationException(PointErrorMessages.MAX_POINT_EXCEEDED, PointConstants.MAX_POINT);
+        }
+
+        return new UserPoint(id, newAmount, System.currentTimeMillis());
+    }
+
+    /**
+     * 사용 후 잔액 계산 (잔액 부족 검증)
+     */
+    public UserPoint use(long amount) {
+        long newAmount = point - amount;
+
+        if (newAmount < 0) {
+            throw new PointValidationException(PointErrorMessages.INSUFFICIENT_POINT, point);
+        }
+
+        return new UserPoint(id, newAmount, System.currentTimeMillis());
+    }
+
 }
@@ -0,0 +1,138 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.UserPointTable;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * UserPointTable 앞단의 write-through 잔액 캐시
+ *
+ * - 잔액의 유일한 쓰기 주체는 PointService 이므로, 테이블에 쓴 값을 그대로 캐시에 반영하면 캐시가 최신 상태를 유지한다.
+ * - 캐시 미스는 테이블에서 읽어 채운다. 쓰기와 경합하지 않도록 호출하는 쪽에서 유저 락을 잡은 채로 get 을 호출한다.
+ * - 유저 id 해시로 나눈 세그먼트마다 접근 순서 LinkedHashMap 을 두어 LRU 로 방출한다.
+ */
+@Component
+public class UserPointCache {
+
+    private static final int SEGMENT_COUNT = 16;
+
+    private final UserPointTable userPointTable;
+    private final boolean enabled;
+    private final Segment[] segments = new Segment[SEGMENT_COUNT];
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+
+    public UserPointCache(UserPointTable userPointTable, BalanceCacheProperties properties) {
+        this.userPointTable = userPointTable;
+        this.enabled = properties.enabled();
+        int segmentSize = Math.max(1, properties.maximumSize() / SEGMENT_COUNT);
+        for (int i = 0; i < SEGMENT_COUNT; i++) {
+            segments[i] = new Segment(segmentSize);
+        }
+    }
+
+    /**
+     * 캐시에 있는 값만 반환한다. (없으면 null)
+     */
+    public UserPoint getIfPresent(long userId) {
+        if (!enabled) {
+            return null;
+        }
+
+        UserPoint cached = segmentOf(userId).get(userId);
+        if (cached != null) {
+            hitCount.increment();
+        }
+        return cached;
+    }
+
+    /**
+     * 캐시에 없으면 테이블에서 읽어 채운 뒤 반환한다. 유저 락을 잡은 상태에서 호출해야 한다.
+     */
+    public UserPoint get(long userId) {
+        UserPoint cached = getIfPresent(userId);
+        if (cached != null) {
+            return cached;
+        }
+
+        UserPoint loaded = userPointTable.selectById(userId);
+        if (enabled) {
+            missCount.increment();
+            segmentOf(userId).put(userId, loaded);
+        }
+        return loaded;
+    }
+
+    /**
+     * 테이블에 기록된 값을 캐시에 반영한다. 유저 락을 잡은 상태에서 호출해야 한다.
+     */
+    public void put(UserPoint userPoint) {
+        if (enabled) {
+            segmentOf(userPoint.id()).put(userPoint.id(), userPoint);
+        }
+    }
+
+    public void invalidateAll() {
+        for (Segment segment : segments) {
+            segment.clear();
+        }
+    }
+
+    public CacheStats stats() {
+        long size = 0;
+        for (Segment segment : segments) {
+            size += segment.size();
+        }
+        return new CacheStats(hitCount.sum(), missCount.sum(), evictionCount.sum(), size);
+    }
+
+    private Segment segmentOf(long userId) {
+        return segments[(Long.hashCode(userId) & 0x7fffffff) % SEGMENT_COUNT];
+    }
+
+    public record CacheStats(
+            long hitCount,
+            long missCount,
+            long evictionCount,
+            long size
+    ) {
+    }
+
+    private final class Segment {
+        private final Map<Long, UserPoint> entries;
+
+        Segment(int maximumSize) {
+            this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Long, UserPoint> eldest) {
+                    boolean evict = size() > maximumSize;
+                    if (evict) {
+                        evictionCount.increment();
+                    }
+                    return evict;
+                }
+            };
+        }
+
+        synchronized UserPoint get(long userId) {
+            return entries.get(userId);
+        }
+
+        synchronized void put(long userId, UserPoint userPoint) {
+            entries.put(userId, userPoint);
+        }
+
+        synchronized void clear() {
+            entries.clear();
+        }
+
+        synchronized int size() {
+            return entries.size();
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package io.hhplus.tdd.point;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 유저별 요청 한도(token bucket)와 대기 한도
+ *
+ * - 유저 id 해시로 고정 크기 슬롯을 정한다. 유저 수와 관계없이 메모리는 slots 개의 long/int 로 고정되며,
+ *   같은 슬롯에 모인 유저는 한도를 나누어 쓴다. (한도를 더 엄격하게 적용하는 쪽으로만 틀린다)
+ * - token bucket 은 GCRA 방식으로 슬롯마다 "다음 요청이 허용되는 이론상 시각(TAT)" 하나만 두고 compare-and-set 으로 갱신한다.
+ *   TAT 가 현재 시각보다 burst 만큼 이상 앞서 있으면 거절한다. 락이 없다.
+ * - 대기 한도는 슬롯별 처리 중 요청 수를 세어 maxQueued 를 넘으면 거절한다.
+ */
+final class UserRateLimiter {
+
+    private final AtomicLongArray theoreticalArrivals;
+    private final AtomicIntegerArray inFlight;
+    private final int mask;
+    private final long intervalNanos;
+    private final long toleranceNanos;
+    private final int maxQueued;
+    private final long originNanos = System.nanoTime();
+
+    UserRateLimiter(int slots, double permitsPerSecond, int burst, int maxQueued) {
+        if (slots < 1 || permitsPerSecond <= 0 || burst < 1 || maxQueued < 1) {
+            throw new IllegalArgumentException("slots, permitsPerSecond, burst, maxQueued 는 0 보다 커야 합니다.");
+        }
+        int capped = Math.min(slots, 1 << 30);
+        int size = Integer.highestOneBit(capped);
+        size = size < capped ? size << 1 : size;
+        this.theoreticalArrivals = new AtomicLongArray(size);
+        this.inFlight = new AtomicIntegerArray(size);
+        this.mask = size - 1;
+        this.intervalNanos = Math.max(1L, (long) (1_000_000_000L / permitsPerSecond));
+        this.toleranceNanos = intervalNanos * (burst - 1);
+        this.maxQueued = maxQueued;
+    }
+
+    /**
+     * 요청 하나를 허용하면 0, 아니면 다시 허용될 때까지 남은 시간(ns)을 반환한다.
+     */
+    long tryAcquire(long userId) {
+        int slot = slotOf(userId);
+        long now = System.nanoTime() - originNanos;
+        while (true) {
+            long arrival = theoreticalArrivals.get(slot);
+            long start = Math.max(arrival, now);
+            long waitNanos = start - now - toleranceNanos;
+            if (waitNanos > 0) {
+                return waitNanos;
+            }
+            if (theoreticalArrivals.compareAndSet(slot, arrival, start + intervalNanos)) {
+                return 0L;
+            }
+        }
+    }
+
+    /**
+     * tryAcquire 로 허용받은 요청이 뒤의 검사에서 거절되면 쓴 만큼 TAT 를 되돌린다.
+     * 그 사이 다른 요청이 TAT 를 옮겼어도 간격 하나만 빼므로 다른 요청의 몫은 건드리지 않는다.
+     */
+    void refund(long userId) {
+        theoreticalArrivals.addAndGet(slotOf(userId), -intervalNanos);
+    }
+
+    /**
+     * 처리 중 요청 수를 하나 늘린다. maxQueued 를 넘으면 되돌리고 false
+     */
+    boolean enter(long userId) {
+        int slot = slotOf(userId);
+        if (inFlight.incrementAndGet(slot) > maxQueued) {
+            inFlight.decrementAndGet(slot);
+            return false;
+        }
+        return true;
+    }
+
+    void exit(long userId) {
+        inFlight.decrementAndGet(slotOf(userId));
+    }
+
+    int slots() {
+        return mask + 1;
+    }
+
+    /**
+     * 연속된 id 가 이웃 슬롯에 몰리지 않도록 섞는다. (murmur3 fmix64)
+     */
+    private int slotOf(long userId) {
+        long h = userId;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return (int) h & mask;
+    }
+}
@@ -0,0 +1,60 @@
+package io.hhplus.tdd.point;
+
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+
+/**
+ * 유저별 비동기 직렬 실행 대기열
+ *
+ * - 유저마다 마지막으로 들어온 작업의 완료 future(tail)만 보관한다. 새 작업은 tail 을 자신의 것으로 바꾸고,
+ *   이전 tail 이 끝난 뒤(성공/실패/취소 무관) 구독된다.
+ * - 앞 작업을 기다리는 동안 스레드를 점유하지 않는다. 대기열이 비면 tail 을 지운다.
+ * - Mono(enqueue)와 executor 에서 실행할 작업(execute) 모두 같은 방식으로 잇는다.
+ */
+class UserSerialQueue {
+
+    private static final CompletableFuture<Void> IDLE = CompletableFuture.completedFuture(null);
+
+    private final Map<Long, CompletableFuture<Void>> tails = new ConcurrentHashMap<>();
+
+    <T> Mono<T> enqueue(long userId, Mono<T> task) {
+        return Mono.defer(() -> {
+            CompletableFuture<Void> done = new CompletableFuture<>();
+            CompletableFuture<Void> previous = tails.put(userId, done);
+            CompletableFuture<Void> ready = (previous == null ? IDLE : previous).exceptionally(e -> null);
+
+            return Mono.fromFuture(ready)
+                    .then(task)
+                    .doFinally(signal -> {
+                        tails.remove(userId, done);
+                        done.complete(null);
+                    });
+        });
+    }
+
+    /**
+     * 앞 작업이 끝난 뒤(성공/실패 무관) task 를 executor 에서 실행한다. 반환한 future 는 task 가 끝나면 완료된다.
+     */
+    CompletableFuture<Void> execute(long userId, Runnable task, Executor executor) {
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        CompletableFuture<Void> previous = tails.put(userId, done);
+        CompletableFuture<Void> ready = (previous == null ? IDLE : previous).exceptionally(e -> null);
+
+        return ready.thenRunAsync(task, executor)
+                .whenComplete((result, e) -> {
+                    tails.remove(userId, done);
+                    done.complete(null);
+                });
+    }
+
+    /**
+     * 대기 중이거나 실행 중인 작업이 있는 유저 수
+     */
+    int size() {
+        return tails.size();
+    }
+}
@@ -0,0 +1,125 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class DurableTableRecoveryTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void 재시작하면_잔액이_복구된다() throws InterruptedException {
+        // given
+        DurablePointHistoryTable histories = new DurablePointHistoryTable(properties(1_000));
+        DurableUserPointTable table = new DurableUserPointTable(properties(1_000), histories);
+        histories.insertAll(List.of(charge(1L, 1_000L), charge(2L, 2_000L), charge(1L, 500L)));
+        table.insertOrUpdate(1L, 1_000L);
+        table.insertOrUpdate(2L, 2_000L);
+        table.insertOrUpdate(1L, 1_500L);
+        table.close();
+        histories.close();
+
+        // when
+        DurablePointHistoryTable restartedHistories = new DurablePointHistoryTable(properties(1_000));
+        DurableUserPointTable restarted = new DurableUserPointTable(properties(1_000), restartedHistories);
+
+        // then
+        assertThat(restarted.selectById(1L).point()).isEqualTo(1_500L);
+        assertThat(restarted.selectById(2L).point()).isEqualTo(2_000L);
+        restarted.close();
+        restartedHistories.close();
+    }
+
+    @Test
+    void 스냅샷_이후의_로그만_재생해도_최신_잔액이_복구된다() throws InterruptedException {
+        // given - 스냅샷 이전/이후 변경
+        DurablePointHistoryTable histories = new DurablePointHistoryTable(properties(1_000));
+        DurableUserPointTable table = new DurableUserPointTable(properties(1_000), histories);
+        histories.insertAll(List.of(charge(1L, 1_000L), charge(2L, 2_000L)));
+        table.insertOrUpdate(1L, 1_000L);
+        table.insertOrUpdate(2L, 2_000L);
+        table.snapshot();
+        histories.insertAll(List.of(new PointHistory(0L, 1L, 300L, TransactionType.USE, 0L)));
+        table.insertOrUpdate(1L, 700L);
+        table.close();
+        histories.close();
+
+        // when
+        DurablePointHistoryTable restartedHistories = new DurablePointHistoryTable(properties(1_000));
+        DurableUserPointTable restarted = new DurableUserPointTable(properties(1_000), restartedHistories);
+
+        // then
+        assertThat(restarted.selectById(1L).point()).isEqualTo(700L);
+        assertThat(restarted.selectById(2L).point()).isEqualTo(2_000L);
+        assertThat(restarted.selectAll()).hasSize(2);
+        restarted.close();
+        restartedHistories.close();
+    }
+
+    @Test
+    void 잔액과_내역_기록_사이에_종료되면_재시작_시_내역_합계로_잔액을_바로잡는다() throws InterruptedException {
+        // given - 유저 1 은 잔액만 기록되고 내역은 남지 않았다. 유저 2 는 내역만 기록되고 잔액은 남지 않았다.
+        DurablePointHistoryTable histories = new DurablePointHistoryTable(properties(1_000));
+        DurableUserPointTable table = new DurableUserPointTable(properties(1_000), histories);
+        histories.insertAll(List.of(charge(1L, 1_000L), charge(2L, 2_000L)));
+        table.insertOrUpdate(1L, 1_000L);
+        table.insertOrUpdate(2L, 2_000L);
+        table.insertOrUpdate(1L, 1_800L);
+        histories.insertAll(List.of(charge(2L, 300L)));
+        table.close();
+        histories.close();
+
+        // when
+        DurablePointHistoryTable restartedHistories = new DurablePointHistoryTable(properties(1_000));
+        DurableUserPointTable restarted = new DurableUserPointTable(properties(1_000), restartedHistories);
+
+        // then
+        assertThat(restarted.selectById(1L).point()).isEqualTo(1_000L);
+        assertThat(restarted.selectById(2L).point()).isEqualTo(2_300L);
+        restarted.close();
+
+        // 보정한 잔액도 로그에 남아 다시 시작해도 같다.
+        DurableUserPointTable restartedAgain = new DurableUserPointTable(properties(1_000), restartedHistories);
+        assertThat(restartedAgain.selectById(1L).point()).isEqualTo(1_000L);
+        restartedAgain.close();
+        restartedHistories.close();
+    }
+
+    @Test
+    void 재시작하면_내역과_id_발급_위치가_복구된다() {
+        // given
+        DurablePointHistoryTable table = new DurablePointHistoryTable(properties(1_000));
+        table.insert(1L, 1_000L, TransactionType.CHARGE, 1L);
+        table.insertAll(List.of(
+                new PointHistory(0L, 1L, 300L, TransactionType.USE, 2L),
+                new PointHistory(0L, 2L, 500L, TransactionType.CHARGE, 3L)
+        ));
+        table.close();
+
+        // when
+        DurablePointHistoryTable restarted = new DurablePointHistoryTable(properties(1_000));
+        PointHistory next = restarted.insert(1L, 200L, TransactionType.USE, 4L);
+
+        // then
+        assertThat(restarted.selectAllByUserId(1L)).extracting(PointHistory::amount).containsExactly(1_000L, 300L, 200L);
+        assertThat(restarted.selectAllByUserId(2L)).hasSize(1);
+        assertThat(next.id()).isEqualTo(4L);
+        restarted.close();
+    }
+
+    private static PointHistory charge(long userId, long amount) {
+        return new PointHistory(0L, userId, amount, TransactionType.CHARGE, 0L);
+    }
+
+    private PersistenceProperties properties(int snapshotInterval) {
+        return new PersistenceProperties(true, directory, snapshotInterval, PersistenceProperties.HistoryEngine.LOG, 1_048_576);
+    }
+}
@@ -0,0 +1,117 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.UserPoint;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+public class LongBalanceMapTest {
+
+    @Test
+    void 용량을_넘겨_저장해도_모든_잔액을_조회할_수_있다() {
+        // given - 초기 용량보다 많은 유저
+        LongBalanceMap balances = new LongBalanceMap(4);
+
+        // when
+        for (long id = 1; id <= 1_000; id++) {
+            balances.put(id, id * 10, id);
+        }
+        balances.put(7L, 1L, 2L);
+
+        // then
+        assertThat(balances.size()).isEqualTo(1_000);
+        assertThat(balances.get(7L, UserPoint::new)).isEqualTo(new UserPoint(7L, 1L, 2L));
+        assertThat(balances.get(1_000L, UserPoint::new)).isEqualTo(new UserPoint(1_000L, 10_000L, 1_000L));
+        assertThat(balances.get(1_001L, UserPoint::new)).isNull();
+    }
+
+    @Test
+    void 빈_칸_표시와_같은_id_도_저장된다() {
+        // given
+        LongBalanceMap balances = new LongBalanceMap(4);
+
+        // when
+        balances.put(Long.MIN_VALUE, 500L, 1L);
+
+        // then
+        assertThat(balances.get(Long.MIN_VALUE, UserPoint::new)).isEqualTo(new UserPoint(Long.MIN_VALUE, 500L, 1L));
+        List<Long> ids = new ArrayList<>();
+        balances.forEach((id, point, updateMillis) -> ids.add(id));
+        assertThat(ids).containsExactly(Long.MIN_VALUE);
+    }
+
+    @Test
+    void 확장_중에도_기존_유저의_잔액은_항상_조회된다() throws InterruptedException {
+        // given
+        LongBalanceMap balances = new LongBalanceMap(4);
+        balances.put(0L, 100L, 0L);
+        int writerCount = 4;
+        CountDownLatch latch = new CountDownLatch(writerCount + 1);
+        List<UserPoint> missing = new ArrayList<>();
+
+        // when - 다른 유저 저장으로 확장이 반복되는 동안 0번 유저를 계속 조회
+        try (ExecutorService executorService = Executors.newFixedThreadPool(writerCount + 1)) {
+            for (int i = 0; i < writerCount; i++) {
+                long offset = i;
+                executorService.submit(() -> {
+                    try {
+                        for (long id = 1; id <= 50_000; id++) {
+                            balances.put(id * writerCount + offset, id, id);
+                        }
+                    } finally {
+                        latch.countDown();
+                    }
+                });
+            }
+            executorService.submit(() -> {
+                try {
+                    for (int j = 0; j < 200_000; j++) {
+                        UserPoint userPoint = balances.get(0L, UserPoint::new);
+                        if (userPoint == null || userPoint.point() != 100L) {
+                            synchronized (missing) {
+                                missing.add(userPoint);
+                            }
+                        }
+                    }
+                } finally {
+                    latch.countDown();
+                }
+            });
+            latch.await();
+        }
+
+        // then
+        assertThat(missing).isEmpty();
+        assertThat(balances.size()).isEqualTo(writerCount * 50_000 + 1);
+    }
+
+    @Test
+    void 확장_중에_없는_유저를_조회해도_멈추지_않고_null_을_반환한다() {
+        // given - 확장 직후 EMPTY 로 채워지기 전의 배열을 낙관적 읽기가 보더라도 탐사가 끝나야 한다.
+        LongBalanceMap balances = new LongBalanceMap(4);
+
+        // when & then
+        assertTimeoutPreemptively(Duration.ofSeconds(30), () -> {
+            try (ExecutorService executorService = Executors.newFixedThreadPool(2)) {
+                executorService.submit(() -> {
+                    for (long id = 1; id <= 200_000; id++) {
+                        balances.put(id, id, id);
+                    }
+                });
+                executorService.submit(() -> {
+                    for (int j = 0; j < 200_000; j++) {
+                        assertThat(balances.get(-1L - j, UserPoint::new)).isNull();
+                    }
+                });
+            }
+        });
+    }
+}
@@ -0,0 +1,95 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointHistoryCondition;
+import io.hhplus.tdd.point.TransactionType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class MappedPointHistoryTableTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void 세그먼트가_가득_차면_다음_세그먼트에_이어서_기록한다() {
+        // given - 세그먼트당 2건
+        MappedPointHistoryTable table = new MappedPointHistoryTable(properties(2));
+
+        // when
+        for (int i = 0; i < 5; i++) {
+            table.insert(1L, 100L * (i + 1), TransactionType.CHARGE, i);
+        }
+
+        // then
+        assertThat(table.selectAllByUserId(1L)).extracting(PointHistory::amount)
+                .containsExactly(100L, 200L, 300L, 400L, 500L);
+        assertThat(directory.resolve("history-000002.seg")).exists();
+        table.close();
+    }
+
+    @Test
+    void 재시작하면_세그먼트를_훑어_내역과_id_발급_위치를_복구한다() {
+        // given
+        MappedPointHistoryTable table = new MappedPointHistoryTable(properties(2));
+        table.insert(1L, 1_000L, TransactionType.CHARGE, 1L);
+        table.insertAll(List.of(
+                new PointHistory(0L, 2L, 500L, TransactionType.CHARGE, 2L),
+                new PointHistory(0L, 1L, 300L, TransactionType.USE, 3L)
+        ));
+        table.close();
+
+        // when
+        MappedPointHistoryTable restarted = new MappedPointHistoryTable(properties(2));
+        PointHistory next = restarted.insert(1L, 200L, TransactionType.USE, 4L);
+
+        // then
+        assertThat(restarted.selectAllByUserId(1L)).extracting(PointHistory::amount).containsExactly(1_000L, 300L, 200L);
+        assertThat(restarted.selectAllByUserId(2L)).hasSize(1);
+        assertThat(next.id()).isEqualTo(4L);
+        restarted.close();
+    }
+
+    @Test
+    void 내역을_최신순으로_cursor_이전부터_조건에_맞게_조회한다() {
+        // given - CHARGE, USE 를 번갈아 5건 등록
+        MappedPointHistoryTable table = new MappedPointHistoryTable(properties(3));
+        for (int i = 0; i < 5; i++) {
+            TransactionType type = i % 2 == 0 ? TransactionType.CHARGE : TransactionType.USE;
+            table.insert(1L, 100L * (i + 1), type, 1_000L + i);
+        }
+
+        // when
+        List<PointHistory> firstPage = table.selectPageByUserId(1L, Long.MAX_VALUE, 2, PointHistoryCondition.all());
+        List<PointHistory> secondPage = table.selectPageByUserId(1L, firstPage.get(1).id(), 2, PointHistoryCondition.all());
+        List<PointHistory> charges = table.selectPageByUserId(1L, Long.MAX_VALUE, 10,
+                new PointHistoryCondition(1_001L, null, TransactionType.CHARGE));
+
+        // then
+        assertThat(firstPage).extracting(PointHistory::amount).containsExactly(500L, 400L);
+        assertThat(secondPage).extracting(PointHistory::amount).containsExactly(300L, 200L);
+        assertThat(charges).extracting(PointHistory::amount).containsExactly(500L, 300L);
+        table.close();
+    }
+
+    @Test
+    void 세그먼트_크기_설정이_기존_파일과_다르면_시작하지_않는다() {
+        // given
+        MappedPointHistoryTable table = new MappedPointHistoryTable(properties(2));
+        table.insert(1L, 100L, TransactionType.CHARGE, 1L);
+        table.close();
+
+        // when & then
+        assertThatThrownBy(() -> new MappedPointHistoryTable(properties(4)))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    private PersistenceProperties properties(int segmentRecords) {
+        return new PersistenceProperties(true, directory, 1_000, PersistenceProperties.HistoryEngine.MAPPED, segmentRecords);
+    }
+}
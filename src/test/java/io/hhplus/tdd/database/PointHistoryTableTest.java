@@ -0,0 +1,179 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointHistoryCondition;
+import io.hhplus.tdd.point.TransactionType;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class PointHistoryTableTest {
+
+    private final PointHistoryTable pointHistoryTable = new PointHistoryTable();
+
+    @Test
+    void 내역이_없는_유저는_빈_리스트를_반환한다() {
+        // when
+        List<PointHistory> result = pointHistoryTable.selectAllByUserId(1L);
+
+        // then
+        assertThat(result).isEmpty();
+    }
+
+    @Test
+    void 유저별_내역만_등록_순서대로_조회된다() {
+        // given
+        pointHistoryTable.insert(1L, 1000L, TransactionType.CHARGE, System.currentTimeMillis());
+        pointHistoryTable.insert(2L, 2000L, TransactionType.CHARGE, System.currentTimeMillis());
+        pointHistoryTable.insert(1L, 500L, TransactionType.USE, System.currentTimeMillis());
+
+        // when
+        List<PointHistory> result = pointHistoryTable.selectAllByUserId(1L);
+
+        // then
+        assertThat(result).hasSize(2);
+        assertThat(result).allMatch(history -> history.userId() == 1L);
+        assertThat(result.get(0).type()).isEqualTo(TransactionType.CHARGE);
+        assertThat(result.get(1).type()).isEqualTo(TransactionType.USE);
+        assertThat(result.get(0).id()).isLessThan(result.get(1).id());
+    }
+
+    @Test
+    void 내역을_최신순으로_cursor_이전부터_조건에_맞게_조회한다() {
+        // given - CHARGE, USE 를 번갈아 5건 등록
+        for (int i = 0; i < 5; i++) {
+            TransactionType type = i % 2 == 0 ? TransactionType.CHARGE : TransactionType.USE;
+            pointHistoryTable.insert(1L, 100L * (i + 1), type, 1_000L + i);
+        }
+        List<PointHistory> all = pointHistoryTable.selectAllByUserId(1L);
+
+        // when
+        List<PointHistory> firstPage = pointHistoryTable.selectPageByUserId(1L, Long.MAX_VALUE, 2, PointHistoryCondition.all());
+        List<PointHistory> secondPage = pointHistoryTable.selectPageByUserId(1L, firstPage.get(1).id(), 2, PointHistoryCondition.all());
+        List<PointHistory> charges = pointHistoryTable.selectPageByUserId(1L, Long.MAX_VALUE, 10,
+                new PointHistoryCondition(1_001L, null, TransactionType.CHARGE));
+
+        // then
+        assertThat(firstPage).containsExactly(all.get(4), all.get(3));
+        assertThat(secondPage).containsExactly(all.get(2), all.get(1));
+        assertThat(charges).containsExactly(all.get(4), all.get(2));
+    }
+
+    @Test
+    void 동시에_여러_내역을_등록해도_유실이나_중복_id가_없다() throws InterruptedException {
+        int threadCount = 20;
+        int insertPerThread = 5;
+        long userCount = 4;
+
+        ExecutorService executorService = Executors.newFixedThreadPool(threadCount);
+        CountDownLatch latch = new CountDownLatch(threadCount);
+
+        for (int i = 0; i < threadCount; i++) {
+            long userId = i % userCount;
+            executorService.submit(() -> {
+                try {
+                    for (int j = 0; j < insertPerThread; j++) {
+                        pointHistoryTable.insert(userId, 1000L, TransactionType.CHARGE, System.currentTimeMillis());
+                    }
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+
+        latch.await();
+        executorService.shutdown();
+
+        // then - 유저별 내역 수가 정확하고, 전체 id 는 중복되지 않으며 유저 내에서는 오름차순이다
+        List<Long> ids = new ArrayList<>();
+        for (long userId = 0; userId < userCount; userId++) {
+            List<PointHistory> histories = pointHistoryTable.selectAllByUserId(userId);
+            assertThat(histories).hasSize((int) (threadCount / userCount * insertPerThread));
+            assertThat(histories).extracting(PointHistory::id).isSorted();
+            histories.forEach(history -> ids.add(history.id()));
+        }
+        assertThat(ids).doesNotHaveDuplicates().hasSize(threadCount * insertPerThread);
+    }
+
+    @Test
+    void 앞선_id_가_기록되기_전에는_뒤에_기록된_id_도_scan_에_나오지_않는다() {
+        // given - 유저 1의 id 를 먼저 발급받고, 기록하기 전에 유저 2의 내역이 더 큰 id 로 기록된다.
+        long reservedId = pointHistoryTable.nextId();
+        PointHistory other = pointHistoryTable.insert(2L, 2_000L, TransactionType.CHARGE, 0L);
+
+        // when
+        List<PointHistory> beforePublish = new ArrayList<>();
+        pointHistoryTable.scan(0L, Long.MAX_VALUE, beforePublish::add);
+        PointHistory reserved = new PointHistory(reservedId, 1L, 1_000L, TransactionType.CHARGE, 0L);
+        pointHistoryTable.insertAll(List.of(reserved));
+        List<PointHistory> afterPublish = new ArrayList<>();
+        pointHistoryTable.scan(0L, Long.MAX_VALUE, afterPublish::add);
+
+        // then
+        assertThat(beforePublish).isEmpty();
+        assertThat(afterPublish).containsExactly(reserved, other);
+    }
+
+    @Test
+    void 다른_유저의_내역이_기록되는_중에_마지막으로_받은_id_부터_이어_받아도_빠지는_내역이_없다() throws Exception {
+        // given - 지연 없는 테이블에 id 를 미리 발급받고 잠시 뒤 기록하는 쓰기(파이프라인과 같은 방식)를 여러 유저에 동시에 한다.
+        PointHistoryTable table = new PointHistoryTable() {
+            @Override
+            protected void throttle(long millis) {
+            }
+        };
+        int writerCount = 8;
+        int insertPerWriter = 500;
+        AtomicBoolean writing = new AtomicBoolean(true);
+        List<Long> exported = new ArrayList<>();
+
+        // when - 쓰는 동안 내보내기를 반복하고, 매번 마지막으로 받은 id 부터 이어 받는다.
+        try (ExecutorService executorService = Executors.newFixedThreadPool(writerCount)) {
+            List<Future<?>> writers = new ArrayList<>();
+            for (int i = 0; i < writerCount; i++) {
+                long userId = i;
+                writers.add(executorService.submit(() -> {
+                    for (int j = 0; j < insertPerWriter; j++) {
+                        long id = table.nextId();
+                        if (ThreadLocalRandom.current().nextInt(4) == 0) {
+                            Thread.yield();
+                        }
+                        table.insertAll(List.of(new PointHistory(id, userId, 100L, TransactionType.CHARGE, 0L)));
+                    }
+                }));
+            }
+            Thread exporter = Thread.ofPlatform().start(() -> {
+                long afterId = 0L;
+                while (true) {
+                    boolean last = !writing.get();
+                    List<Long> received = new ArrayList<>();
+                    table.scan(afterId, Long.MAX_VALUE, history -> received.add(history.id()));
+                    exported.addAll(received);
+                    if (!received.isEmpty()) {
+                        afterId = received.get(received.size() - 1);
+                    }
+                    if (last) {
+                        return;
+                    }
+                }
+            });
+            for (Future<?> writer : writers) {
+                writer.get();
+            }
+            writing.set(false);
+            exporter.join();
+        }
+
+        // then
+        assertThat(exported).hasSize(writerCount * insertPerWriter).doesNotHaveDuplicates().isSorted();
+    }
+}
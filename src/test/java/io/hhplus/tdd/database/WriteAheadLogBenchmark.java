@@ -0,0 +1,54 @@
+package io.hhplus.tdd.database;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * 로그 추가 처리량 벤치마크 (./gradlew benchmark)
+ * 동시에 기록하는 스레드 수별로 초당 기록 건수와 fsync 한 번에 묶인 평균 레코드 수를 출력한다.
+ */
+@Tag("benchmark")
+public class WriteAheadLogBenchmark {
+
+    private static final int RECORDS_PER_THREAD = 5_000;
+
+    @TempDir
+    Path directory;
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 8, 64, 256})
+    void 동시_기록_스레드_수별_처리량(int threadCount) throws InterruptedException {
+        try (WriteAheadLog wal = new WriteAheadLog(directory.resolve("t" + threadCount), "bench");
+             ExecutorService executorService = Executors.newVirtualThreadPerTaskExecutor()) {
+            CountDownLatch latch = new CountDownLatch(threadCount);
+
+            long start = System.nanoTime();
+            for (int i = 0; i < threadCount; i++) {
+                executorService.submit(() -> {
+                    try {
+                        ByteBuffer record = ByteBuffer.allocate(PointHistoryRecord.SIZE);
+                        for (int j = 0; j < RECORDS_PER_THREAD; j++) {
+                            wal.awaitDurable(wal.append(record.clear().position(PointHistoryRecord.SIZE).flip()));
+                        }
+                    } finally {
+                        latch.countDown();
+                    }
+                });
+            }
+            latch.await();
+            long elapsedNanos = System.nanoTime() - start;
+
+            long records = (long) threadCount * RECORDS_PER_THREAD;
+            System.out.printf("[wal] threads=%3d records=%,d appends/s=%,.0f records/fsync=%.1f%n",
+                    threadCount, records, records / (elapsedNanos / 1_000_000_000.0), records / (double) wal.syncCount());
+        }
+    }
+}
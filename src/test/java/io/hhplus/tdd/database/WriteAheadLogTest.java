@@ -0,0 +1,113 @@
+package io.hhplus.tdd.database;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class WriteAheadLogTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void 기록한_레코드를_순서대로_재생한다() {
+        // given
+        try (WriteAheadLog wal = new WriteAheadLog(directory, "test")) {
+            for (long i = 1; i <= 3; i++) {
+                wal.awaitDurable(wal.append(record(i)));
+            }
+        }
+
+        // when
+        List<Long> replayed = replay();
+
+        // then
+        assertThat(replayed).containsExactly(1L, 2L, 3L);
+    }
+
+    @Test
+    void 쓰는_도중_종료되어_잘린_레코드는_버리고_이후_기록을_이어간다() throws IOException {
+        // given - 정상 레코드 2건 뒤에 헤더만 쓰고 본문이 잘린 레코드
+        try (WriteAheadLog wal = new WriteAheadLog(directory, "test")) {
+            wal.awaitDurable(wal.append(record(1L)));
+            wal.awaitDurable(wal.append(record(2L)));
+        }
+        Path segment = singleSegment();
+        long validSize = Files.size(segment);
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            channel.write(ByteBuffer.allocate(12).putInt(Long.BYTES).putInt(0).putInt(42).flip());
+        }
+
+        // when - 재시작 후 재생하고 새 레코드를 기록
+        List<Long> replayed = new ArrayList<>();
+        try (WriteAheadLog wal = new WriteAheadLog(directory, "test")) {
+            wal.replay(1L, buffer -> replayed.add(buffer.getLong()));
+            wal.awaitDurable(wal.append(record(3L)));
+        }
+
+        // then - 잘린 레코드는 잘려 나가고, 새 레코드는 그 자리부터 이어진다
+        assertThat(replayed).containsExactly(1L, 2L);
+        assertThat(replay()).containsExactly(1L, 2L, 3L);
+        assertThat(Files.size(segment)).isEqualTo(validSize + 16);
+    }
+
+    @Test
+    void 체크섬이_맞지_않는_꼬리_레코드는_버린다() throws IOException {
+        // given - 마지막 레코드의 본문 1 byte 가 손상됨
+        try (WriteAheadLog wal = new WriteAheadLog(directory, "test")) {
+            wal.awaitDurable(wal.append(record(1L)));
+            wal.awaitDurable(wal.append(record(2L)));
+        }
+        Path segment = singleSegment();
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[]{(byte) 0xFF}), Files.size(segment) - 1);
+        }
+
+        // when & then
+        assertThat(replay()).containsExactly(1L);
+    }
+
+    @Test
+    void 세그먼트를_넘긴_뒤_이전_세그먼트를_지우면_이후_레코드만_남는다() {
+        // given
+        try (WriteAheadLog wal = new WriteAheadLog(directory, "test")) {
+            wal.awaitDurable(wal.append(record(1L)));
+            long segment = wal.rotate();
+            wal.awaitDurable(wal.append(record(2L)));
+
+            // when
+            wal.deleteSegmentsBefore(segment);
+        }
+
+        // then
+        assertThat(replay()).containsExactly(2L);
+    }
+
+    private List<Long> replay() {
+        List<Long> replayed = new ArrayList<>();
+        try (WriteAheadLog wal = new WriteAheadLog(directory, "test")) {
+            wal.replay(1L, buffer -> replayed.add(buffer.getLong()));
+        }
+        return replayed;
+    }
+
+    private Path singleSegment() throws IOException {
+        try (var files = Files.list(directory)) {
+            return files.filter(path -> path.toString().endsWith(".wal")).findFirst().orElseThrow();
+        }
+    }
+
+    private ByteBuffer record(long value) {
+        return ByteBuffer.allocate(Long.BYTES).putLong(value).flip();
+    }
+}
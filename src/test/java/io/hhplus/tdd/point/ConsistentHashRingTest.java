@@ -0,0 +1,51 @@
+package io.hhplus.tdd.point;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class ConsistentHashRingTest {
+
+    private static final int USERS = 30_000;
+
+    @Test
+    void 유저를_노드에_고르게_나눈다() {
+        // given
+        ConsistentHashRing ring = new ConsistentHashRing(List.of("http://a:8080", "http://b:8080", "http://c:8080"), 128);
+
+        // when
+        Map<String, Integer> counts = new HashMap<>();
+        for (long userId = 1; userId <= USERS; userId++) {
+            counts.merge(ring.ownerOf(userId), 1, Integer::sum);
+        }
+
+        // then - 노드별 1/3 에서 크게 벗어나지 않는다
+        assertThat(counts).hasSize(3);
+        assertThat(counts.values()).allSatisfy(count -> assertThat(count).isBetween(USERS / 4, USERS * 5 / 12));
+    }
+
+    @Test
+    void 노드를_추가하면_일부_유저만_새_노드로_옮겨간다() {
+        // given
+        List<String> nodes = List.of("http://a:8080", "http://b:8080", "http://c:8080");
+        ConsistentHashRing before = new ConsistentHashRing(nodes, 128);
+        ConsistentHashRing after = new ConsistentHashRing(List.of("http://a:8080", "http://b:8080", "http://c:8080", "http://d:8080"), 128);
+
+        // when
+        int moved = 0;
+        for (long userId = 1; userId <= USERS; userId++) {
+            String owner = after.ownerOf(userId);
+            if (!owner.equals(before.ownerOf(userId))) {
+                moved++;
+                assertThat(owner).isEqualTo("http://d:8080");
+            }
+        }
+
+        // then - 약 1/4 만 옮겨간다
+        assertThat(moved).isBetween(USERS / 8, USERS * 3 / 8);
+    }
+}
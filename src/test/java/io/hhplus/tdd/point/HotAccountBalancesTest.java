@@ -0,0 +1,159 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.common.PointConstants;
+import io.hhplus.tdd.common.PointErrorMessages;
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.UserPointTable;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class HotAccountBalancesTest {
+
+    private static final long USER_ID = 1L;
+
+    private final UserPointTable userPointTable = new UserPointTable();
+    private final PointHistoryTable pointHistoryTable = new PointHistoryTable();
+    private final HotAccountBalances hotAccounts = new HotAccountBalances(
+            userPointTable,
+            new PointHistoryPipeline(pointHistoryTable, new HistoryPipelineProperties(false, 10_000, 500)),
+            new PointMetrics(new SimpleMeterRegistry(),
+                    new UserLockManager(new UserLockProperties(UserLockProperties.Mode.PER_USER, 1024, Duration.ofSeconds(30))),
+                    new PointMetricsProperties(Duration.ofMillis(1), 10)),
+            new HotAccountProperties(Set.of(USER_ID), 4),
+            new SimpleMeterRegistry());
+
+    @Test
+    void 한_슬롯보다_큰_사용도_합계가_충분하면_성공하고_합계보다_크면_실패한다() {
+        // given - 잔액 1,000 을 슬롯 4개에 250 씩 나누어 둔다.
+        userPointTable.insertOrUpdate(USER_ID, 1_000L);
+
+        // when
+        PointCommandResult used = hotAccounts.apply(USER_ID, List.of(PointCommand.use(USER_ID, 800L))).get(0);
+        PointCommandResult rejected = hotAccounts.apply(USER_ID, List.of(PointCommand.use(USER_ID, 300L))).get(0);
+
+        // then
+        assertThat(used.userPoint().point()).isEqualTo(200L);
+        assertThat(rejected.error())
+                .hasMessage(PointErrorMessages.INSUFFICIENT_POINT.message(200L));
+        assertThat(hotAccounts.get(USER_ID).point()).isEqualTo(200L);
+        assertThat(userPointTable.selectById(USER_ID).point()).isEqualTo(200L);
+    }
+
+    @Test
+    void 동시에_충전해도_합계가_최대_포인트를_넘지_않는다() throws InterruptedException {
+        // given - 최대 포인트를 1,000 씩 두 배만큼 충전 요청
+        int threadCount = (int) (PointConstants.MAX_POINT / 1_000L) * 2;
+        CountDownLatch latch = new CountDownLatch(threadCount);
+        AtomicInteger successCount = new AtomicInteger();
+
+        // when
+        try (ExecutorService executorService = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < threadCount; i++) {
+                executorService.submit(() -> {
+                    try {
+                        if (hotAccounts.apply(USER_ID, List.of(PointCommand.charge(USER_ID, 1_000L))).get(0).isSuccess()) {
+                            successCount.incrementAndGet();
+                        }
+                    } finally {
+                        latch.countDown();
+                    }
+                });
+            }
+            latch.await();
+        }
+
+        // then
+        assertThat(successCount.get()).isEqualTo(threadCount / 2);
+        assertThat(hotAccounts.get(USER_ID).point()).isEqualTo(PointConstants.MAX_POINT);
+        assertThat(userPointTable.selectById(USER_ID).point()).isEqualTo(PointConstants.MAX_POINT);
+    }
+
+    @Test
+    void 동시에_충전과_사용을_요청해도_합계와_테이블과_내역이_일치한다() throws InterruptedException {
+        // given - 초기 잔액 10,000 에서 충전 1,000 x 40 건, 사용 700 x 40 건
+        userPointTable.insertOrUpdate(USER_ID, 10_000L);
+        int threadCount = 80;
+        CountDownLatch latch = new CountDownLatch(threadCount);
+
+        // when
+        try (ExecutorService executorService = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < threadCount; i++) {
+                PointCommand command = i % 2 == 0 ? PointCommand.charge(USER_ID, 1_000L) : PointCommand.use(USER_ID, 700L);
+                executorService.submit(() -> {
+                    try {
+                        hotAccounts.apply(USER_ID, List.of(command)).get(0).getOrThrow();
+                    } finally {
+                        latch.countDown();
+                    }
+                });
+            }
+            latch.await();
+        }
+
+        // then
+        long expected = 10_000L + 40 * 1_000L - 40 * 700L;
+        assertThat(hotAccounts.get(USER_ID).point()).isEqualTo(expected);
+        assertThat(userPointTable.selectById(USER_ID).point()).isEqualTo(expected);
+        assertThat(pointHistoryTable.selectAllByUserId(USER_ID)).hasSize(threadCount);
+    }
+
+    @Test
+    void 슬롯을_다시_나누는_중에도_조회와_결과는_어느_한_시점의_합계만_보인다() throws Exception {
+        // given - 잔액 1,000 에서 한 슬롯(250)보다 큰 600 을 사용하고 다시 충전하기를 반복하면 합계는 1,000 또는 400 뿐이다.
+        userPointTable.insertOrUpdate(USER_ID, 1_000L);
+        hotAccounts.get(USER_ID);
+        int workerCount = 4;
+        int rounds = 10;
+        Set<Long> observed = ConcurrentHashMap.newKeySet();
+        AtomicBoolean running = new AtomicBoolean(true);
+
+        // when
+        // 조회는 쉬지 않고 도는 루프라 캐리어 스레드를 붙잡지 않도록 플랫폼 스레드에서 돌린다.
+        Thread reader = Thread.ofPlatform().start(() -> {
+            while (running.get()) {
+                observed.add(hotAccounts.get(USER_ID).point());
+            }
+        });
+        try (ExecutorService executorService = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> workers = new ArrayList<>();
+            for (int i = 0; i < workerCount; i++) {
+                workers.add(executorService.submit(() -> {
+                    for (int round = 0; round < rounds; round++) {
+                        PointCommandResult used = hotAccounts.apply(USER_ID, List.of(PointCommand.use(USER_ID, 600L))).get(0);
+                        if (!used.isSuccess()) {
+                            continue;
+                        }
+                        observed.add(used.userPoint().point());
+                        observed.add(hotAccounts.apply(USER_ID, List.of(PointCommand.charge(USER_ID, 600L))).get(0)
+                                .getOrThrow().point());
+                    }
+                }));
+            }
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        } finally {
+            running.set(false);
+            reader.join();
+        }
+
+        // then
+        assertThat(observed).isSubsetOf(1_000L, 400L);
+        assertThat(hotAccounts.get(USER_ID).point()).isEqualTo(1_000L);
+        assertThat(userPointTable.selectById(USER_ID).point()).isEqualTo(1_000L);
+    }
+}
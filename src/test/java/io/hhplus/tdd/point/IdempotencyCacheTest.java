@@ -0,0 +1,142 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.common.PointErrorMessages;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class IdempotencyCacheTest {
+
+    private static final long TEST_USER_ID = 1L;
+    private static final PointCommand CHARGE = PointCommand.charge(TEST_USER_ID, 1_000L);
+
+    @Test
+    void 처리_중인_요청과_같은_키의_재시도는_실행하지_않고_원_요청의_결과를_기다린다() throws Exception {
+        // given
+        IdempotencyCache cache = cache(100, Duration.ofMinutes(10));
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger executions = new AtomicInteger();
+        UserPoint charged = new UserPoint(TEST_USER_ID, 1_000L, 1L);
+
+        CompletableFuture<UserPoint> original = CompletableFuture.supplyAsync(() -> cache.execute("key", CHARGE, () -> {
+            executions.incrementAndGet();
+            started.countDown();
+            await(release);
+            return charged;
+        }));
+        started.await();
+
+        // when
+        CompletableFuture<UserPoint> retry = CompletableFuture.supplyAsync(() -> cache.execute("key", CHARGE, () -> {
+            executions.incrementAndGet();
+            return UserPoint.empty(TEST_USER_ID);
+        }));
+        release.countDown();
+
+        // then
+        assertThat(original.get()).isEqualTo(charged);
+        assertThat(retry.get()).isEqualTo(charged);
+        assertThat(executions.get()).isEqualTo(1);
+    }
+
+    @Test
+    void 같은_키로_다른_요청을_보내면_예외가_발생한다() {
+        // given
+        IdempotencyCache cache = cache(100, Duration.ofMinutes(10));
+        cache.execute("key", CHARGE, () -> UserPoint.empty(TEST_USER_ID));
+
+        // when & then
+        assertThatThrownBy(() -> cache.execute("key", PointCommand.use(TEST_USER_ID, 1_000L), () -> UserPoint.empty(TEST_USER_ID)))
+                .isInstanceOf(PointValidationException.class)
+                .hasMessage(PointErrorMessages.IDEMPOTENCY_KEY_REUSED.message());
+    }
+
+    @Test
+    void 실패한_요청이나_만료된_키는_다시_실행한다() {
+        // given
+        IdempotencyCache cache = cache(100, Duration.ZERO);
+        AtomicInteger executions = new AtomicInteger();
+
+        // when
+        assertThatThrownBy(() -> cache.execute("failed", CHARGE, () -> {
+            executions.incrementAndGet();
+            throw new PointValidationException(PointErrorMessages.INSUFFICIENT_POINT, 0L);
+        })).isInstanceOf(PointValidationException.class);
+        cache.execute("failed", CHARGE, () -> UserPoint.empty(TEST_USER_ID));
+        cache.execute("expired", CHARGE, () -> UserPoint.empty(TEST_USER_ID));
+        cache.execute("expired", CHARGE, () -> {
+            executions.incrementAndGet();
+            return UserPoint.empty(TEST_USER_ID);
+        });
+
+        // then
+        assertThat(executions.get()).isEqualTo(2);
+    }
+
+    @Test
+    void 최대_크기를_넘으면_오래된_키부터_방출한다() {
+        // given - 세그먼트당 1건
+        IdempotencyCache cache = cache(16, Duration.ofMinutes(10));
+
+        // when
+        for (int i = 0; i < 1_000; i++) {
+            cache.execute("key-" + i, CHARGE, () -> UserPoint.empty(TEST_USER_ID));
+        }
+
+        // then
+        assertThat(cache.size()).isLessThanOrEqualTo(16);
+    }
+
+    @Test
+    void 처리_중인_키는_크기를_넘어도_방출되지_않아_재시도가_다시_실행되지_않는다() throws Exception {
+        // given - 세그먼트당 1건, 원 요청이 처리 중인 동안 다른 키 1,000 건이 끝난다.
+        IdempotencyCache cache = cache(16, Duration.ofMinutes(10));
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger executions = new AtomicInteger();
+        UserPoint charged = new UserPoint(TEST_USER_ID, 1_000L, 1L);
+
+        CompletableFuture<UserPoint> original = CompletableFuture.supplyAsync(() -> cache.execute("key", CHARGE, () -> {
+            executions.incrementAndGet();
+            started.countDown();
+            await(release);
+            return charged;
+        }));
+        started.await();
+        for (int i = 0; i < 1_000; i++) {
+            cache.execute("other-" + i, CHARGE, () -> UserPoint.empty(TEST_USER_ID));
+        }
+
+        // when
+        CompletableFuture<UserPoint> retry = CompletableFuture.supplyAsync(() -> cache.execute("key", CHARGE, () -> {
+            executions.incrementAndGet();
+            return UserPoint.empty(TEST_USER_ID);
+        }));
+        release.countDown();
+
+        // then
+        assertThat(retry.get()).isEqualTo(charged);
+        assertThat(original.get()).isEqualTo(charged);
+        assertThat(executions.get()).isEqualTo(1);
+        assertThat(cache.size()).isLessThanOrEqualTo(17);
+    }
+
+    private IdempotencyCache cache(int maximumSize, Duration ttl) {
+        return new IdempotencyCache(new IdempotencyProperties(true, maximumSize, ttl), new SimpleMeterRegistry());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
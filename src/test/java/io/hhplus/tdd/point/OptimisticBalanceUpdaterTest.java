@@ -0,0 +1,116 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.UserPointTable;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class OptimisticBalanceUpdaterTest {
+
+    private static final long USER_ID = 1L;
+
+    private final UserPointTable userPointTable = new UserPointTable();
+    private final PointHistoryTable pointHistoryTable = new PointHistoryTable();
+    private final OptimisticBalanceUpdater updater = updater(100_000);
+
+    private OptimisticBalanceUpdater updater(int maximumCells) {
+        return new OptimisticBalanceUpdater(
+                userPointTable,
+                new PointHistoryPipeline(pointHistoryTable, new HistoryPipelineProperties(false, 10_000, 500)),
+                new PointMetrics(new SimpleMeterRegistry(),
+                        new UserLockManager(new UserLockProperties(UserLockProperties.Mode.PER_USER, 1024, Duration.ofSeconds(30))),
+                        new PointMetricsProperties(Duration.ofMillis(1), 10)),
+                new BalanceUpdateProperties(BalanceUpdateProperties.Mode.OPTIMISTIC, maximumCells));
+    }
+
+    @Test
+    void 동시에_충전과_사용을_요청해도_변경이_유실되지_않는다() throws InterruptedException {
+        // given - 초기 잔액 10,000 에서 충전 1,000 x 40 건, 사용 500 x 40 건
+        updater.apply(USER_ID, List.of(PointCommand.charge(USER_ID, 10_000L)));
+        int threadCount = 80;
+        CountDownLatch latch = new CountDownLatch(threadCount);
+
+        // when
+        try (ExecutorService executorService = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < threadCount; i++) {
+                PointCommand command = i % 2 == 0 ? PointCommand.charge(USER_ID, 1_000L) : PointCommand.use(USER_ID, 500L);
+                executorService.submit(() -> {
+                    try {
+                        updater.apply(USER_ID, List.of(command)).get(0).getOrThrow();
+                    } finally {
+                        latch.countDown();
+                    }
+                });
+            }
+            latch.await();
+        }
+
+        // then - 최신 버전, 테이블, 내역이 모두 같은 결과를 가리킨다.
+        long expected = 10_000L + 40 * 1_000L - 40 * 500L;
+        assertThat(updater.get(USER_ID).point()).isEqualTo(expected);
+        assertThat(userPointTable.selectById(USER_ID).point()).isEqualTo(expected);
+
+        List<PointHistory> histories = pointHistoryTable.selectAllByUserId(USER_ID);
+        assertThat(histories).hasSize(threadCount + 1);
+        assertThat(histories).extracting(PointHistory::id).isSorted();
+    }
+
+    @Test
+    void 잔액이_부족한_요청은_커밋하지_않고_나머지_요청만_반영한다() throws InterruptedException {
+        // given - 잔액 1,000 에서 600 사용 요청 5건이 동시에 경쟁
+        updater.apply(USER_ID, List.of(PointCommand.charge(USER_ID, 1_000L)));
+        int threadCount = 5;
+        CountDownLatch latch = new CountDownLatch(threadCount);
+        AtomicInteger successCount = new AtomicInteger();
+
+        // when
+        try (ExecutorService executorService = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < threadCount; i++) {
+                executorService.submit(() -> {
+                    try {
+                        if (updater.apply(USER_ID, List.of(PointCommand.use(USER_ID, 600L))).get(0).isSuccess()) {
+                            successCount.incrementAndGet();
+                        }
+                    } finally {
+                        latch.countDown();
+                    }
+                });
+            }
+            latch.await();
+        }
+
+        // then
+        assertThat(successCount.get()).isEqualTo(1);
+        assertThat(updater.get(USER_ID).point()).isEqualTo(400L);
+        assertThat(pointHistoryTable.selectAllByUserId(USER_ID)).hasSize(2);
+    }
+
+    @Test
+    void 조회는_셀을_만들지_않고_처리가_끝난_셀은_최대_개수까지만_남긴다() {
+        // given
+        OptimisticBalanceUpdater bounded = updater(2);
+
+        // when
+        for (long userId = 100; userId < 110; userId++) {
+            bounded.get(userId);
+        }
+        for (long userId = 1; userId <= 5; userId++) {
+            bounded.apply(userId, List.of(PointCommand.charge(userId, 1_000L)));
+        }
+        bounded.apply(1L, List.of(PointCommand.use(1L, 300L)));
+
+        // then - 지워진 셀의 유저도 테이블에서 최신 잔액을 다시 읽는다.
+        assertThat(bounded.size()).isLessThanOrEqualTo(2);
+        assertThat(bounded.get(1L).point()).isEqualTo(700L);
+        assertThat(bounded.get(5L).point()).isEqualTo(1_000L);
+    }
+}
@@ -0,0 +1,109 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.common.PointErrorMessages;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class PointAdmissionControlTest {
+
+    private static final long USER_ID = 1L;
+
+    private PointAdmissionControl admissionControl(double permitsPerSecond, int burst, int maxQueuedPerUser, int limit) {
+        return new PointAdmissionControl(
+                new AdmissionProperties(true, permitsPerSecond, burst, maxQueuedPerUser, 1024, limit, limit, limit,
+                        Duration.ofSeconds(1), 0.9),
+                new SimpleMeterRegistry());
+    }
+
+    @Test
+    void 몰아서_허용하는_수를_넘긴_요청은_다시_허용될_때까지의_시간과_함께_거절된다() {
+        // given - 초당 1건, 한 번에 3건까지
+        PointAdmissionControl admissionControl = admissionControl(1, 3, 100, 100);
+        for (int i = 0; i < 3; i++) {
+            admissionControl.admit(USER_ID).release();
+        }
+
+        // when & then
+        assertThatThrownBy(() -> admissionControl.admit(USER_ID))
+                .isInstanceOf(PointAdmissionException.class)
+                .hasMessage(PointErrorMessages.RATE_LIMITED.message(USER_ID))
+                .extracting(e -> ((PointAdmissionException) e).retryAfterSeconds())
+                .isEqualTo(1L);
+        // 다른 유저는 영향을 받지 않는다.
+        assertThatCode(() -> admissionControl.admit(2L).release()).doesNotThrowAnyException();
+    }
+
+    @Test
+    void 한_유저에_대해_처리_중인_요청이_대기_한도를_넘으면_거절되고_반환하면_다시_수락된다() {
+        // given
+        PointAdmissionControl admissionControl = admissionControl(1_000, 1_000, 2, 100);
+        PointAdmissionControl.Permit first = admissionControl.admit(USER_ID);
+        admissionControl.admit(USER_ID);
+
+        // when & then
+        assertThatThrownBy(() -> admissionControl.admit(USER_ID))
+                .isInstanceOf(PointAdmissionException.class)
+                .hasMessage(PointErrorMessages.USER_QUEUE_FULL.message(USER_ID));
+
+        first.release();
+        first.release(); // 두 번 반환해도 한 번만 반영된다.
+        assertThatCode(() -> admissionControl.admit(USER_ID)).doesNotThrowAnyException();
+        assertThatThrownBy(() -> admissionControl.admit(USER_ID))
+                .hasMessage(PointErrorMessages.USER_QUEUE_FULL.message(USER_ID));
+    }
+
+    @Test
+    void 전체_동시_처리_한도를_넘으면_유저와_관계없이_거절된다() {
+        // given - 전체 한도 2
+        PointAdmissionControl admissionControl = admissionControl(1_000, 1_000, 100, 2);
+        admissionControl.admit(1L);
+        PointAdmissionControl.Permit second = admissionControl.admit(2L);
+
+        // when & then
+        assertThatThrownBy(() -> admissionControl.admit(3L))
+                .isInstanceOf(PointAdmissionException.class)
+                .hasMessage(PointErrorMessages.SERVER_OVERLOADED.message());
+
+        second.release();
+        assertThatCode(() -> admissionControl.admit(3L)).doesNotThrowAnyException();
+    }
+
+    @Test
+    void 대기_한도나_전체_한도로_거절된_요청은_요청_한도를_쓰지_않는다() {
+        // given - 초당 1건, 한 번에 2건까지, 유저별 대기 1건, 전체 한도 1
+        PointAdmissionControl admissionControl = admissionControl(1, 2, 1, 1);
+        PointAdmissionControl.Permit first = admissionControl.admit(USER_ID);
+
+        // when - 대기 한도와 전체 한도로 한 번씩 거절된다.
+        assertThatThrownBy(() -> admissionControl.admit(USER_ID))
+                .hasMessage(PointErrorMessages.USER_QUEUE_FULL.message(USER_ID));
+        first.release();
+        PointAdmissionControl.Permit other = admissionControl.admit(2L);
+        assertThatThrownBy(() -> admissionControl.admit(USER_ID))
+                .hasMessage(PointErrorMessages.SERVER_OVERLOADED.message());
+        other.release();
+
+        // then - 거절된 두 요청은 한도를 쓰지 않았으므로 남은 1건이 수락된다.
+        assertThatCode(() -> admissionControl.admit(USER_ID).release()).doesNotThrowAnyException();
+        assertThatThrownBy(() -> admissionControl.admit(USER_ID))
+                .hasMessage(PointErrorMessages.RATE_LIMITED.message(USER_ID));
+    }
+
+    @Test
+    void 일괄_처리의_유저별_묶음은_전체_한도와_관계없이_유저별_한도만_검사한다() {
+        // given - 전체 한도 1 을 일괄 요청이 이미 쓰고 있다.
+        PointAdmissionControl admissionControl = admissionControl(1, 2, 100, 1);
+        admissionControl.admit(null);
+
+        // when & then
+        assertThatCode(() -> admissionControl.admitUser(USER_ID).release()).doesNotThrowAnyException();
+        assertThatCode(() -> admissionControl.admitUser(USER_ID).release()).doesNotThrowAnyException();
+        assertThatThrownBy(() -> admissionControl.admitUser(USER_ID))
+                .isInstanceOf(PointAdmissionException.class)
+                .hasMessage(PointErrorMessages.RATE_LIMITED.message(USER_ID));
+    }
+}
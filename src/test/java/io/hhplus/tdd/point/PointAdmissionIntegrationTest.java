@@ -0,0 +1,71 @@
+package io.hhplus.tdd.point;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.hhplus.tdd.common.PointErrorMessages;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = {
+        "point.admission.enabled=true",
+        "point.admission.permits-per-second=1",
+        "point.admission.burst=2"
+})
+@AutoConfigureMockMvc
+public class PointAdmissionIntegrationTest {
+
+    private static final long TEST_USER_ID = 777L;
+    private static final long BATCH_USER_ID = 778L;
+    private static final long OTHER_BATCH_USER_ID = 779L;
+
+    @Autowired
+    MockMvc mvc;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Test
+    void 요청_한도를_넘긴_유저의_요청은_429_와_Retry_After_로_거절된다() throws Exception {
+        // given
+        for (int i = 0; i < 2; i++) {
+            mvc.perform(get("/point/{id}", TEST_USER_ID))
+                    .andExpect(status().isOk());
+        }
+
+        // when & then
+        mvc.perform(get("/point/{id}", TEST_USER_ID))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"))
+                .andExpect(jsonPath("$.code").value("429"))
+                .andExpect(jsonPath("$.message").value(PointErrorMessages.RATE_LIMITED.message(TEST_USER_ID)));
+    }
+
+    @Test
+    void 일괄_처리도_유저별_묶음마다_요청_한도를_적용한다() throws Exception {
+        // given - 같은 유저가 포함된 일괄 요청을 한도(2)만큼 보낸다.
+        String body = objectMapper.writeValueAsString(List.of(
+                PointCommand.charge(BATCH_USER_ID, 1_000L),
+                PointCommand.charge(OTHER_BATCH_USER_ID, 1_000L)));
+        mvc.perform(post("/point/batch").contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isOk());
+        mvc.perform(post("/point/batch").contentType(MediaType.APPLICATION_JSON).content(
+                        objectMapper.writeValueAsString(List.of(PointCommand.charge(BATCH_USER_ID, 1_000L)))))
+                .andExpect(status().isOk());
+
+        // when & then - 한도를 다 쓴 유저의 묶음만 실패하고, 다른 유저의 묶음은 처리된다.
+        mvc.perform(post("/point/batch").contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].error").value(PointErrorMessages.RATE_LIMITED.message(BATCH_USER_ID)))
+                .andExpect(jsonPath("$[1].userPoint.point").value(2_000L));
+    }
+}
@@ -0,0 +1,54 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.PointHistoryTable;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class PointBalanceCheckpointsTest {
+
+    private static final long TEST_USER_ID = 1L;
+
+    private final PointHistoryTable pointHistoryTable = new PointHistoryTable();
+
+    @Test
+    void 시점까지의_내역만_반영한_잔액을_조회한다() {
+        // given - 체크포인트 3건마다, updateMillis 10, 20, ... 100 에 100 씩 충전 (10건)
+        PointHistoryPipeline pipeline = new PointHistoryPipeline(pointHistoryTable, new HistoryPipelineProperties(false, 100, 10));
+        PointBalanceCheckpoints checkpoints = new PointBalanceCheckpoints(pointHistoryTable, pipeline, new BalanceCheckpointProperties(3));
+        List<PointHistory> histories = new ArrayList<>();
+        for (int i = 1; i <= 10; i++) {
+            histories.add(new PointHistory(0L, TEST_USER_ID, 100L, TransactionType.CHARGE, i * 10L));
+        }
+        pipeline.appendAll(histories);
+        pipeline.append(TEST_USER_ID, 250L, TransactionType.USE, 110L);
+
+        // when & then
+        assertThat(checkpoints.balanceAt(TEST_USER_ID, 5L)).isEqualTo(new UserPoint(TEST_USER_ID, 0L, 0L));
+        assertThat(checkpoints.balanceAt(TEST_USER_ID, 30L)).isEqualTo(new UserPoint(TEST_USER_ID, 300L, 30L));
+        assertThat(checkpoints.balanceAt(TEST_USER_ID, 55L)).isEqualTo(new UserPoint(TEST_USER_ID, 500L, 50L));
+        assertThat(checkpoints.balanceAt(TEST_USER_ID, 100L)).isEqualTo(new UserPoint(TEST_USER_ID, 1_000L, 100L));
+        assertThat(checkpoints.balanceAt(TEST_USER_ID, Long.MAX_VALUE)).isEqualTo(new UserPoint(TEST_USER_ID, 750L, 110L));
+    }
+
+    @Test
+    void 생성_시_기존_내역으로_체크포인트를_다시_만든다() {
+        // given
+        pointHistoryTable.insertAll(List.of(
+                new PointHistory(0L, TEST_USER_ID, 1_000L, TransactionType.CHARGE, 10L),
+                new PointHistory(0L, TEST_USER_ID, 300L, TransactionType.USE, 20L),
+                new PointHistory(0L, TEST_USER_ID, 500L, TransactionType.CHARGE, 30L)
+        ));
+        PointHistoryPipeline pipeline = new PointHistoryPipeline(pointHistoryTable, new HistoryPipelineProperties(false, 100, 10));
+
+        // when
+        PointBalanceCheckpoints checkpoints = new PointBalanceCheckpoints(pointHistoryTable, pipeline, new BalanceCheckpointProperties(2));
+
+        // then
+        assertThat(checkpoints.balanceAt(TEST_USER_ID, 20L).point()).isEqualTo(700L);
+        assertThat(checkpoints.balanceAt(TEST_USER_ID, 30L).point()).isEqualTo(1_200L);
+    }
+}
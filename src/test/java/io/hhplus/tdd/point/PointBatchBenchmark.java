@@ -0,0 +1,106 @@
+package io.hhplus.tdd.point;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.hhplus.tdd.common.TestDataInitializer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * 단건 충전 API 와 일괄 처리 API 의 처리량 비교 (./gradlew benchmark)
+ * 같은 충전 요청 묶음(유저 수 x 유저당 요청 수)을 각 방식으로 처리하고 초당 처리 건수를 출력한다.
+ */
+@Tag("benchmark")
+@SpringBootTest
+@AutoConfigureMockMvc
+public class PointBatchBenchmark {
+
+    private static final int USER_COUNT = 200;
+    private static final int OPERATIONS_PER_USER = 5;
+    private static final int CLIENT_THREADS = 64;
+    private static final long CHARGE_AMOUNT = 1_000L;
+
+    @Autowired
+    MockMvc mvc;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Autowired
+    TestDataInitializer initializer;
+
+    @BeforeEach
+    void resetTestData() {
+        initializer.resetAll();
+    }
+
+    @Test
+    void 단건_API_와_일괄_API_처리량_비교() throws Exception {
+        int operations = USER_COUNT * OPERATIONS_PER_USER;
+
+        long singleNanos = runSingle();
+        initializer.resetAll();
+        long batchNanos = runBatch();
+
+        System.out.printf("[batch] operations=%,d single=%,.1f ops/s (%d client threads) batch=%,.1f ops/s (1 request)%n",
+                operations,
+                operations / (singleNanos / 1_000_000_000.0), CLIENT_THREADS,
+                operations / (batchNanos / 1_000_000_000.0));
+    }
+
+    private long runSingle() throws Exception {
+        ExecutorService executorService = Executors.newFixedThreadPool(CLIENT_THREADS);
+        List<Future<?>> futures = new ArrayList<>();
+
+        long start = System.nanoTime();
+        for (long userId = 1; userId <= USER_COUNT; userId++) {
+            for (int i = 0; i < OPERATIONS_PER_USER; i++) {
+                long id = userId;
+                futures.add(executorService.submit(() -> {
+                    mvc.perform(patch("/point/{id}/charge", id)
+                                    .contentType(MediaType.APPLICATION_JSON)
+                                    .content(String.valueOf(CHARGE_AMOUNT)))
+                            .andExpect(status().isOk());
+                    return null;
+                }));
+            }
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        long elapsed = System.nanoTime() - start;
+        executorService.shutdown();
+        return elapsed;
+    }
+
+    private long runBatch() throws Exception {
+        List<PointCommand> commands = new ArrayList<>();
+        for (long userId = 1; userId <= USER_COUNT; userId++) {
+            for (int i = 0; i < OPERATIONS_PER_USER; i++) {
+                commands.add(PointCommand.charge(userId, CHARGE_AMOUNT));
+            }
+        }
+        String body = objectMapper.writeValueAsString(commands);
+
+        long start = System.nanoTime();
+        mvc.perform(post("/point/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isOk());
+        return System.nanoTime() - start;
+    }
+}
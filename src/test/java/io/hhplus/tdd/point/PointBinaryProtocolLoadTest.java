@@ -0,0 +1,176 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.common.PointConstants;
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.UserPointTable;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * REST(PATCH /point/{id}/use)와 바이너리 프로토콜의 처리량 비교 (./gradlew benchmark)
+ *
+ * 테이블 지연(throttle)을 없애 전송 방식(JSON 파싱/직렬화, HTTP 프레이밍) 비용만 남기고,
+ * 같은 유저들에게 같은 수의 사용 요청을 보내 초당 처리 건수를 출력한다.
+ * - REST : HTTP/1.1 연결 CONCURRENCY 개에서 요청/응답을 하나씩 주고받는다.
+ * - 바이너리 : 연결 CONNECTIONS 개에서 연결당 WINDOW 개까지 응답을 기다리지 않고 이어 보낸다.
+ */
+@Tag("benchmark")
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+                "point.binary.enabled=true",
+                "point.binary.port=0"
+        }
+)
+public class PointBinaryProtocolLoadTest {
+
+    private static final int REQUESTS = Integer.getInteger("load.requests", 100_000);
+    private static final int USERS = 1_000;
+    private static final long USE_AMOUNT = 101L;
+    private static final int CONCURRENCY = 64;
+    private static final int CONNECTIONS = 4;
+    private static final int WINDOW = 256;
+
+    @LocalServerPort
+    int port;
+
+    @Autowired
+    PointBinaryServer binaryServer;
+
+    @Autowired
+    PointService pointService;
+
+    @Test
+    void REST_와_바이너리_프로토콜의_사용_요청_처리량_비교() {
+        for (long userId = 1; userId <= USERS; userId++) {
+            pointService.charge(userId, PointConstants.MAX_POINT);
+        }
+
+        double restPerSecond = runRest();
+        double binaryPerSecond = runBinary();
+
+        System.out.printf("[transport] requests=%,d rest=%,.0f req/s binary=%,.0f req/s (x%.1f)%n",
+                REQUESTS, restPerSecond, binaryPerSecond, binaryPerSecond / restPerSecond);
+
+        long usesPerUser = 2L * REQUESTS / USERS;
+        for (long userId = 1; userId <= USERS; userId++) {
+            assertThat(pointService.getPoint(userId).point()).isEqualTo(PointConstants.MAX_POINT - usesPerUser * USE_AMOUNT);
+        }
+    }
+
+    private double runRest() {
+        AtomicLong succeeded = new AtomicLong();
+        long start = System.nanoTime();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .executor(executor)
+                    .connectTimeout(Duration.ofSeconds(30))
+                    .build();
+            for (int worker = 0; worker < CONCURRENCY; worker++) {
+                int offset = worker;
+                executor.submit(() -> {
+                    for (int i = offset; i < REQUESTS; i += CONCURRENCY) {
+                        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/point/" + userIdOf(i) + "/use"))
+                                .header("Content-Type", "application/json")
+                                .method("PATCH", HttpRequest.BodyPublishers.ofString(String.valueOf(USE_AMOUNT)))
+                                .build();
+                        if (client.send(request, HttpResponse.BodyHandlers.ofString()).statusCode() == 200) {
+                            succeeded.incrementAndGet();
+                        }
+                    }
+                    return null;
+                });
+            }
+        }
+        double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+
+        assertThat(succeeded.get()).isEqualTo(REQUESTS);
+        return REQUESTS / elapsedSeconds;
+    }
+
+    private double runBinary() {
+        List<PointBinaryClient> clients = new ArrayList<>(CONNECTIONS);
+        for (int i = 0; i < CONNECTIONS; i++) {
+            clients.add(new PointBinaryClient("localhost", binaryServer.port()));
+        }
+
+        AtomicLong succeeded = new AtomicLong();
+        long start = System.nanoTime();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int connection = 0; connection < CONNECTIONS; connection++) {
+                PointBinaryClient client = clients.get(connection);
+                int offset = connection;
+                executor.submit(() -> {
+                    Semaphore window = new Semaphore(WINDOW);
+                    List<CompletableFuture<UserPoint>> responses = new ArrayList<>();
+                    for (int i = offset; i < REQUESTS; i += CONNECTIONS) {
+                        window.acquire();
+                        responses.add(client.use(userIdOf(i), USE_AMOUNT).whenComplete((userPoint, e) -> {
+                            window.release();
+                            if (e == null) {
+                                succeeded.incrementAndGet();
+                            }
+                        }));
+                    }
+                    responses.forEach(CompletableFuture::join);
+                    return null;
+                });
+            }
+        }
+        double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+        clients.forEach(PointBinaryClient::close);
+
+        assertThat(succeeded.get()).isEqualTo(REQUESTS);
+        return REQUESTS / elapsedSeconds;
+    }
+
+    private static long userIdOf(int index) {
+        return index % USERS + 1;
+    }
+
+    @TestConfiguration
+    static class NoLatencyTables {
+
+        @Bean
+        @Primary
+        UserPointTable noLatencyUserPointTable() {
+            return new UserPointTable() {
+                @Override
+                protected void throttle(long millis) {
+                }
+            };
+        }
+
+        @Bean
+        @Primary
+        PointHistoryTable noLatencyPointHistoryTable() {
+            return new PointHistoryTable() {
+                @Override
+                protected void throttle(long millis) {
+                }
+            };
+        }
+    }
+}
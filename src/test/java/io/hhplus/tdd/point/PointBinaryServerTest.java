@@ -0,0 +1,174 @@
+package io.hhplus.tdd.point;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.hhplus.tdd.common.PointConstants;
+import io.hhplus.tdd.common.PointErrorMessages;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+
+@ExtendWith(MockitoExtension.class)
+public class PointBinaryServerTest {
+
+    @Mock
+    PointService pointService;
+
+    PointBinaryServer server;
+    PointBinaryClient client;
+
+    @BeforeEach
+    void setUp() {
+        server = new PointBinaryServer(pointService, clusterRouter(), Optional.empty(), new BinaryProtocolProperties(true, 0, 16));
+        client = new PointBinaryClient("localhost", server.port());
+    }
+
+    @AfterEach
+    void tearDown() {
+        client.close();
+        server.close();
+    }
+
+    @Test
+    void 응답을_기다리지_않고_보낸_요청도_각자의_결과를_받는다() {
+        // given - 처리 중 요청 한도(16)보다 많은 요청을 한 연결로 이어서 보낸다.
+        Mockito.when(pointService.getPoint(anyLong()))
+                .thenAnswer(invocation -> new UserPoint((Long) invocation.getArgument(0), (Long) invocation.getArgument(0) * 10, 0L));
+
+        // when
+        List<CompletableFuture<UserPoint>> responses = new ArrayList<>();
+        for (long userId = 1; userId <= 100; userId++) {
+            responses.add(client.getPoint(userId));
+        }
+
+        // then
+        for (int i = 0; i < responses.size(); i++) {
+            long userId = i + 1;
+            assertThat(responses.get(i).join()).isEqualTo(new UserPoint(userId, userId * 10, 0L));
+        }
+    }
+
+    @Test
+    void 내역은_고정_길이_레코드로_주고받는다() {
+        // given
+        List<PointHistory> histories = List.of(
+                new PointHistory(1L, 1L, 1_000L, TransactionType.CHARGE, 10L),
+                new PointHistory(2L, 1L, 300L, TransactionType.USE, 20L)
+        );
+        Mockito.when(pointService.getHistories(1L)).thenReturn(histories);
+
+        // when
+        List<PointHistory> result = client.histories(1L).join();
+
+        // then
+        assertThat(result).isEqualTo(histories);
+    }
+
+    @Test
+    void 검증에_실패한_요청은_BAD_REQUEST_와_메시지를_받는다() {
+        // given
+        Mockito.when(pointService.use(1L, 50L))
+                .thenThrow(new PointValidationException(PointErrorMessages.USE_AMOUNT_MUST_BE_POSITIVE, PointConstants.MIN_USE_AMOUNT));
+
+        // when & then
+        assertThatThrownBy(() -> client.use(1L, 50L).join())
+                .isInstanceOf(CompletionException.class)
+                .cause()
+                .isInstanceOf(PointBinaryException.class)
+                .hasMessage(PointErrorMessages.USE_AMOUNT_MUST_BE_POSITIVE.message(PointConstants.MIN_USE_AMOUNT))
+                .extracting(e -> ((PointBinaryException) e).status())
+                .isEqualTo(PointBinaryProtocol.Status.BAD_REQUEST);
+    }
+
+    @Test
+    void 한_연결로_이어_보낸_같은_유저의_요청은_보낸_순서대로_처리한다() {
+        // given - 충전이 늦게 끝나도 뒤에 보낸 사용이 먼저 처리되면 안 된다.
+        List<String> processed = Collections.synchronizedList(new ArrayList<>());
+        Mockito.when(pointService.charge(1L, 1_000L)).thenAnswer(invocation -> {
+            Thread.sleep(200);
+            processed.add("CHARGE");
+            return new UserPoint(1L, 1_000L, 0L);
+        });
+        Mockito.when(pointService.use(1L, 300L)).thenAnswer(invocation -> {
+            processed.add("USE");
+            return new UserPoint(1L, 700L, 0L);
+        });
+
+        // when
+        CompletableFuture<UserPoint> charged = client.charge(1L, 1_000L);
+        CompletableFuture<UserPoint> used = client.use(1L, 300L);
+
+        // then
+        assertThat(used.join().point()).isEqualTo(700L);
+        assertThat(charged.join().point()).isEqualTo(1_000L);
+        assertThat(processed).containsExactly("CHARGE", "USE");
+    }
+
+    @Test
+    void 다른_유저의_요청은_앞_유저의_요청이_끝나기를_기다리지_않는다() {
+        // given - 유저 1의 충전은 풀어줄 때까지 끝나지 않는다.
+        CountDownLatch release = new CountDownLatch(1);
+        Mockito.when(pointService.charge(1L, 1_000L)).thenAnswer(invocation -> {
+            release.await();
+            return new UserPoint(1L, 1_000L, 0L);
+        });
+        Mockito.when(pointService.getPoint(2L)).thenReturn(new UserPoint(2L, 500L, 0L));
+
+        // when
+        CompletableFuture<UserPoint> blocked = client.charge(1L, 1_000L);
+        UserPoint other = client.getPoint(2L).orTimeout(5, TimeUnit.SECONDS).join();
+        release.countDown();
+
+        // then
+        assertThat(other.point()).isEqualTo(500L);
+        assertThat(blocked.join().point()).isEqualTo(1_000L);
+    }
+
+    @Test
+    void 수락_제어가_켜져_있으면_한도를_넘은_요청은_UNAVAILABLE_로_거절한다() {
+        // given - 유저별 초당 1건, 한 번에 1건까지
+        PointAdmissionControl admissionControl = new PointAdmissionControl(
+                new AdmissionProperties(true, 1, 1, 100, 1024, 100, 100, 100, Duration.ofSeconds(1), 0.9),
+                new SimpleMeterRegistry());
+        Mockito.when(pointService.getPoint(1L)).thenReturn(new UserPoint(1L, 0L, 0L));
+        PointBinaryServer admittedServer = new PointBinaryServer(pointService, clusterRouter(), Optional.of(admissionControl),
+                new BinaryProtocolProperties(true, 0, 16));
+
+        try (PointBinaryClient admittedClient = new PointBinaryClient("localhost", admittedServer.port())) {
+            // when
+            CompletableFuture<UserPoint> first = admittedClient.getPoint(1L);
+            CompletableFuture<UserPoint> second = admittedClient.getPoint(1L);
+
+            // then
+            assertThat(first.join().point()).isZero();
+            assertThatThrownBy(second::join)
+                    .cause()
+                    .isInstanceOf(PointBinaryException.class)
+                    .extracting(e -> ((PointBinaryException) e).status())
+                    .isEqualTo(PointBinaryProtocol.Status.UNAVAILABLE);
+        } finally {
+            admittedServer.close();
+        }
+    }
+
+    private static PointClusterRouter clusterRouter() {
+        return new PointClusterRouter(new ClusterProperties(false, "", List.of(), 128, Duration.ofSeconds(5), ""), new ObjectMapper());
+    }
+}
@@ -0,0 +1,98 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.TddApplication;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * 클러스터 모드에서 담당 노드로 전달하는 비용 측정 (./gradlew benchmark)
+ *
+ * 한 JVM 에서 Spring 컨텍스트 3개로 클러스터를 띄우고, 같은 유저의 조회를 담당 노드에 직접 보낼 때와
+ * 다른 노드를 거쳐 전달될 때의 응답 시간(p50/p99)을 출력한다.
+ */
+@Tag("benchmark")
+public class PointClusterBenchmark {
+
+    private static final int NODE_COUNT = 3;
+    private static final int REQUESTS = Integer.getInteger("load.requests", 300);
+
+    private static final List<ConfigurableApplicationContext> contexts = new ArrayList<>();
+    private static final List<String> nodes = new ArrayList<>();
+
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+
+    @BeforeAll
+    static void startNodes() throws IOException {
+        int[] ports = new int[NODE_COUNT];
+        for (int i = 0; i < NODE_COUNT; i++) {
+            try (ServerSocket socket = new ServerSocket(0)) {
+                ports[i] = socket.getLocalPort();
+            }
+            nodes.add("http://localhost:" + ports[i]);
+        }
+        for (int i = 0; i < NODE_COUNT; i++) {
+            contexts.add(new SpringApplicationBuilder(TddApplication.class).run(
+                    "--server.port=" + ports[i],
+                    "--point.cluster.enabled=true",
+                    "--point.cluster.self=" + nodes.get(i),
+                    "--point.cluster.nodes=" + String.join(",", nodes),
+                    "--point.cluster.secret=cluster-benchmark-secret"
+            ));
+        }
+    }
+
+    @AfterAll
+    static void stopNodes() {
+        contexts.forEach(ConfigurableApplicationContext::close);
+    }
+
+    @Test
+    void 담당_노드로_전달하는_비용을_측정한다() throws Exception {
+        // given
+        long userId = 301L;
+        String owner = contexts.get(0).getBean(PointClusterRouter.class).ownerOf(userId);
+        String other = nodes.stream().filter(node -> !node.equals(owner)).findFirst().orElseThrow();
+        get(owner + "/point/" + userId);
+
+        // when
+        long[] direct = measure(owner + "/point/" + userId);
+        long[] forwarded = measure(other + "/point/" + userId);
+
+        // then
+        System.out.printf("[cluster] GET /point/{id} direct p50=%,dus p99=%,dus / forwarded p50=%,dus p99=%,dus%n",
+                direct[0], direct[1], forwarded[0], forwarded[1]);
+        assertThat(forwarded[0]).isPositive();
+    }
+
+    private long[] measure(String uri) throws Exception {
+        long[] micros = new long[REQUESTS];
+        for (int i = 0; i < REQUESTS; i++) {
+            long start = System.nanoTime();
+            assertThat(get(uri).statusCode()).isEqualTo(200);
+            micros[i] = (System.nanoTime() - start) / 1_000;
+        }
+        Arrays.sort(micros);
+        return new long[]{micros[REQUESTS / 2], micros[REQUESTS * 99 / 100]};
+    }
+
+    private HttpResponse<String> get(String uri) throws Exception {
+        return client.send(HttpRequest.newBuilder(URI.create(uri)).GET().build(), HttpResponse.BodyHandlers.ofString());
+    }
+}
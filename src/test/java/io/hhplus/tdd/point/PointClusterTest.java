@@ -0,0 +1,195 @@
+package io.hhplus.tdd.point;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.hhplus.tdd.TddApplication;
+import io.hhplus.tdd.database.PointHistoryTable;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * 클러스터 모드 다중 인스턴스 테스트
+ *
+ * 한 JVM 에서 서로 다른 포트로 Spring 컨텍스트 3개를 띄워 같은 노드 목록으로 클러스터를 구성한다.
+ * 어느 노드로 요청을 보내도 유저별 담당 노드 한 곳에서만 처리되는지, 위조된 전달 요청을 거절하는지 확인한다.
+ * 전달 비용 측정은 PointClusterBenchmark (./gradlew benchmark) 에서 한다.
+ */
+public class PointClusterTest {
+
+    private static final int NODE_COUNT = 3;
+    private static final long CHARGE_AMOUNT = 1_000L;
+    private static final String SECRET = "cluster-test-secret";
+
+    private static final List<ConfigurableApplicationContext> contexts = new ArrayList<>();
+    private static final List<String> nodes = new ArrayList<>();
+
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @BeforeAll
+    static void startNodes() throws IOException {
+        int[] ports = new int[NODE_COUNT];
+        for (int i = 0; i < NODE_COUNT; i++) {
+            try (ServerSocket socket = new ServerSocket(0)) {
+                ports[i] = socket.getLocalPort();
+            }
+            nodes.add("http://localhost:" + ports[i]);
+        }
+        for (int i = 0; i < NODE_COUNT; i++) {
+            contexts.add(new SpringApplicationBuilder(TddApplication.class).run(
+                    "--server.port=" + ports[i],
+                    "--point.cluster.enabled=true",
+                    "--point.cluster.self=" + nodes.get(i),
+                    "--point.cluster.nodes=" + String.join(",", nodes),
+                    "--point.cluster.secret=" + SECRET
+            ));
+        }
+    }
+
+    @AfterAll
+    static void stopNodes() {
+        contexts.forEach(ConfigurableApplicationContext::close);
+    }
+
+    @Test
+    void 어느_노드로_보내도_유저의_충전은_담당_노드_한_곳에서만_반영된다() throws Exception {
+        // given - 유저마다 세 노드에 한 번씩 동시에 충전
+        long[] userIds = {101L, 102L, 103L, 104L, 105L, 106L, 107L, 108L};
+        List<CompletableFuture<HttpResponse<String>>> responses = new ArrayList<>();
+        for (long userId : userIds) {
+            for (String node : nodes) {
+                responses.add(client.sendAsync(patch(node + "/point/" + userId + "/charge", CHARGE_AMOUNT),
+                        HttpResponse.BodyHandlers.ofString()));
+            }
+        }
+
+        // when
+        List<Integer> statuses = responses.stream().map(CompletableFuture::join).map(HttpResponse::statusCode).toList();
+
+        // then
+        assertThat(statuses).containsOnly(200);
+        for (long userId : userIds) {
+            for (String node : nodes) {
+                UserPoint userPoint = objectMapper.readValue(get(node + "/point/" + userId).body(), UserPoint.class);
+                assertThat(userPoint.point()).isEqualTo(CHARGE_AMOUNT * NODE_COUNT);
+            }
+            assertThat(nodesHoldingHistories(userId)).isEqualTo(1);
+        }
+    }
+
+    @Test
+    void 일괄_처리는_유저별로_담당_노드에_나누어_전달하고_결과를_요청_순서대로_반환한다() throws Exception {
+        // given
+        List<PointCommand> commands = List.of(
+                PointCommand.charge(201L, 1_000L),
+                PointCommand.charge(202L, 2_000L),
+                PointCommand.use(201L, 300L),
+                PointCommand.charge(203L, 3_000L),
+                PointCommand.use(202L, 5_000L)
+        );
+
+        // when
+        HttpResponse<String> response = client.send(HttpRequest.newBuilder(URI.create(nodes.get(0) + "/point/batch"))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(commands)))
+                        .build(),
+                HttpResponse.BodyHandlers.ofString());
+        List<PointBatchItemResponse> items = objectMapper.readValue(response.body(), new TypeReference<>() {
+        });
+
+        // then
+        assertThat(items).extracting(PointBatchItemResponse::userId).containsExactly(201L, 202L, 201L, 203L, 202L);
+        assertThat(items.get(2).userPoint().point()).isEqualTo(700L);
+        assertThat(items.get(4).error()).isNotNull();
+        for (long userId : new long[]{201L, 202L, 203L}) {
+            assertThat(nodesHoldingHistories(userId)).isEqualTo(1);
+        }
+    }
+
+    @Test
+    void 비밀값_없이_전달_표시만_붙인_요청은_처리하지_않고_거절한다() throws Exception {
+        // given - 담당이 아닌 노드에 전달 표시를 위조해 충전과 일괄 처리를 보낸다
+        long userId = 401L;
+        String owner = contexts.get(0).getBean(PointClusterRouter.class).ownerOf(userId);
+        String other = nodes.stream().filter(node -> !node.equals(owner)).findFirst().orElseThrow();
+        HttpRequest charge = HttpRequest.newBuilder(URI.create(other + "/point/" + userId + "/charge"))
+                .header("Content-Type", "application/json")
+                .header(PointClusterRouter.FORWARDED_HEADER, owner)
+                .header(PointClusterRouter.FORWARD_TOKEN_HEADER, "wrong-secret")
+                .method("PATCH", HttpRequest.BodyPublishers.ofString(String.valueOf(CHARGE_AMOUNT)))
+                .build();
+        HttpRequest batch = HttpRequest.newBuilder(URI.create(other + "/point/batch"))
+                .header("Content-Type", "application/json")
+                .header(PointClusterRouter.FORWARDED_HEADER, owner)
+                .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(
+                        List.of(PointCommand.charge(userId, CHARGE_AMOUNT)))))
+                .build();
+
+        // when
+        HttpResponse<String> chargeResponse = client.send(charge, HttpResponse.BodyHandlers.ofString());
+        HttpResponse<String> batchResponse = client.send(batch, HttpResponse.BodyHandlers.ofString());
+
+        // then
+        assertThat(chargeResponse.statusCode()).isEqualTo(403);
+        assertThat(batchResponse.statusCode()).isEqualTo(403);
+        assertThat(nodesHoldingHistories(userId)).isZero();
+    }
+
+    @Test
+    void 인증된_전달_요청이라도_담당이_아닌_유저는_처리하지_않는다() throws Exception {
+        // given
+        long userId = 402L;
+        String owner = contexts.get(0).getBean(PointClusterRouter.class).ownerOf(userId);
+        String other = nodes.stream().filter(node -> !node.equals(owner)).findFirst().orElseThrow();
+        HttpRequest charge = HttpRequest.newBuilder(URI.create(other + "/point/" + userId + "/charge"))
+                .header("Content-Type", "application/json")
+                .header(PointClusterRouter.FORWARDED_HEADER, owner)
+                .header(PointClusterRouter.FORWARD_TOKEN_HEADER, SECRET)
+                .method("PATCH", HttpRequest.BodyPublishers.ofString(String.valueOf(CHARGE_AMOUNT)))
+                .build();
+
+        // when
+        HttpResponse<String> response = client.send(charge, HttpResponse.BodyHandlers.ofString());
+
+        // then
+        assertThat(response.statusCode()).isEqualTo(503);
+        assertThat(nodesHoldingHistories(userId)).isZero();
+    }
+
+    private int nodesHoldingHistories(long userId) {
+        int count = 0;
+        for (ConfigurableApplicationContext context : contexts) {
+            if (!context.getBean(PointHistoryTable.class).selectAllByUserId(userId).isEmpty()) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private HttpRequest patch(String uri, long amount) {
+        return HttpRequest.newBuilder(URI.create(uri))
+                .header("Content-Type", "application/json")
+                .method("PATCH", HttpRequest.BodyPublishers.ofString(String.valueOf(amount)))
+                .build();
+    }
+
+    private HttpResponse<String> get(String uri) throws Exception {
+        return client.send(HttpRequest.newBuilder(URI.create(uri)).GET().build(), HttpResponse.BodyHandlers.ofString());
+    }
+}
@@ -0,0 +1,106 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.common.PointErrorMessages;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class PointGroupCommitterTest {
+
+    private static final long TEST_USER_ID = 1L;
+
+    private final PointGroupCommitter groupCommitter =
+            new PointGroupCommitter(new GroupCommitProperties(true, Duration.ofMillis(50)));
+
+    @Test
+    void 동시_요청은_한_번에_모아서_반영되고_각자_자신의_결과를_받는다() throws InterruptedException {
+        int threadCount = 10;
+        long chargeAmount = 1_000L;
+        AtomicLong balance = new AtomicLong(0);
+        AtomicInteger batchCount = new AtomicInteger(0);
+
+        ExecutorService executorService = Executors.newFixedThreadPool(threadCount);
+        CountDownLatch latch = new CountDownLatch(threadCount);
+        List<Long> results = new ArrayList<>();
+
+        for (int i = 0; i < threadCount; i++) {
+            executorService.submit(() -> {
+                try {
+                    UserPoint result = groupCommitter.submit(PointCommand.charge(TEST_USER_ID, chargeAmount), commands -> {
+                        batchCount.incrementAndGet();
+                        return applyInOrder(balance, commands);
+                    });
+                    synchronized (results) {
+                        results.add(result.point());
+                    }
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+
+        latch.await();
+        executorService.shutdown();
+
+        // then - 반영 횟수는 요청 수보다 적고, 각 요청은 서로 다른 누적 잔액을 받는다
+        assertThat(batchCount.get()).isLessThan(threadCount);
+        assertThat(balance.get()).isEqualTo(chargeAmount * threadCount);
+        assertThat(results).doesNotHaveDuplicates().hasSize(threadCount).contains(chargeAmount * threadCount);
+    }
+
+    @Test
+    void 잔액_검증에_실패한_요청만_자신의_예외를_받는다() throws InterruptedException {
+        AtomicLong balance = new AtomicLong(500L);
+        ExecutorService executorService = Executors.newFixedThreadPool(2);
+        CountDownLatch latch = new CountDownLatch(2);
+        ConcurrentHashMap<Long, Object> outcomes = new ConcurrentHashMap<>();
+
+        for (long amount : new long[]{400L, 300L}) {
+            executorService.submit(() -> {
+                try {
+                    outcomes.put(amount, groupCommitter.submit(PointCommand.use(TEST_USER_ID, amount),
+                            commands -> applyInOrder(balance, commands)));
+                } catch (IllegalArgumentException e) {
+                    outcomes.put(amount, e);
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+
+        latch.await();
+        executorService.shutdown();
+
+        // then - 먼저 적용된 한 건만 성공하고 나머지는 잔액 부족으로 실패한다
+        assertThat(outcomes.values()).filteredOn(UserPoint.class::isInstance).hasSize(1);
+        assertThat(outcomes.values()).filteredOn(IllegalArgumentException.class::isInstance)
+                .singleElement()
+                .extracting(e -> ((IllegalArgumentException) e).getMessage())
+                .isIn(PointErrorMessages.INSUFFICIENT_POINT.message(100L), PointErrorMessages.INSUFFICIENT_POINT.message(200L));
+    }
+
+    private List<PointCommandResult> applyInOrder(AtomicLong balance, List<PointCommand> commands) {
+        UserPoint running = new UserPoint(TEST_USER_ID, balance.get(), System.currentTimeMillis());
+        List<PointCommandResult> results = new ArrayList<>();
+        for (PointCommand command : commands) {
+            try {
+                running = command.applyTo(running);
+                results.add(PointCommandResult.success(running));
+            } catch (IllegalArgumentException e) {
+                results.add(PointCommandResult.failure(e));
+            }
+        }
+        balance.set(running.point());
+        return results;
+    }
+}
@@ -0,0 +1,55 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.PointHistoryTable;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class PointHistoryAggregatorTest {
+
+    private static final long TEST_USER_ID = 1L;
+
+    private final PointHistoryTable pointHistoryTable = new PointHistoryTable();
+
+    @Test
+    void 생성_시_기존_내역으로_유저별_집계를_다시_만든다() {
+        // given
+        pointHistoryTable.insertAll(List.of(
+                new PointHistory(0L, TEST_USER_ID, 1_000L, TransactionType.CHARGE, 10L),
+                new PointHistory(0L, TEST_USER_ID, 300L, TransactionType.USE, 20L),
+                new PointHistory(0L, TEST_USER_ID, 500L, TransactionType.CHARGE, 30L),
+                new PointHistory(0L, TEST_USER_ID + 1, 700L, TransactionType.CHARGE, 40L)
+        ));
+        PointHistoryPipeline pipeline = new PointHistoryPipeline(pointHistoryTable, new HistoryPipelineProperties(false, 100, 10));
+
+        // when
+        PointHistoryAggregator aggregator = new PointHistoryAggregator(pointHistoryTable, pipeline);
+        PointHistorySummary summary = aggregator.getSummary(TEST_USER_ID);
+
+        // then
+        assertThat(summary.charge()).isEqualTo(new PointHistorySummary.TypeSummary(1_500L, 2L, 10L, 30L));
+        assertThat(summary.use()).isEqualTo(new PointHistorySummary.TypeSummary(300L, 1L, 20L, 20L));
+        assertThat(aggregator.getSummary(TEST_USER_ID + 1).charge().totalAmount()).isEqualTo(700L);
+    }
+
+    @Test
+    void 파이프라인에_기록된_내역을_집계에_바로_반영한다() throws InterruptedException {
+        // given - 비동기 기록 모드
+        PointHistoryPipeline pipeline = new PointHistoryPipeline(pointHistoryTable, new HistoryPipelineProperties(true, 100, 10));
+        PointHistoryAggregator aggregator = new PointHistoryAggregator(pointHistoryTable, pipeline);
+
+        // when
+        pipeline.append(TEST_USER_ID, 1_000L, TransactionType.CHARGE, 10L);
+        pipeline.appendAll(List.of(new PointHistory(0L, TEST_USER_ID, 400L, TransactionType.USE, 20L)));
+        PointHistorySummary summary = aggregator.getSummary(TEST_USER_ID);
+
+        // then
+        assertThat(summary.charge()).isEqualTo(new PointHistorySummary.TypeSummary(1_000L, 1L, 10L, 10L));
+        assertThat(summary.use()).isEqualTo(new PointHistorySummary.TypeSummary(400L, 1L, 20L, 20L));
+        assertThat(aggregator.getSummary(TEST_USER_ID + 1)).isEqualTo(PointHistorySummary.empty(TEST_USER_ID + 1));
+
+        pipeline.shutdown();
+    }
+}
@@ -0,0 +1,118 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.PointHistoryTable;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+public class PointHistoryPipelineTest {
+
+    private static final long TEST_USER_ID = 1L;
+
+    private final PointHistoryTable pointHistoryTable = new PointHistoryTable();
+
+    @Test
+    void 기록_대기_중인_내역도_바로_조회된다() throws InterruptedException {
+        // given
+        PointHistoryPipeline pipeline = new PointHistoryPipeline(pointHistoryTable, new HistoryPipelineProperties(true, 100, 10));
+
+        // when
+        pipeline.append(TEST_USER_ID, 1000L, TransactionType.CHARGE, System.currentTimeMillis());
+        pipeline.append(TEST_USER_ID, 300L, TransactionType.USE, System.currentTimeMillis());
+        List<PointHistory> result = pipeline.selectAllByUserId(TEST_USER_ID);
+
+        // then
+        assertThat(result).hasSize(2);
+        assertThat(result).extracting(PointHistory::id).isSorted().doesNotHaveDuplicates();
+        assertThat(result.get(0).type()).isEqualTo(TransactionType.CHARGE);
+        assertThat(result.get(1).type()).isEqualTo(TransactionType.USE);
+
+        pipeline.shutdown();
+    }
+
+    @Test
+    void 종료하면_대기열에_남은_내역을_모두_테이블에_기록한다() throws InterruptedException {
+        // given
+        PointHistoryPipeline pipeline = new PointHistoryPipeline(pointHistoryTable, new HistoryPipelineProperties(true, 1_000, 50));
+        int count = 200;
+
+        // when
+        for (int i = 0; i < count; i++) {
+            pipeline.append(TEST_USER_ID, 1000L, TransactionType.CHARGE, System.currentTimeMillis());
+        }
+        pipeline.shutdown();
+
+        // then
+        assertThat(pointHistoryTable.selectAllByUserId(TEST_USER_ID)).hasSize(count);
+        assertThat(pipeline.stats().queueSize()).isZero();
+        assertThat(pipeline.stats().flushedCount()).isEqualTo(count);
+        assertThat(pipeline.stats().batchCount()).isLessThan(count);
+    }
+
+    @Test
+    void 인터럽트된_요청도_대기열을_거쳐_기록하고_인터럽트_상태를_되살린다() throws InterruptedException {
+        // given
+        PointHistoryPipeline pipeline = new PointHistoryPipeline(pointHistoryTable, new HistoryPipelineProperties(true, 100, 10));
+
+        // when
+        Thread.currentThread().interrupt();
+        pipeline.append(TEST_USER_ID, 1000L, TransactionType.CHARGE, System.currentTimeMillis());
+        boolean interrupted = Thread.interrupted();
+        pipeline.shutdown();
+
+        // then
+        assertThat(interrupted).isTrue();
+        assertThat(pipeline.stats().appendedCount()).isEqualTo(1);
+        assertThat(pointHistoryTable.selectAllByUserId(TEST_USER_ID)).hasSize(1);
+    }
+
+    @Test
+    void 종료된_뒤_기록하면_실패하고_대기_내역에_남기지_않는다() throws InterruptedException {
+        // given
+        PointHistoryPipeline pipeline = new PointHistoryPipeline(pointHistoryTable, new HistoryPipelineProperties(true, 100, 10));
+        pipeline.shutdown();
+
+        // when, then
+        assertThatThrownBy(() -> pipeline.append(TEST_USER_ID, 1000L, TransactionType.CHARGE, System.currentTimeMillis()))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(pipeline.selectAllByUserId(TEST_USER_ID)).isEmpty();
+    }
+
+    @Test
+    void 기록이_계속_실패해도_종료되고_버린_내역을_노출한다() {
+        // given
+        PointHistoryTable failingTable = new PointHistoryTable() {
+            @Override
+            public List<PointHistory> insertAll(List<PointHistory> histories) {
+                throw new IllegalStateException("기록 실패");
+            }
+        };
+        PointHistoryPipeline pipeline = new PointHistoryPipeline(failingTable, new HistoryPipelineProperties(true, 100, 10));
+
+        // when
+        pipeline.append(TEST_USER_ID, 1000L, TransactionType.CHARGE, System.currentTimeMillis());
+        assertTimeoutPreemptively(Duration.ofSeconds(5), pipeline::shutdown);
+
+        // then
+        assertThat(pipeline.stats().droppedCount()).isEqualTo(1);
+        assertThat(pipeline.stats().flushedCount()).isZero();
+        assertThat(pipeline.droppedHistories()).extracting(PointHistory::userId).containsExactly(TEST_USER_ID);
+        assertThat(pipeline.selectAllByUserId(TEST_USER_ID)).isEmpty();
+    }
+
+    @Test
+    void 비활성화하면_테이블에_바로_기록한다() {
+        // given
+        PointHistoryPipeline pipeline = new PointHistoryPipeline(pointHistoryTable, new HistoryPipelineProperties(false, 100, 10));
+
+        // when
+        pipeline.append(TEST_USER_ID, 1000L, TransactionType.CHARGE, System.currentTimeMillis());
+
+        // then
+        assertThat(pointHistoryTable.selectAllByUserId(TEST_USER_ID)).hasSize(1);
+    }
+}
@@ -11,11 +11,17 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.zip.GZIPInputStream;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.lessThanOrEqualTo;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -198,6 +204,207 @@ public class PointIntegrationTest {
 
     }
 
+    @Test
+    void 포인트_내역을_최신순으로_페이지_단위로_조회한다() throws Exception {
+        // given - 충전 & 사용
+        mvc.perform(patch("/point/{id}/charge", TEST_USER_ID)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(String.valueOf(TEST_AMOUNT2)))
+                .andExpect(status().isOk());
+        mvc.perform(patch("/point/{id}/use", TEST_USER_ID)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(String.valueOf(TEST_AMOUNT1)))
+                .andExpect(status().isOk());
+
+        // when & then - 첫 페이지는 가장 최근 사용 내역
+        String firstPage = mvc.perform(get("/point/{id}/histories/page", TEST_USER_ID)
+                .param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(1))
+                .andExpect(jsonPath("$.items[0].type").value(TransactionType.USE.toString()))
+                .andExpect(jsonPath("$.nextCursor").isNumber())
+                .andReturn().getResponse().getContentAsString();
+        long nextCursor = objectMapper.readTree(firstPage).get("nextCursor").asLong();
+
+        // when & then - 다음 페이지는 충전 내역이며 마지막 페이지
+        mvc.perform(get("/point/{id}/histories/page", TEST_USER_ID)
+                .param("size", "1")
+                .param("cursor", String.valueOf(nextCursor)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].type").value(TransactionType.CHARGE.toString()))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+
+        // when & then - 거래 종류 필터
+        mvc.perform(get("/point/{id}/histories/page", TEST_USER_ID)
+                .param("type", TransactionType.CHARGE.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(1))
+                .andExpect(jsonPath("$.items[0].amount").value(TEST_AMOUNT2));
+    }
+
+    @Test
+    void 포인트_내역_집계를_조회한다() throws Exception {
+        // given - 충전 & 사용
+        mvc.perform(patch("/point/{id}/charge", TEST_USER_ID)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(String.valueOf(TEST_AMOUNT2)))
+                .andExpect(status().isOk());
+        mvc.perform(patch("/point/{id}/use", TEST_USER_ID)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(String.valueOf(TEST_AMOUNT1)))
+                .andExpect(status().isOk());
+
+        // when & then
+        mvc.perform(get("/point/{id}/summary", TEST_USER_ID))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.userId").value(TEST_USER_ID))
+                .andExpect(jsonPath("$.charge.totalAmount").value(TEST_AMOUNT2))
+                .andExpect(jsonPath("$.charge.count").value(1))
+                .andExpect(jsonPath("$.use.totalAmount").value(TEST_AMOUNT1))
+                .andExpect(jsonPath("$.use.count").value(1));
+    }
+
+    @Test
+    void 특정_시점의_포인트를_조회한다() throws Exception {
+        // given - 충전 후 시점을 기록하고 사용
+        mvc.perform(patch("/point/{id}/charge", TEST_USER_ID)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(String.valueOf(TEST_AMOUNT2)))
+                .andExpect(status().isOk());
+        long chargedAt = System.currentTimeMillis();
+        Thread.sleep(5);
+        mvc.perform(patch("/point/{id}/use", TEST_USER_ID)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(String.valueOf(TEST_AMOUNT1)))
+                .andExpect(status().isOk());
+
+        // when & then
+        mvc.perform(get("/point/{id}/as-of", TEST_USER_ID).param("at", String.valueOf(chargedAt)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.point").value(TEST_AMOUNT2));
+        mvc.perform(get("/point/{id}/as-of", TEST_USER_ID).param("at", String.valueOf(System.currentTimeMillis())))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.point").value(TEST_AMOUNT2 - TEST_AMOUNT1));
+    }
+
+    @Test
+    void 같은_Idempotency_Key_로_재시도한_충전은_한_번만_반영된다() throws Exception {
+        // given
+        for (int i = 0; i < 2; i++) {
+            mvc.perform(patch("/point/{id}/charge", TEST_USER_ID)
+                    .header("Idempotency-Key", "charge-retry")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(String.valueOf(TEST_AMOUNT2)))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.point").value(TEST_AMOUNT2));
+        }
+
+        // when & then
+        mvc.perform(get("/point/{id}/histories", TEST_USER_ID))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1));
+    }
+
+    @Test
+    void 리액티브_API_로_충전_사용하고_내역을_NDJSON_으로_최신순으로_받는다() throws Exception {
+        // given - 충전 & 사용
+        MvcResult charged = mvc.perform(patch("/reactive/point/{id}/charge", TEST_USER_ID)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(String.valueOf(TEST_AMOUNT2)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mvc.perform(asyncDispatch(charged))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.point").value(TEST_AMOUNT2));
+
+        MvcResult used = mvc.perform(patch("/reactive/point/{id}/use", TEST_USER_ID)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(String.valueOf(TEST_AMOUNT2 + 1)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mvc.perform(asyncDispatch(used))
+                .andExpect(status().isBadRequest());
+
+        // when
+        MvcResult streamed = mvc.perform(get("/reactive/point/{id}/histories", TEST_USER_ID)
+                        .accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mvc.perform(asyncDispatch(streamed))
+                .andExpect(status().isOk());
+
+        // then - 실패한 사용은 내역에 남지 않는다
+        List<String> lines = streamed.getResponse().getContentAsString().lines().toList();
+        assertThat(lines).hasSize(1);
+        assertThat(objectMapper.readValue(lines.get(0), PointHistory.class).amount()).isEqualTo(TEST_AMOUNT2);
+    }
+
+    @Test
+    void 전체_내역을_gzip_CSV_로_id_순서대로_내보내고_마지막_id_다음부터_이어받는다() throws Exception {
+        // given - 두 유저가 번갈아 충전
+        for (int i = 0; i < 3; i++) {
+            mvc.perform(patch("/point/{id}/charge", TEST_USER_ID)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(String.valueOf(TEST_AMOUNT2)))
+                    .andExpect(status().isOk());
+            mvc.perform(patch("/point/{id}/charge", TEST_USER_ID + 1)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(String.valueOf(TEST_AMOUNT1)))
+                    .andExpect(status().isOk());
+        }
+
+        // when
+        List<String> all = exportCsv("/point/histories/export");
+        long lastReceivedId = Long.parseLong(all.get(3).split(",")[0]);
+        List<String> resumed = exportCsv("/point/histories/export?afterId=" + lastReceivedId);
+
+        // then
+        assertThat(all).hasSize(1 + 6);
+        assertThat(all.get(0)).isEqualTo("id,userId,amount,type,updateMillis");
+        assertThat(all.subList(1, all.size())).extracting(line -> Long.parseLong(line.split(",")[0])).isSorted();
+        assertThat(resumed.subList(1, resumed.size())).isEqualTo(all.subList(4, all.size()));
+    }
+
+    private List<String> exportCsv(String url) throws Exception {
+        MvcResult exported = mvc.perform(get(url))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mvc.perform(asyncDispatch(exported))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Encoding", "gzip"));
+
+        byte[] body = exported.getResponse().getContentAsByteArray();
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8).lines().toList();
+        }
+    }
+
+    @Test
+    void 일괄_충전_사용_결과를_요청_순서대로_반환한다() throws Exception {
+        // given
+        String body = objectMapper.writeValueAsString(List.of(
+                PointCommand.charge(TEST_USER_ID, TEST_AMOUNT2),
+                PointCommand.charge(TEST_USER_ID + 1, TEST_AMOUNT1),
+                PointCommand.use(TEST_USER_ID, TEST_AMOUNT1),
+                PointCommand.use(TEST_USER_ID + 1, TEST_AMOUNT2)
+        ));
+
+        // when & then
+        mvc.perform(post("/point/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(4))
+                .andExpect(jsonPath("$[0].userPoint.point").value(TEST_AMOUNT2))
+                .andExpect(jsonPath("$[1].userPoint.point").value(TEST_AMOUNT1))
+                .andExpect(jsonPath("$[2].userPoint.point").value(TEST_AMOUNT2 - TEST_AMOUNT1))
+                .andExpect(jsonPath("$[3].error").value(PointErrorMessages.INSUFFICIENT_POINT.message(TEST_AMOUNT1)));
+
+        mvc.perform(get("/point/{id}/histories", TEST_USER_ID))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2));
+    }
+
     @Test
     void 동시에_여러번_충전해도_최대_포인트를_초과하지_않는다() throws Exception {
         int threadCount = 10;
@@ -0,0 +1,88 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.common.PointErrorMessages;
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.UserPointTable;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class PointMetricsTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final UserLockManager userLockManager = new UserLockManager(
+            new UserLockProperties(UserLockProperties.Mode.PER_USER, 1024, Duration.ofSeconds(30)));
+    private final PointMetrics pointMetrics = new PointMetrics(meterRegistry, userLockManager,
+            new PointMetricsProperties(Duration.ofMillis(1), 2));
+
+    @Test
+    void 거절된_요청은_사유별로_집계된다() {
+        // when
+        pointMetrics.recordRejection(new PointValidationException(PointErrorMessages.INSUFFICIENT_POINT, 500L));
+        pointMetrics.recordRejection(new PointValidationException(PointErrorMessages.INSUFFICIENT_POINT, 300L));
+        pointMetrics.recordRejection(new PointLockTimeoutException(1L));
+
+        // then
+        assertThat(meterRegistry.get("point.rejected").tag("reason", "INSUFFICIENT_POINT").counter().count()).isEqualTo(2.0);
+        assertThat(meterRegistry.get("point.rejected").tag("reason", "LOCK_TIMEOUT").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void 기준_시간_이상_기다린_유저만_대기_시간_순으로_상위_N명을_반환한다() {
+        // when
+        pointMetrics.recordLockWait(1L, TimeUnit.MILLISECONDS.toNanos(5));
+        pointMetrics.recordLockWait(2L, TimeUnit.MILLISECONDS.toNanos(30));
+        pointMetrics.recordLockWait(3L, TimeUnit.MILLISECONDS.toNanos(10));
+        pointMetrics.recordLockWait(1L, TimeUnit.MILLISECONDS.toNanos(20));
+        pointMetrics.recordLockWait(4L, TimeUnit.MICROSECONDS.toNanos(10));
+
+        // then
+        assertThat(pointMetrics.contendedUsers())
+                .extracting(ContendedUser::userId, ContendedUser::waitMillis, ContendedUser::contendedCount)
+                .containsExactly(tuple(2L, 30L, 1L), tuple(1L, 25L, 2L));
+        assertThat(meterRegistry.get("point.phase").tag("phase", "lock_wait").timer().count()).isEqualTo(5L);
+    }
+
+    @Test
+    void 잔액_캐시_상태를_지표로_내보낸다() {
+        // given
+        UserPointCache userPointCache = new UserPointCache(new UserPointTable(), new BalanceCacheProperties(true, 100));
+        new PointStoreMetrics(meterRegistry, userPointCache,
+                new PointHistoryPipeline(new PointHistoryTable(), new HistoryPipelineProperties(false, 10_000, 500)));
+
+        // when
+        userPointCache.get(1L);
+        userPointCache.get(1L);
+
+        // then
+        assertThat(meterRegistry.get("point.balance-cache.hits").functionCounter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("point.balance-cache.misses").functionCounter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("point.balance-cache.size").gauge().value()).isEqualTo(1.0);
+    }
+
+    @Test
+    void 내역_파이프라인의_대기열과_기록_건수를_지표로_내보낸다() throws InterruptedException {
+        // given
+        PointHistoryPipeline historyPipeline = new PointHistoryPipeline(new PointHistoryTable(),
+                new HistoryPipelineProperties(true, 10_000, 500));
+        new PointStoreMetrics(meterRegistry, new UserPointCache(new UserPointTable(), new BalanceCacheProperties(true, 100)),
+                historyPipeline);
+
+        // when
+        for (int i = 0; i < 10; i++) {
+            historyPipeline.append(1L, 100L, TransactionType.CHARGE, System.currentTimeMillis());
+        }
+        historyPipeline.shutdown();
+
+        // then
+        assertThat(meterRegistry.get("point.history.pipeline.appended").functionCounter().count()).isEqualTo(10.0);
+        assertThat(meterRegistry.get("point.history.pipeline.flushed").functionCounter().count()).isEqualTo(10.0);
+        assertThat(meterRegistry.get("point.history.pipeline.dropped").functionCounter().count()).isZero();
+        assertThat(meterRegistry.get("point.history.pipeline.queue-size").gauge().value()).isZero();
+        assertThat(meterRegistry.get("point.history.pipeline.lag").gauge().value()).isZero();
+    }
+}
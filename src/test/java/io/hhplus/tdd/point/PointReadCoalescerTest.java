@@ -0,0 +1,80 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class PointReadCoalescerTest {
+
+    private static final long TEST_USER_ID = 1L;
+
+    private final PointHistoryTable pointHistoryTable = new PointHistoryTable();
+    private final PointHistoryPipeline pipeline = new PointHistoryPipeline(pointHistoryTable, new HistoryPipelineProperties(false, 100, 10));
+    private final PointReadCoalescer coalescer = new PointReadCoalescer(pipeline, new ReadCoalescingProperties(true), new SimpleMeterRegistry());
+
+    @Test
+    void 진행_중인_조회가_있으면_새로_조회하지_않고_그_결과를_함께_받는다() throws Exception {
+        // given
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger loads = new AtomicInteger();
+        UserPoint loaded = new UserPoint(TEST_USER_ID, 1_000L, 1L);
+
+        CompletableFuture<UserPoint> first = CompletableFuture.supplyAsync(() -> coalescer.point(TEST_USER_ID, () -> {
+            loads.incrementAndGet();
+            started.countDown();
+            await(release);
+            return loaded;
+        }));
+        started.await();
+
+        // when
+        CompletableFuture<UserPoint> second = CompletableFuture.supplyAsync(() -> coalescer.point(TEST_USER_ID, () -> {
+            loads.incrementAndGet();
+            return UserPoint.empty(TEST_USER_ID);
+        }));
+        Thread.sleep(50);
+        release.countDown();
+
+        // then
+        assertThat(first.get()).isEqualTo(loaded);
+        assertThat(second.get()).isEqualTo(loaded);
+        assertThat(loads.get()).isEqualTo(1);
+    }
+
+    @Test
+    void 충전_사용이_반영되면_이후_조회는_진행_중인_조회와_합치지_않는다() throws Exception {
+        // given
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<UserPoint> stale = CompletableFuture.supplyAsync(() -> coalescer.point(TEST_USER_ID, () -> {
+            started.countDown();
+            await(release);
+            return new UserPoint(TEST_USER_ID, 0L, 1L);
+        }));
+        started.await();
+
+        // when - 조회 도중 충전 내역이 기록된다
+        pipeline.append(TEST_USER_ID, 1_000L, TransactionType.CHARGE, 2L);
+        UserPoint fresh = coalescer.point(TEST_USER_ID, () -> new UserPoint(TEST_USER_ID, 1_000L, 2L));
+        release.countDown();
+
+        // then
+        assertThat(fresh.point()).isEqualTo(1_000L);
+        assertThat(stale.get().point()).isEqualTo(0L);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
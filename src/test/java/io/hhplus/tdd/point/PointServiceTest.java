@@ -1,17 +1,22 @@
 package io.hhplus.tdd.point;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.hhplus.tdd.common.PointConstants;
 import io.hhplus.tdd.common.PointErrorMessages;
 import io.hhplus.tdd.database.PointHistoryTable;
 import io.hhplus.tdd.database.UserPointTable;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.Duration;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -25,9 +30,43 @@ public class PointServiceTest {
     @Mock
     PointHistoryTable pointHistoryTable;
 
-    @InjectMocks
+    @Mock
+    PointGroupCommitter groupCommitter;
+
+    @Mock
+    PointHistoryAggregator pointHistoryAggregator;
+
+    @Mock
+    PointBalanceCheckpoints balanceCheckpoints;
+
+    PointMetrics pointMetrics;
+
     PointService pointService;
 
+    @BeforeEach
+    void setUp() {
+        UserPointCache userPointCache = new UserPointCache(userPointTable, new BalanceCacheProperties(true, 1_000));
+        UserLockManager userLockManager = new UserLockManager(
+                new UserLockProperties(UserLockProperties.Mode.PER_USER, 1024, Duration.ofSeconds(30)));
+        PointHistoryPipeline pointHistoryPipeline = new PointHistoryPipeline(
+                pointHistoryTable, new HistoryPipelineProperties(false, 10_000, 500));
+        pointMetrics = new PointMetrics(new SimpleMeterRegistry(), userLockManager,
+                new PointMetricsProperties(Duration.ofMillis(1), 10));
+        OptimisticBalanceUpdater optimisticUpdater = new OptimisticBalanceUpdater(userPointTable, pointHistoryPipeline,
+                pointMetrics, new BalanceUpdateProperties(BalanceUpdateProperties.Mode.LOCK, 100_000));
+        PointShardExecutor shardExecutor = new PointShardExecutor(userPointTable, pointHistoryPipeline,
+                new ShardProperties(false, 8, 10_000, 256, 100_000), new SimpleMeterRegistry());
+        pointService = new PointService(userPointTable, pointHistoryPipeline, groupCommitter, userPointCache,
+                userLockManager, pointMetrics, optimisticUpdater, shardExecutor, pointHistoryAggregator,
+                balanceCheckpoints, new IdempotencyCache(new IdempotencyProperties(true, 1_000, Duration.ofMinutes(10)),
+                new SimpleMeterRegistry()),
+                new PointReadCoalescer(pointHistoryPipeline, new ReadCoalescingProperties(false), new SimpleMeterRegistry()),
+                new PointClusterRouter(new ClusterProperties(false, "", List.of(), 128, Duration.ofSeconds(5), ""), new ObjectMapper()),
+                new HotAccountBalances(userPointTable, pointHistoryPipeline, pointMetrics,
+                        new HotAccountProperties(Set.of(), 8), new SimpleMeterRegistry()),
+                new PointHistoryExporter(pointHistoryTable), Optional.empty());
+    }
+
     private static final long TEST_USER_ID = 1L;
 
     @Test
@@ -78,6 +117,25 @@ public class PointServiceTest {
         );
     }
 
+    @Test
+    void 같은_Idempotency_Key_로_재시도하면_다시_충전하지_않고_처음_결과를_반환한다() {
+        // given
+        long amount = 1000L;
+        UserPoint after = new UserPoint(TEST_USER_ID, amount, System.currentTimeMillis());
+
+        Mockito.when(userPointTable.selectById(TEST_USER_ID)).thenReturn(UserPoint.empty(TEST_USER_ID));
+        Mockito.when(userPointTable.insertOrUpdate(TEST_USER_ID, amount)).thenReturn(after);
+
+        // when
+        UserPoint first = pointService.charge(TEST_USER_ID, amount, "charge-1");
+        UserPoint retried = pointService.charge(TEST_USER_ID, amount, "charge-1");
+
+        // then
+        assertThat(retried).isEqualTo(first);
+        Mockito.verify(userPointTable, Mockito.times(1)).insertOrUpdate(anyLong(), anyLong());
+        Mockito.verify(pointHistoryTable, Mockito.times(1)).insert(anyLong(), anyLong(), any(), anyLong());
+    }
+
     @Test
     void 최대_포인트_초과시_예외가_발생한다() {
         // given
@@ -171,4 +229,36 @@ public class PointServiceTest {
         assertThat(result.get(0).type()).isEqualTo(TransactionType.CHARGE);
         assertThat(result.get(1).type()).isEqualTo(TransactionType.USE);
     }
+
+    @Test
+    void 일괄_요청은_유저별로_한_번씩_기록하고_항목별_결과를_반환한다() {
+        // given
+        Mockito.when(userPointTable.selectById(anyLong()))
+                .thenAnswer(invocation -> UserPoint.empty((Long) invocation.getArgument(0)));
+        Mockito.when(userPointTable.insertOrUpdate(anyLong(), anyLong()))
+                .thenAnswer(invocation -> new UserPoint((Long) invocation.getArgument(0), (Long) invocation.getArgument(1), System.currentTimeMillis()));
+
+        List<PointCommand> commands = List.of(
+                PointCommand.charge(1L, 1000L),
+                PointCommand.use(1L, 300L),
+                PointCommand.charge(2L, PointConstants.MIN_CHARGE_AMOUNT),
+                PointCommand.use(2L, 500L)
+        );
+
+        // when
+        List<PointCommandResult> results = pointService.executeBatch(commands);
+
+        // then
+        assertThat(results).hasSize(4);
+        assertThat(results.get(0).userPoint().point()).isEqualTo(1000L);
+        assertThat(results.get(1).userPoint().point()).isEqualTo(700L);
+        assertThat(results.get(2).error())
+                .hasMessage(PointErrorMessages.AMOUNT_MUST_BE_POSITIVE.message(PointConstants.MIN_CHARGE_AMOUNT));
+        assertThat(results.get(3).error())
+                .hasMessage(PointErrorMessages.INSUFFICIENT_POINT.message(0L));
+
+        Mockito.verify(userPointTable, Mockito.times(1)).insertOrUpdate(anyLong(), anyLong());
+        Mockito.verify(userPointTable).insertOrUpdate(1L, 700L);
+        Mockito.verify(pointHistoryTable, Mockito.times(1)).insertAll(anyList());
+    }
 }
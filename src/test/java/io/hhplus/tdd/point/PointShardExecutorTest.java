@@ -0,0 +1,137 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.UserPointTable;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class PointShardExecutorTest {
+
+    private final UserPointTable userPointTable = new UserPointTable();
+    private final PointHistoryTable pointHistoryTable = new PointHistoryTable();
+    private final PointShardExecutor shardExecutor = new PointShardExecutor(
+            userPointTable,
+            new PointHistoryPipeline(pointHistoryTable, new HistoryPipelineProperties(false, 10_000, 500)),
+            new ShardProperties(true, 4, 1_000, 256, 100_000),
+            new SimpleMeterRegistry());
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        shardExecutor.shutdown();
+    }
+
+    @Test
+    void 여러_유저의_동시_요청을_샤드별로_순서대로_처리한다() {
+        // given - 유저 10명에게 각각 충전 1,000 x 10 건, 사용 500 x 10 건
+        List<CompletableFuture<List<PointCommandResult>>> futures = new ArrayList<>();
+
+        // when
+        for (int i = 0; i < 10; i++) {
+            for (long userId = 1; userId <= 10; userId++) {
+                futures.add(shardExecutor.submit(userId, List.of(PointCommand.charge(userId, 1_000L))));
+                futures.add(shardExecutor.submit(userId, List.of(PointCommand.use(userId, 500L))));
+            }
+        }
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+
+        // then - 메모리 잔액, 테이블, 내역이 모두 일치한다.
+        for (long userId = 1; userId <= 10; userId++) {
+            assertThat(shardExecutor.get(userId).point()).isEqualTo(5_000L);
+            assertThat(userPointTable.selectById(userId).point()).isEqualTo(5_000L);
+            assertThat(pointHistoryTable.selectAllByUserId(userId)).hasSize(20);
+        }
+        assertThat(futures).allMatch(future -> future.join().get(0).isSuccess());
+    }
+
+    @Test
+    void 검증에_실패한_요청만_실패로_완료된다() {
+        // given
+        shardExecutor.submit(1L, List.of(PointCommand.charge(1L, 1_000L))).join();
+
+        // when
+        List<PointCommandResult> results = shardExecutor.submit(1L, List.of(
+                PointCommand.use(1L, 700L),
+                PointCommand.use(1L, 700L),
+                PointCommand.use(1L, 200L)
+        )).join();
+
+        // then
+        assertThat(results).extracting(PointCommandResult::isSuccess).containsExactly(true, false, true);
+        assertThat(results.get(2).userPoint().point()).isEqualTo(100L);
+        assertThat(shardExecutor.get(1L).point()).isEqualTo(100L);
+    }
+
+    @Test
+    void 조회는_샤드에_적재하지_않고_보관_한도를_넘은_유저는_지워도_테이블에서_다시_읽는다() throws InterruptedException {
+        // given - 샤드 1개, 보관 한도 2
+        PointShardExecutor bounded = new PointShardExecutor(
+                userPointTable,
+                new PointHistoryPipeline(pointHistoryTable, new HistoryPipelineProperties(false, 10_000, 500)),
+                new ShardProperties(true, 1, 1_000, 256, 2),
+                new SimpleMeterRegistry());
+
+        // when
+        assertThat(bounded.get(100L).point()).isZero();
+        for (long userId = 1; userId <= 5; userId++) {
+            bounded.submit(userId, List.of(PointCommand.charge(userId, 1_000L))).join();
+        }
+        List<PointCommandResult> results = bounded.submit(1L, List.of(PointCommand.use(1L, 300L))).join();
+        bounded.shutdown();
+
+        // then
+        assertThat(results.get(0).userPoint().point()).isEqualTo(700L);
+        assertThat(bounded.get(1L).point()).isEqualTo(700L);
+        assertThat(bounded.get(2L).point()).isEqualTo(1_000L);
+    }
+
+    @Test
+    void 처리_중_예상하지_못한_예외는_해당_요청만_실패시키고_샤드는_계속_동작한다() {
+        // when - 거래 종류가 없는 요청은 잔액 계산 중 NullPointerException 이 난다.
+        CompletableFuture<List<PointCommandResult>> broken = shardExecutor.submit(1L, List.of(new PointCommand(1L, null, 100L)));
+
+        // then
+        assertThatThrownBy(broken::join)
+                .isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(NullPointerException.class);
+        assertThat(shardExecutor.submit(1L, List.of(PointCommand.charge(1L, 1_000L))).join().get(0).userPoint().point())
+                .isEqualTo(1_000L);
+    }
+
+    @Test
+    void 내역을_기록한_뒤_잔액_기록에_실패하면_다시_시도하여_요청을_성공시킨다() throws InterruptedException {
+        // given - 첫 잔액 기록만 실패하는 테이블
+        AtomicBoolean failed = new AtomicBoolean(false);
+        UserPointTable flakyTable = new UserPointTable() {
+            @Override
+            public UserPoint insertOrUpdate(long id, long amount) {
+                if (failed.compareAndSet(false, true)) {
+                    throw new IllegalStateException("일시적인 기록 실패");
+                }
+                return super.insertOrUpdate(id, amount);
+            }
+        };
+        PointShardExecutor retrying = new PointShardExecutor(
+                flakyTable,
+                new PointHistoryPipeline(pointHistoryTable, new HistoryPipelineProperties(false, 10_000, 500)),
+                new ShardProperties(true, 1, 1_000, 256, 100_000),
+                new SimpleMeterRegistry());
+
+        // when
+        List<PointCommandResult> results = retrying.submit(1L, List.of(PointCommand.charge(1L, 1_000L))).join();
+        retrying.shutdown();
+
+        // then - 내역은 한 번만 기록되고 잔액도 기록된다.
+        assertThat(results.get(0).isSuccess()).isTrue();
+        assertThat(flakyTable.selectById(1L).point()).isEqualTo(1_000L);
+        assertThat(pointHistoryTable.selectAllByUserId(1L)).hasSize(1);
+    }
+}
@@ -0,0 +1,112 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.common.TestDataInitializer;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * MVC 경로(/point)와 리액티브 경로(/reactive/point) 부하 비교 (./gradlew benchmark)
+ *
+ * 같은 스레드 수(Tomcat 요청 스레드 = 리액티브 스케줄러 스레드 = THREADS, 가상 스레드 미사용)에서
+ * 한 유저에 몰린 충전 요청과 여러 유저에 흩어진 충전 요청을 동시에 보내고,
+ * 전체 처리 시간과 다른 유저 요청의 지연(p50/p99)을 출력한다.
+ * MVC 경로는 한 유저 요청이 유저 락을 기다리며 요청 스레드를 붙잡고, 리액티브 경로는 유저별 대기열에서 스레드 없이 기다린다.
+ */
+@Tag("benchmark")
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+                "spring.threads.virtual.enabled=false",
+                "server.tomcat.threads.max=" + ReactivePointLoadTest.THREADS,
+                "point.reactive.max-threads=" + ReactivePointLoadTest.THREADS
+        }
+)
+public class ReactivePointLoadTest {
+
+    static final int THREADS = 32;
+
+    private static final long HOT_USER_ID = 1L;
+    private static final int HOT_REQUESTS = 64;
+    private static final int COLD_USERS = 200;
+    private static final long CHARGE_AMOUNT = 1_000L;
+
+    @LocalServerPort
+    int port;
+
+    @Autowired
+    TestDataInitializer initializer;
+
+    @Test
+    void MVC_경로와_리액티브_경로의_처리_시간과_지연_비교() {
+        initializer.resetAll();
+        Result mvc = run("/point");
+        initializer.resetAll();
+        Result reactive = run("/reactive/point");
+
+        System.out.printf("[reactive] threads=%d hot=%d cold=%d%n", THREADS, HOT_REQUESTS, COLD_USERS);
+        System.out.printf("[reactive] mvc      elapsed=%,dms cold p50=%,dms p99=%,dms%n", mvc.elapsedMillis, mvc.coldP50Millis, mvc.coldP99Millis);
+        System.out.printf("[reactive] reactive elapsed=%,dms cold p50=%,dms p99=%,dms%n", reactive.elapsedMillis, reactive.coldP50Millis, reactive.coldP99Millis);
+
+        assertThat(mvc.succeeded).isEqualTo(HOT_REQUESTS + COLD_USERS);
+        assertThat(reactive.succeeded).isEqualTo(HOT_REQUESTS + COLD_USERS);
+    }
+
+    private Result run(String basePath) {
+        try (ExecutorService clientExecutor = Executors.newVirtualThreadPerTaskExecutor()) {
+            HttpClient client = HttpClient.newBuilder()
+                    .executor(clientExecutor)
+                    .connectTimeout(Duration.ofSeconds(30))
+                    .build();
+
+            long start = System.nanoTime();
+            List<CompletableFuture<HttpResponse<Void>>> hot = new ArrayList<>(HOT_REQUESTS);
+            List<CompletableFuture<Long>> coldLatencies = new ArrayList<>(COLD_USERS);
+            for (int i = 0; i < Math.max(HOT_REQUESTS, COLD_USERS); i++) {
+                if (i < HOT_REQUESTS) {
+                    hot.add(client.sendAsync(charge(basePath, HOT_USER_ID), HttpResponse.BodyHandlers.discarding()));
+                }
+                if (i < COLD_USERS) {
+                    long sentNanos = System.nanoTime();
+                    coldLatencies.add(client.sendAsync(charge(basePath, HOT_USER_ID + 1 + i), HttpResponse.BodyHandlers.discarding())
+                            .thenApply(response -> response.statusCode() == 200 ? (System.nanoTime() - sentNanos) / 1_000_000 : -1L));
+                }
+            }
+
+            long succeeded = hot.stream().map(CompletableFuture::join).filter(response -> response.statusCode() == 200).count();
+            List<Long> latencies = coldLatencies.stream().map(CompletableFuture::join).sorted().toList();
+            succeeded += latencies.stream().filter(latency -> latency >= 0).count();
+            long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+            return new Result(succeeded, elapsedMillis,
+                    latencies.get(latencies.size() / 2),
+                    latencies.get((int) (latencies.size() * 0.99)));
+        }
+    }
+
+    private HttpRequest charge(String basePath, long userId) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + basePath + "/" + userId + "/charge"))
+                .timeout(Duration.ofMinutes(5))
+                .header("Content-Type", "application/json")
+                .method("PATCH", HttpRequest.BodyPublishers.ofString(String.valueOf(CHARGE_AMOUNT)))
+                .build();
+    }
+
+    private record Result(long succeeded, long elapsedMillis, long coldP50Millis, long coldP99Millis) {
+    }
+}
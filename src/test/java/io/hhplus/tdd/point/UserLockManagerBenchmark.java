@@ -0,0 +1,84 @@
+package io.hhplus.tdd.point;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.IntSupplier;
+import java.util.function.LongConsumer;
+
+/**
+ * 락 조회 방식별 경합 벤치마크 (./gradlew benchmark)
+ * - LEGACY : 기존 방식 (synchronized getLockForUser + 제거되지 않는 ConcurrentHashMap)
+ * - STRIPED / PER_USER : UserLockManager 의 두 모드
+ *
+ * 유저 수(distinctUsers)별로 처리량과 작업 후 남아 있는 락 개수를 출력한다.
+ */
+@Tag("benchmark")
+public class UserLockManagerBenchmark {
+
+    private static final int THREAD_COUNT = 16;
+    private static final int MIN_OPERATIONS = 2_000_000;
+
+    @ParameterizedTest
+    @ValueSource(ints = {1_000, 100_000, 10_000_000})
+    void 유저_수별_락_경합_비교(int distinctUsers) throws InterruptedException {
+        int operations = Math.max(MIN_OPERATIONS, distinctUsers);
+
+        LegacyUserLocks legacy = new LegacyUserLocks();
+        report("LEGACY", distinctUsers, operations, userId -> {
+            synchronized (legacy.getLockForUser(userId)) {
+                Thread.onSpinWait();
+            }
+        }, legacy.userLocks::size);
+
+        for (UserLockProperties.Mode mode : UserLockProperties.Mode.values()) {
+            UserLockManager lockManager = new UserLockManager(new UserLockProperties(mode, 1024, Duration.ofSeconds(30)));
+            report(mode.name(), distinctUsers, operations,
+                    userId -> lockManager.executeWithLock(userId, () -> null), lockManager::size);
+        }
+    }
+
+    private void report(String name, int distinctUsers, int operations, LongConsumer criticalSection,
+                        IntSupplier retainedLocks) throws InterruptedException {
+        ExecutorService executorService = Executors.newFixedThreadPool(THREAD_COUNT);
+        CountDownLatch latch = new CountDownLatch(THREAD_COUNT);
+        int perThread = operations / THREAD_COUNT;
+
+        long start = System.nanoTime();
+        for (int i = 0; i < THREAD_COUNT; i++) {
+            executorService.submit(() -> {
+                try {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    for (int j = 0; j < perThread; j++) {
+                        criticalSection.accept(random.nextLong(distinctUsers));
+                    }
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+        latch.await();
+        long elapsedNanos = System.nanoTime() - start;
+        executorService.shutdown();
+
+        System.out.printf("[lock] %-8s users=%,11d ops/s=%,14.0f retainedLocks=%,d%n",
+                name, distinctUsers, perThread * (double) THREAD_COUNT / elapsedNanos * 1_000_000_000L,
+                retainedLocks.getAsInt());
+    }
+
+    private static final class LegacyUserLocks {
+        private final Map<Long, Object> userLocks = new ConcurrentHashMap<>();
+
+        synchronized Object getLockForUser(long userId) {
+            return userLocks.computeIfAbsent(userId, id -> new Object());
+        }
+    }
+}
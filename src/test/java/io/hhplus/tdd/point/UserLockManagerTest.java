@@ -0,0 +1,103 @@
+package io.hhplus.tdd.point;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class UserLockManagerTest {
+
+    @Test
+    void 유저별_락은_사용이_끝나면_맵에서_제거된다() throws InterruptedException {
+        // given
+        UserLockManager lockManager = lockManager(UserLockProperties.Mode.PER_USER, Duration.ofSeconds(1));
+        int threadCount = 8;
+        ExecutorService executorService = Executors.newFixedThreadPool(threadCount);
+        CountDownLatch latch = new CountDownLatch(threadCount);
+
+        // when
+        for (int i = 0; i < threadCount; i++) {
+            long userId = i;
+            executorService.submit(() -> {
+                try {
+                    for (int j = 0; j < 1_000; j++) {
+                        lockManager.executeWithLock(userId % 3, () -> null);
+                    }
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+        latch.await();
+        executorService.shutdown();
+
+        // then
+        assertThat(lockManager.size()).isZero();
+    }
+
+    @Test
+    void 같은_유저의_임계_구역은_동시에_실행되지_않는다() throws InterruptedException {
+        for (UserLockProperties.Mode mode : UserLockProperties.Mode.values()) {
+            // given
+            UserLockManager lockManager = lockManager(mode, Duration.ofSeconds(5));
+            int threadCount = 8;
+            long[] counter = {0};
+            ExecutorService executorService = Executors.newFixedThreadPool(threadCount);
+            CountDownLatch latch = new CountDownLatch(threadCount);
+
+            // when
+            for (int i = 0; i < threadCount; i++) {
+                executorService.submit(() -> {
+                    try {
+                        for (int j = 0; j < 1_000; j++) {
+                            lockManager.executeWithLock(1L, () -> counter[0]++);
+                        }
+                    } finally {
+                        latch.countDown();
+                    }
+                });
+            }
+            latch.await();
+            executorService.shutdown();
+
+            // then
+            assertThat(counter[0]).isEqualTo(threadCount * 1_000L);
+        }
+    }
+
+    @Test
+    void 제한_시간_안에_락을_얻지_못하면_예외가_발생한다() throws Exception {
+        // given - 다른 스레드가 락을 오래 잡고 있음
+        UserLockManager lockManager = lockManager(UserLockProperties.Mode.PER_USER, Duration.ofMillis(100));
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch finish = new CountDownLatch(1);
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        Future<?> holder = executorService.submit(() -> lockManager.executeWithLock(1L, () -> {
+            locked.countDown();
+            try {
+                finish.await();
+            } catch (InterruptedException ignored) {
+            }
+            return null;
+        }));
+        locked.await();
+
+        // when & then
+        assertThatThrownBy(() -> lockManager.executeWithLock(1L, () -> null))
+                .isInstanceOf(PointLockTimeoutException.class);
+
+        finish.countDown();
+        holder.get();
+        executorService.shutdown();
+        assertThat(lockManager.size()).isZero();
+    }
+
+    private UserLockManager lockManager(UserLockProperties.Mode mode, Duration timeout) {
+        return new UserLockManager(new UserLockProperties(mode, 64, timeout));
+    }
+}
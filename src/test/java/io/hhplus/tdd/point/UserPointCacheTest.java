@@ -0,0 +1,82 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.UserPointTable;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.assertj.core.api.Assertions.*;
+
+@ExtendWith(MockitoExtension.class)
+public class UserPointCacheTest {
+
+    @Mock
+    UserPointTable userPointTable;
+
+    private static final long TEST_USER_ID = 1L;
+
+    @Test
+    void 캐시_미스는_테이블에서_읽고_이후에는_캐시에서_반환한다() {
+        // given
+        UserPointCache cache = new UserPointCache(userPointTable, new BalanceCacheProperties(true, 1_000));
+        Mockito.when(userPointTable.selectById(TEST_USER_ID))
+                .thenReturn(new UserPoint(TEST_USER_ID, 500L, System.currentTimeMillis()));
+
+        // when
+        cache.get(TEST_USER_ID);
+        UserPoint result = cache.get(TEST_USER_ID);
+
+        // then
+        assertThat(result.point()).isEqualTo(500L);
+        Mockito.verify(userPointTable, Mockito.times(1)).selectById(TEST_USER_ID);
+        assertThat(cache.stats().missCount()).isEqualTo(1L);
+        assertThat(cache.stats().hitCount()).isEqualTo(1L);
+    }
+
+    @Test
+    void 기록된_값은_테이블을_다시_읽지_않고_조회된다() {
+        // given
+        UserPointCache cache = new UserPointCache(userPointTable, new BalanceCacheProperties(true, 1_000));
+
+        // when
+        cache.put(new UserPoint(TEST_USER_ID, 700L, System.currentTimeMillis()));
+        UserPoint result = cache.get(TEST_USER_ID);
+
+        // then
+        assertThat(result.point()).isEqualTo(700L);
+        Mockito.verifyNoInteractions(userPointTable);
+    }
+
+    @Test
+    void 최대_크기를_넘으면_가장_오래_사용되지_않은_유저부터_방출된다() {
+        // given - 세그먼트당 1건만 보관
+        UserPointCache cache = new UserPointCache(userPointTable, new BalanceCacheProperties(true, 16));
+
+        // when - 같은 세그먼트에 들어가는 두 유저를 기록
+        cache.put(new UserPoint(1L, 100L, System.currentTimeMillis()));
+        cache.put(new UserPoint(17L, 200L, System.currentTimeMillis()));
+
+        // then
+        assertThat(cache.getIfPresent(1L)).isNull();
+        assertThat(cache.getIfPresent(17L)).isNotNull();
+        assertThat(cache.stats().evictionCount()).isEqualTo(1L);
+        assertThat(cache.stats().size()).isEqualTo(1L);
+    }
+
+    @Test
+    void 비활성화하면_항상_테이블에서_읽는다() {
+        // given
+        UserPointCache cache = new UserPointCache(userPointTable, new BalanceCacheProperties(false, 1_000));
+        Mockito.when(userPointTable.selectById(TEST_USER_ID)).thenReturn(UserPoint.empty(TEST_USER_ID));
+
+        // when
+        cache.put(new UserPoint(TEST_USER_ID, 700L, System.currentTimeMillis()));
+        cache.get(TEST_USER_ID);
+        cache.get(TEST_USER_ID);
+
+        // then
+        Mockito.verify(userPointTable, Mockito.times(2)).selectById(TEST_USER_ID);
+    }
+}
@@ -0,0 +1,66 @@
+package io.hhplus.tdd.point;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class UserSerialQueueTest {
+
+    private static final long TEST_USER_ID = 1L;
+
+    @Test
+    void 같은_유저의_작업은_겹치지_않고_들어온_순서대로_실행된다() {
+        // given - 작업은 스레드 풀에서 비동기로 실행된다
+        UserSerialQueue queue = new UserSerialQueue();
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        List<Integer> order = new ArrayList<>();
+        List<CompletableFuture<Integer>> results = new ArrayList<>();
+
+        // when
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            for (int i = 0; i < 50; i++) {
+                int sequence = i;
+                Mono<Integer> task = Mono.fromCallable(() -> {
+                    maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                    Thread.sleep(1);
+                    synchronized (order) {
+                        order.add(sequence);
+                    }
+                    running.decrementAndGet();
+                    return sequence;
+                }).subscribeOn(Schedulers.fromExecutor(executor));
+                results.add(queue.enqueue(TEST_USER_ID, task).toFuture());
+            }
+            results.forEach(CompletableFuture::join);
+        }
+
+        // then
+        assertThat(maxRunning.get()).isEqualTo(1);
+        assertThat(order).isSorted();
+        assertThat(queue.size()).isZero();
+    }
+
+    @Test
+    void 앞_작업이_실패해도_다음_작업은_실행된다() {
+        // given
+        UserSerialQueue queue = new UserSerialQueue();
+
+        // when
+        CompletableFuture<Integer> failed = queue.enqueue(TEST_USER_ID, Mono.<Integer>error(new IllegalStateException())).toFuture();
+        Integer next = queue.enqueue(TEST_USER_ID, Mono.just(1)).block();
+
+        // then
+        assertThat(failed).isCompletedExceptionally();
+        assertThat(next).isEqualTo(1);
+    }
+}
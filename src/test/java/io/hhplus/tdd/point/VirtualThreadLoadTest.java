@@ -0,0 +1,121 @@
+package io.hhplus.tdd.point;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Bean;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * 가상 스레드 모드 부하 테스트 (./gradlew benchmark)
+ *
+ * 서로 다른 유저에 대한 충전 요청을 동시에 보내고,
+ * 서버에서 동시에 처리 중인 요청 수가 수만 건까지 늘어나는 동안 플랫폼 스레드 수는 늘지 않는지 확인한다.
+ */
+@Tag("benchmark")
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.threads.virtual.enabled=true"
+)
+public class VirtualThreadLoadTest {
+
+    private static final int REQUEST_COUNT = Integer.getInteger("load.requests", 20_000);
+    private static final int MAX_PLATFORM_THREADS = 500;
+    private static final int DEFAULT_TOMCAT_THREADS = 200;
+
+    @LocalServerPort
+    int port;
+
+    @Autowired
+    InFlightCounter inFlightCounter;
+
+    @Test
+    void 동시_요청이_수만_건이어도_플랫폼_스레드_수는_늘지_않는다() {
+        ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+        threadMXBean.resetPeakThreadCount();
+
+        try (ExecutorService clientExecutor = Executors.newVirtualThreadPerTaskExecutor()) {
+            HttpClient client = HttpClient.newBuilder()
+                    .executor(clientExecutor)
+                    .connectTimeout(Duration.ofSeconds(30))
+                    .build();
+
+            long start = System.nanoTime();
+            List<CompletableFuture<HttpResponse<Void>>> responses = new ArrayList<>(REQUEST_COUNT);
+            for (int userId = 1; userId <= REQUEST_COUNT; userId++) {
+                HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/point/" + userId + "/charge"))
+                        .timeout(Duration.ofSeconds(60))
+                        .header("Content-Type", "application/json")
+                        .method("PATCH", HttpRequest.BodyPublishers.ofString("1000"))
+                        .build();
+                responses.add(client.sendAsync(request, HttpResponse.BodyHandlers.discarding()));
+            }
+
+            long succeeded = responses.stream().map(CompletableFuture::join).filter(response -> response.statusCode() == 200).count();
+            long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+            System.out.printf("[virtual-thread] requests=%,d succeeded=%,d elapsed=%,dms peakInFlight=%,d peakPlatformThreads=%,d%n",
+                    REQUEST_COUNT, succeeded, elapsedMillis, inFlightCounter.peak(), threadMXBean.getPeakThreadCount());
+
+            assertThat(succeeded).isEqualTo(REQUEST_COUNT);
+            assertThat(inFlightCounter.peak()).isGreaterThan(DEFAULT_TOMCAT_THREADS * 10);
+            assertThat(threadMXBean.getPeakThreadCount()).isLessThan(MAX_PLATFORM_THREADS);
+        }
+    }
+
+    @TestConfiguration
+    static class LoadTestConfig {
+
+        @Bean
+        InFlightCounter inFlightCounter() {
+            return new InFlightCounter();
+        }
+    }
+
+    /**
+     * 서버에서 동시에 처리 중인 요청 수와 그 최댓값을 센다.
+     */
+    static class InFlightCounter extends OncePerRequestFilter {
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final AtomicInteger peak = new AtomicInteger();
+
+        @Override
+        protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+                throws ServletException, IOException {
+            peak.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try {
+                chain.doFilter(request, response);
+            } finally {
+                inFlight.decrementAndGet();
+            }
+        }
+
+        int peak() {
+            return peak.get();
+        }
+    }
+}